@@ -2,9 +2,9 @@ package com.orioljt.taskmanager.config;
 
 import com.orioljt.taskmanager.entity.User;
 import com.orioljt.taskmanager.entity.UserRole;
+import com.orioljt.taskmanager.entity.id.UuidV7;
 import com.orioljt.taskmanager.repository.UserRepository;
 import java.util.Optional;
-import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -50,7 +50,7 @@ public class DataLoader {
     }
 
     User user = new User();
-    user.setId(UUID.randomUUID());
+    user.setId(UuidV7.randomUuid());
     user.markNew();
     user.setEmail(email);
     user.setPassword(passwordEncoder.encode(rawPassword));
@@ -0,0 +1,81 @@
+package com.orioljt.taskmanager.config;
+
+import com.orioljt.taskmanager.datasource.ReadYourWritesTracker;
+import com.orioljt.taskmanager.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to read replicas when {@code
+ * app.datasource.routing.enabled=true}. The primary pool is still built from {@code
+ * spring.datasource.*}; replicas share its driver and, unless overridden, its credentials.
+ *
+ * <p>Replica pools start lazily and time out quickly, so a replica that is down neither blocks
+ * startup nor stalls a read for long before {@link ReplicaRoutingDataSource} falls back.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+  @Bean
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    HikariDataSource dataSource =
+        properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    dataSource.setPoolName("primary");
+    return dataSource;
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker(
+      @Value("${app.datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+    return new ReadYourWritesTracker(window);
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      DataSourceProperties properties,
+      HikariDataSource primaryDataSource,
+      ReadYourWritesTracker readYourWritesTracker,
+      @Value("${app.datasource.replicas.urls}") List<String> urls,
+      @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+      @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password,
+      @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+      @Value("${app.datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout,
+      @Value("${app.datasource.routing.replica-retry-after:PT30S}") Duration retryAfter) {
+    List<DataSource> replicas = new ArrayList<>();
+    for (int i = 0; i < urls.size(); i++) {
+      HikariDataSource replica = new HikariDataSource();
+      replica.setPoolName("replica-" + i);
+      replica.setDriverClassName(properties.determineDriverClassName());
+      replica.setJdbcUrl(urls.get(i).trim());
+      replica.setUsername(username);
+      replica.setPassword(password);
+      replica.setReadOnly(true);
+      replica.setMaximumPoolSize(maximumPoolSize);
+      replica.setConnectionTimeout(connectionTimeout.toMillis());
+      replica.setInitializationFailTimeout(-1);
+      replicas.add(replica);
+    }
+    return new ReplicaRoutingDataSource(
+        primaryDataSource, replicas, readYourWritesTracker, retryAfter);
+  }
+
+  /** The data source JPA, JDBC and Flyway use; see {@link ReplicaRoutingDataSource#routing}. */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      HikariDataSource primaryDataSource, ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return ReplicaRoutingDataSource.routing(primaryDataSource, replicaRoutingDataSource);
+  }
+}
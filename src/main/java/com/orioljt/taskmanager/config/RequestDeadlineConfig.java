@@ -0,0 +1,28 @@
+package com.orioljt.taskmanager.config;
+
+import com.orioljt.taskmanager.deadline.DeadlineTransactionManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Replaces Spring Boot's {@code JpaTransactionManager} with {@link DeadlineTransactionManager},
+ * so request deadlines become transaction and statement timeouts. Boot's customizers still apply,
+ * which registers the {@code TransactionExecutionListener} beans.
+ */
+@Configuration
+public class RequestDeadlineConfig {
+
+  @Bean
+  public PlatformTransactionManager transactionManager(
+      EntityManagerFactory entityManagerFactory,
+      ObjectProvider<TransactionManagerCustomizers> customizers) {
+    DeadlineTransactionManager transactionManager =
+        new DeadlineTransactionManager(entityManagerFactory);
+    customizers.ifAvailable(c -> c.customize(transactionManager));
+    return transactionManager;
+  }
+}
@@ -0,0 +1,12 @@
+package com.orioljt.taskmanager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs the {@code @Scheduled} background jobs. Each job takes its cron expression from a property;
+ * Spring's disabled expression {@code -} switches one off (the test configuration does so).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -0,0 +1,95 @@
+package com.orioljt.taskmanager.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache.
+ *
+ * <p>{@code User} and {@code Project} entities and the {@code findByEmail} query are cached in
+ * bounded regions with a time-to-live. Every region is created here, and Hibernate is told to fail
+ * on any other, so no unbounded cache can appear. Writes through the persistence context update the
+ * cache after commit; JPQL bulk statements evict the affected entity region.
+ *
+ * <p>The cache is local to each instance: with several instances a change made on one is seen by
+ * the others only once their entry expires, which is what the TTLs bound.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+  public static final String USERS = "users";
+  public static final String PROJECTS = "projects";
+  public static final String USERS_BY_EMAIL = "users-by-email";
+  static final String DEFAULT_QUERY_RESULTS = "default-query-results-region";
+  static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+  private static final List<String> REGIONS =
+      List.of(USERS, PROJECTS, USERS_BY_EMAIL, DEFAULT_QUERY_RESULTS, UPDATE_TIMESTAMPS);
+
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager(
+      @Value("${app.cache.users.max-size:10000}") long usersMaxSize,
+      @Value("${app.cache.users.ttl:PT10M}") Duration usersTtl,
+      @Value("${app.cache.projects.max-size:50000}") long projectsMaxSize,
+      @Value("${app.cache.projects.ttl:PT10M}") Duration projectsTtl) {
+    // A manager of its own per application context, so test contexts never share or close it.
+    CacheManager cacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(
+                URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+    cacheManager.createCache(USERS, bounded(usersMaxSize, usersTtl));
+    cacheManager.createCache(USERS_BY_EMAIL, bounded(usersMaxSize, usersTtl));
+    cacheManager.createCache(PROJECTS, bounded(projectsMaxSize, projectsTtl));
+    cacheManager.createCache(DEFAULT_QUERY_RESULTS, bounded(usersMaxSize, usersTtl));
+    // One entry per table; must outlive every cached query result, so it never expires.
+    CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+    timestamps.setStatisticsEnabled(true);
+    cacheManager.createCache(UPDATE_TIMESTAMPS, timestamps);
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager cacheManager) {
+    return properties -> {
+      properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+      properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  /** Publishes {@code cache.gets}, {@code cache.puts}, ... tagged with each region name. */
+  @Bean
+  public MeterBinder secondLevelCacheMetrics(CacheManager cacheManager) {
+    return registry ->
+        REGIONS.forEach(
+            region ->
+                new JCacheMetrics<>(cacheManager.getCache(region), Tags.of("layer", "hibernate"))
+                    .bindTo(registry));
+  }
+
+  private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(maxSize));
+    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+    configuration.setStatisticsEnabled(true);
+    return configuration;
+  }
+}
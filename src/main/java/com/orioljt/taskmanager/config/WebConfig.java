@@ -0,0 +1,23 @@
+package com.orioljt.taskmanager.config;
+
+import com.orioljt.taskmanager.deadline.RequestDeadlineInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/** Registers the MVC interceptors. */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+  private final RequestDeadlineInterceptor requestDeadlineInterceptor;
+
+  public WebConfig(RequestDeadlineInterceptor requestDeadlineInterceptor) {
+    this.requestDeadlineInterceptor = requestDeadlineInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(@NonNull InterceptorRegistry registry) {
+    registry.addInterceptor(requestDeadlineInterceptor);
+  }
+}
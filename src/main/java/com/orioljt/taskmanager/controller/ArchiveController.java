@@ -0,0 +1,102 @@
+package com.orioljt.taskmanager.controller;
+
+import com.orioljt.taskmanager.controller.util.ETags;
+import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.service.ArchiveService;
+import com.orioljt.taskmanager.service.ProjectUnarchive;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.UUID;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Restores archived projects and tasks. Archiving itself is done by the background job; the
+ * {@code :unarchive} verbs sit next to the resources they bring back.
+ */
+@RestController
+@RequestMapping("/api/projects")
+@Tag(name = "Archive", description = "Restoring archived projects and tasks")
+public class ArchiveController {
+
+  private final ArchiveService archiveService;
+
+  public ArchiveController(ArchiveService archiveService) {
+    this.archiveService = archiveService;
+  }
+
+  @PostMapping("/{id}:unarchive")
+  @Operation(
+      summary = "Unarchive a project",
+      description =
+          "Moves every archived task of the project back and lists the project again. Also works"
+              + " on an active project, restoring the old DONE tasks archived from it. Projects"
+              + " with many archived tasks are listed at once and their tasks restored in the"
+              + " background.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Version after the update",
+                schema = @Schema(type = "string")),
+        content = @Content(schema = @Schema(implementation = ProjectResponse.class))),
+    @ApiResponse(
+        responseCode = "202",
+        description = "Accepted; the project's tasks are being restored in the background",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Version after the update",
+                schema = @Schema(type = "string")),
+        content = @Content(schema = @Schema(implementation = ProjectResponse.class))),
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public ResponseEntity<ProjectResponse> unarchiveProject(@PathVariable UUID id) {
+    ProjectUnarchive result = archiveService.unarchiveProject(id);
+    ProjectResponse project = result.project();
+    ResponseEntity.BodyBuilder response =
+        result.restoring() ? ResponseEntity.accepted() : ResponseEntity.ok();
+    return response.eTag(ETags.of(project.version())).body(project);
+  }
+
+  @PostMapping("/{projectId}/tasks/{id}:unarchive")
+  @Operation(
+      summary = "Unarchive a task",
+      description =
+          "Moves an archived task back, unchanged and with the same version. Its project is"
+              + " listed again if it was archived.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Current version, for If-Match",
+                schema = @Schema(type = "string")),
+        content = @Content(schema = @Schema(implementation = TaskResponse.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Project not found or task not archived",
+        content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public ResponseEntity<TaskResponse> unarchiveTask(
+      @PathVariable UUID projectId, @PathVariable UUID id) {
+    TaskResponse task = archiveService.unarchiveTask(projectId, id);
+    return ResponseEntity.ok().eTag(ETags.of(task.version())).body(task);
+  }
+}
@@ -0,0 +1,64 @@
+package com.orioljt.taskmanager.controller;
+
+import com.orioljt.taskmanager.dto.BackfillProgressResponse;
+import com.orioljt.taskmanager.service.BackfillRunner;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/** Progress of the online backfills run in the background after start-up. */
+@RestController
+@RequestMapping("/api/admin/backfills")
+@Tag(name = "Backfills", description = "Progress of online data backfills (admin)")
+public class BackfillController {
+
+  private final BackfillRunner backfillRunner;
+
+  public BackfillController(BackfillRunner backfillRunner) {
+    this.backfillRunner = backfillRunner;
+  }
+
+  @GetMapping
+  @Operation(
+      summary = "List backfills (admin)",
+      description = "Every backfill that has started on any instance, most recent first")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        content =
+            @Content(
+                array =
+                    @ArraySchema(
+                        schema = @Schema(implementation = BackfillProgressResponse.class)))),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+  })
+  @PreAuthorize("hasRole('ADMIN')")
+  public List<BackfillProgressResponse> list() {
+    return backfillRunner.progress();
+  }
+
+  @GetMapping("/{name}")
+  @Operation(summary = "Get a backfill's progress (admin)")
+  @ApiResponses({
+    @ApiResponse(responseCode = "200", description = "OK"),
+    @ApiResponse(responseCode = "404", description = "Not started", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+  })
+  @PreAuthorize("hasRole('ADMIN')")
+  public BackfillProgressResponse get(@PathVariable String name) {
+    return backfillRunner.progress(name);
+  }
+}
@@ -1,8 +1,15 @@
 package com.orioljt.taskmanager.controller;
 
+import com.orioljt.taskmanager.controller.util.ETags;
 import com.orioljt.taskmanager.controller.util.PaginationUtil;
+import com.orioljt.taskmanager.deadline.Deadline;
 import com.orioljt.taskmanager.dto.ProjectRequest;
 import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.service.ProjectDeletion;
 import com.orioljt.taskmanager.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,10 +27,11 @@ import java.net.URI;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -32,9 +40,12 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RestController
 @Validated
 @RequestMapping("/api/projects")
+@Deadline
 @Tag(name = "Projects", description = "Operations on projects owned by the authenticated user")
 public class ProjectController {
 
+  private static final Set<String> SORTABLE = Set.of("createdAt", "name", "id");
+
   private final ProjectService projectService;
 
   public ProjectController(ProjectService projectService) {
@@ -67,7 +78,12 @@ public class ProjectController {
   @GetMapping
   @Operation(
       summary = "List projects",
-      description = "Returns a page of projects. Provides RFC-5988 Link and X-Total-Count headers.")
+      description =
+          "Returns a page of projects. Provides RFC-5988 Link and X-Total-Count headers. Passing"
+              + " `cursor` switches to keyset paging: the first sort field (plus id) orders the"
+              + " rows, `page` is ignored, and the `Link` header carries the `next` cursor"
+              + " without X-Total-Count. Archived projects are only listed with"
+              + " `includeArchived=true`; their total is then always counted exactly.")
   @ApiResponses({
     @ApiResponse(
         responseCode = "200",
@@ -79,7 +95,7 @@ public class ProjectController {
               schema = @Schema(type = "string")),
           @Header(
               name = "X-Total-Count",
-              description = "Total items count",
+              description = "Total items count; omitted when count=NONE",
               schema = @Schema(type = "integer", format = "int64"))
         },
         content =
@@ -102,6 +118,20 @@ public class ProjectController {
               array = @ArraySchema(arraySchema = @Schema(description = "e.g. createdAt,desc")))
           @RequestParam(defaultValue = "createdAt,desc")
           List<String> sort,
+      @Parameter(
+              description =
+                  "Opaque keyset cursor from a previous `next` link; empty for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(
+              description =
+                  "How X-Total-Count is computed: EXACT, CACHED, ESTIMATED, or NONE (no total and"
+                      + " no `last` link). Defaults to `app.pagination.count-mode`.")
+          @RequestParam(required = false)
+          CountMode count,
+      @Parameter(description = "Also list archived projects")
+          @RequestParam(defaultValue = "false")
+          boolean includeArchived,
       UriComponentsBuilder uriBuilder) {
 
     Sort requested =
@@ -120,54 +150,132 @@ public class ProjectController {
                     })
                 .toList());
 
-    Sort safeSort = PaginationUtil.sanitizeSort(requested, Set.of("createdAt", "name", "id"));
+    Sort safeSort = PaginationUtil.sanitizeSort(requested, SORTABLE);
+    if (cursor != null) {
+      Sort.Order order =
+          safeSort.isUnsorted() ? Sort.Order.desc("createdAt") : safeSort.iterator().next();
+      KeysetPage<ProjectResponse> window =
+          projectService.scroll(
+              order,
+              cursor.isEmpty() ? null : Cursor.decode(cursor, SORTABLE),
+              size,
+              includeArchived);
+      var headers =
+          PaginationUtil.generateKeysetHttpHeaders(
+              withArchived(uriBuilder.path("/api/projects"), includeArchived), window, size);
+      return ResponseEntity.ok().headers(headers).body(window.content());
+    }
     Pageable pageable =
         PageRequest.of(
             page,
             size,
             safeSort.isUnsorted() ? Sort.by(Sort.Direction.DESC, "createdAt") : safeSort);
 
-    Page<ProjectResponse> result = projectService.page(pageable);
+    Slice<ProjectResponse> result =
+        includeArchived
+            ? projectService.pageIncludingArchived(pageable)
+            : projectService.page(pageable, count);
     var headers =
-        PaginationUtil.generatePaginationHttpHeaders(uriBuilder.path("/api/projects"), result);
+        PaginationUtil.generateSliceHttpHeaders(
+            withArchived(uriBuilder.path("/api/projects"), includeArchived), result);
     return ResponseEntity.ok().headers(headers).body(result.getContent());
   }
 
+  /** Keeps {@code includeArchived} in the pagination links. */
+  private static UriComponentsBuilder withArchived(
+      UriComponentsBuilder uri, boolean includeArchived) {
+    return includeArchived ? uri.queryParam("includeArchived", true) : uri;
+  }
+
   @GetMapping("/{id}")
   @Operation(summary = "Get a project")
   @ApiResponses({
-    @ApiResponse(responseCode = "200", description = "OK"),
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Current version, for If-Match",
+                schema = @Schema(type = "string"))),
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
   public ResponseEntity<ProjectResponse> get(@PathVariable UUID id) {
-    return ResponseEntity.ok(projectService.get(id));
+    ProjectResponse project = projectService.get(id);
+    return ResponseEntity.ok().eTag(ETags.of(project.version())).body(project);
+  }
+
+  @GetMapping("/{id}/stats")
+  @Operation(
+      summary = "Get a project's task counts",
+      description =
+          "Task counts by status and by priority, archived tasks included. Read from counters kept"
+              + " up to date by every task write, not counted on request.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        content = @Content(schema = @Schema(implementation = TaskCounts.class))),
+    @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public TaskCounts stats(@PathVariable UUID id) {
+    return projectService.stats(id);
   }
 
   @DeleteMapping("/{id}")
-  @Operation(summary = "Delete a project")
+  @Operation(
+      summary = "Delete a project",
+      description =
+          "Deletes the project and its tasks. Large projects are deleted in the background.")
   @ApiResponses({
     @ApiResponse(responseCode = "204", description = "No Content"),
+    @ApiResponse(
+        responseCode = "202",
+        description = "Accepted; the project is being deleted in the background",
+        content = @Content),
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
   public ResponseEntity<Void> delete(@PathVariable UUID id) {
-    projectService.delete(id);
+    if (projectService.delete(id) == ProjectDeletion.SCHEDULED) {
+      return ResponseEntity.accepted().build();
+    }
     return ResponseEntity.noContent().build();
   }
 
   @PatchMapping("/{id}")
   @Operation(
       summary = "Update project name",
-      description = "Partial update: only name is supported")
+      description =
+          "Partial update: only name is supported. With `If-Match` the rename applies only to"
+              + " a version it lists, compared strongly so weak tags never match.")
   @ApiResponses({
     @ApiResponse(responseCode = "200", description = "OK"),
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
-    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Validation error or unparseable If-Match",
+        content = @Content),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Modified concurrently (no If-Match sent)",
+        content = @Content),
+    @ApiResponse(
+        responseCode = "412",
+        description = "The project matches no strong tag of If-Match",
+        content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
   public ResponseEntity<ProjectResponse> updateName(
-      @PathVariable UUID id, @Valid @RequestBody ProjectRequest request) {
-    return ResponseEntity.ok(projectService.updateName(id, request));
+      @PathVariable UUID id,
+      @Valid @RequestBody ProjectRequest request,
+      @Parameter(description = "ETags of the versions the update may apply to, or *")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    ProjectResponse project =
+        projectService.updateName(id, request, ETags.expectedVersions(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(project.version())).body(project);
   }
 }
@@ -0,0 +1,128 @@
+package com.orioljt.taskmanager.controller;
+
+import com.orioljt.taskmanager.deadline.Deadline;
+import com.orioljt.taskmanager.dto.BatchUpdateResponse;
+import com.orioljt.taskmanager.dto.TaskBatchUpdateRequest;
+import com.orioljt.taskmanager.dto.TaskImportReport;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.service.TaskFileFormat;
+import com.orioljt.taskmanager.service.TaskImportService;
+import com.orioljt.taskmanager.service.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Bulk operations on a project's tasks. Mapped separately from {@link TaskController} because the
+ * {@code tasks:verb} paths can't be expressed relative to {@code /tasks}.
+ */
+@RestController
+@Validated
+@RequestMapping("/api/projects/{projectId}")
+@Tag(name = "Tasks", description = "Operations on tasks within a project")
+public class TaskBatchController {
+
+  static final int MAX_BATCH_SIZE = 1000;
+
+  private final TaskService taskService;
+  private final TaskImportService taskImportService;
+
+  public TaskBatchController(TaskService taskService, TaskImportService taskImportService) {
+    this.taskService = taskService;
+    this.taskImportService = taskImportService;
+  }
+
+  @PostMapping("/tasks:batch")
+  @Deadline("${app.deadline.bulk:PT30S}")
+  @Operation(
+      summary = "Create tasks in bulk",
+      description =
+          "Creates up to 1000 tasks in one transaction. Every item is validated first; if any is"
+              + " invalid nothing is created. Returns the created tasks in request order.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Created",
+        content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))),
+    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public List<TaskResponse> createAll(
+      @PathVariable UUID projectId,
+      @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid TaskRequest> requests) {
+    return taskService.createAll(projectId, requests);
+  }
+
+  @PostMapping("/tasks:batchUpdate")
+  @Deadline("${app.deadline.bulk:PT30S}")
+  @Operation(
+      summary = "Update tasks in bulk",
+      description =
+          "Sets status and/or priority on every task of the project matching the filters (ids"
+              + " and/or dueBefore) with a single UPDATE. Returns the number of changed rows.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        content = @Content(schema = @Schema(implementation = BatchUpdateResponse.class))),
+    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public BatchUpdateResponse batchUpdate(
+      @PathVariable UUID projectId, @RequestBody @Valid TaskBatchUpdateRequest request) {
+    return taskService.batchUpdate(projectId, request);
+  }
+
+  @PostMapping("/tasks:import")
+  @Operation(
+      summary = "Import tasks",
+      description =
+          "Loads tasks from a CSV (header row with title, description, status, priority, dueDate;"
+              + " other columns are ignored) or NDJSON (one TaskRequest per line) request body."
+              + " Rows are validated like single creates and written in batches with PostgreSQL"
+              + " COPY; invalid rows are skipped and listed in the report.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Import report",
+        content = @Content(schema = @Schema(implementation = TaskImportReport.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Unsupported format or missing CSV header",
+        content = @Content),
+    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public TaskImportReport importTasks(
+      @PathVariable UUID projectId,
+      @Parameter(description = "ndjson or csv", example = "csv")
+          @RequestParam(defaultValue = "ndjson")
+          String format,
+      @Parameter(hidden = true) InputStream body)
+      throws IOException {
+    return taskImportService.importTasks(projectId, TaskFileFormat.from(format), body);
+  }
+}
@@ -1,8 +1,19 @@
 package com.orioljt.taskmanager.controller;
 
+import com.orioljt.taskmanager.controller.util.ETags;
 import com.orioljt.taskmanager.controller.util.PaginationUtil;
+import com.orioljt.taskmanager.deadline.Deadline;
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.service.TaskExportService;
+import com.orioljt.taskmanager.service.TaskFileFormat;
 import com.orioljt.taskmanager.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,13 +25,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -29,21 +45,29 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 @RestController
 @Validated
 @RequestMapping("/api/projects/{projectId}/tasks")
+@Deadline
 @Tag(name = "Tasks", description = "Operations on tasks within a project")
 public class TaskController {
 
+  private static final Set<String> SORTABLE =
+      Set.of("createdAt", "title", "status", "priority", "dueDate", "id");
+
   private final TaskService taskService;
+  private final TaskExportService taskExportService;
 
-  public TaskController(TaskService taskService) {
+  public TaskController(TaskService taskService, TaskExportService taskExportService) {
     this.taskService = taskService;
+    this.taskExportService = taskExportService;
   }
 
   @PostMapping
@@ -64,7 +88,13 @@ public class TaskController {
   @GetMapping
   @Operation(
       summary = "List tasks",
-      description = "Returns a page of tasks with pagination headers; sorting is sanitized.")
+      description =
+          "Returns a page of tasks with pagination headers; sorting is sanitized. Passing"
+              + " `cursor` switches to keyset paging: the first sort field (plus id) orders the"
+              + " rows, `page` is ignored, and the `Link` header carries the `next` cursor"
+              + " without X-Total-Count. The filter parameters combine with AND; at most 10"
+              + " filter values may be sent, repeated `status` values included. Archived tasks"
+              + " are only listed with `includeArchived=true`, which needs page-based paging.")
   @ApiResponses({
     @ApiResponse(
         responseCode = "200",
@@ -76,11 +106,15 @@ public class TaskController {
               schema = @Schema(type = "string")),
           @Header(
               name = "X-Total-Count",
-              description = "Total items count",
+              description = "Total items count; omitted when count=NONE",
               schema = @Schema(type = "integer", format = "int64"))
         },
         content =
             @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid or too complex filter, or includeArchived with a cursor",
+        content = @Content),
     @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
@@ -97,8 +131,49 @@ public class TaskController {
               array = @ArraySchema(arraySchema = @Schema(description = "e.g. createdAt,desc")))
           @RequestParam(defaultValue = "createdAt,desc")
           List<String> sort,
+      @Parameter(
+              description =
+                  "Opaque keyset cursor from a previous `next` link; empty for the first page")
+          @RequestParam(required = false)
+          String cursor,
+      @Parameter(
+              description =
+                  "How X-Total-Count is computed: EXACT, CACHED, ESTIMATED, or NONE (no total and"
+                      + " no `last` link). Defaults to `app.pagination.count-mode`.")
+          @RequestParam(required = false)
+          CountMode count,
+      @Parameter(description = "Only these statuses (multi-valued)")
+          @RequestParam(name = "status", required = false)
+          List<TaskStatus> statuses,
+      @Parameter(description = "Lowest priority, inclusive")
+          @RequestParam(required = false)
+          Integer priorityMin,
+      @Parameter(description = "Highest priority, inclusive")
+          @RequestParam(required = false)
+          Integer priorityMax,
+      @Parameter(description = "Due strictly after this date", example = "2025-01-31")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate dueAfter,
+      @Parameter(description = "Due strictly before this date", example = "2025-03-01")
+          @RequestParam(required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+          LocalDate dueBefore,
+      @Parameter(description = "Created at or after this instant (ISO-8601)")
+          @RequestParam(required = false)
+          Instant createdSince,
+      @Parameter(description = "Case-insensitive title substring, at most 100 characters")
+          @RequestParam(required = false)
+          String titleContains,
+      @Parameter(description = "Also list archived tasks; not supported with `cursor`")
+          @RequestParam(defaultValue = "false")
+          boolean includeArchived,
       UriComponentsBuilder uriBuilder) {
 
+    TaskFilter filter =
+        TaskFilter.of(
+            statuses, priorityMin, priorityMax, dueAfter, dueBefore, createdSince, titleContains);
+
     Sort requested =
         Sort.by(
             sort.stream()
@@ -115,48 +190,156 @@ public class TaskController {
                     })
                 .toList());
 
-    Sort safeSort =
-        PaginationUtil.sanitizeSort(
-            requested, Set.of("createdAt", "title", "status", "priority", "dueDate", "id"));
+    Sort safeSort = PaginationUtil.sanitizeSort(requested, SORTABLE);
+    if (cursor != null) {
+      if (includeArchived) {
+        throw new BadRequestException("includeArchived is only supported with page-based paging");
+      }
+      Sort.Order order =
+          safeSort.isUnsorted() ? Sort.Order.desc("createdAt") : safeSort.iterator().next();
+      int pageSize = Math.max(1, Math.min(size, 100));
+      KeysetPage<TaskResponse> window =
+          taskService.scroll(
+              projectId,
+              order,
+              cursor.isEmpty() ? null : Cursor.decode(cursor, SORTABLE),
+              pageSize,
+              filter);
+      var headers =
+          PaginationUtil.generateKeysetHttpHeaders(
+              withFilter(uriBuilder.path("/api/projects/" + projectId + "/tasks"), filter),
+              window,
+              pageSize);
+      return ResponseEntity.ok().headers(headers).body(window.content());
+    }
     Pageable pageable =
         PageRequest.of(
             Math.max(0, page),
             Math.min(size, 100),
             safeSort.isUnsorted() ? Sort.by(Sort.Direction.DESC, "createdAt") : safeSort);
 
-    Page<TaskResponse> result = taskService.page(projectId, pageable);
-    var headers =
-        PaginationUtil.generatePaginationHttpHeaders(
-            uriBuilder.path("/api/projects/" + projectId + "/tasks"), result);
+    Slice<TaskResponse> result =
+        includeArchived
+            ? taskService.pageIncludingArchived(projectId, pageable, count, filter)
+            : taskService.page(projectId, pageable, count, filter);
+    UriComponentsBuilder uri =
+        withFilter(uriBuilder.path("/api/projects/" + projectId + "/tasks"), filter);
+    if (includeArchived) {
+      uri.queryParam("includeArchived", true);
+    }
+    var headers = PaginationUtil.generateSliceHttpHeaders(uri, result);
     return ResponseEntity.ok().headers(headers).body(result.getContent());
   }
 
+  /** Carries the filter into the pagination links, so following them keeps the same rows. */
+  private static UriComponentsBuilder withFilter(UriComponentsBuilder uri, TaskFilter filter) {
+    filter.statuses().stream().sorted().forEach(status -> uri.queryParam("status", status));
+    if (filter.priorityMin() != null) uri.queryParam("priorityMin", filter.priorityMin());
+    if (filter.priorityMax() != null) uri.queryParam("priorityMax", filter.priorityMax());
+    if (filter.dueAfter() != null) uri.queryParam("dueAfter", filter.dueAfter());
+    if (filter.dueBefore() != null) uri.queryParam("dueBefore", filter.dueBefore());
+    if (filter.createdSince() != null) uri.queryParam("createdSince", filter.createdSince());
+    if (filter.titleContains() != null) uri.queryParam("titleContains", filter.titleContains());
+    return uri;
+  }
+
+  @GetMapping("/export")
+  @Operation(
+      summary = "Export tasks",
+      description =
+          "Streams every task of the project, newest first, as NDJSON or CSV. Rows are written as"
+              + " they are read, so large projects neither buffer in memory nor delay the first"
+              + " byte.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        content = {
+          @Content(mediaType = "application/x-ndjson"),
+          @Content(mediaType = "text/csv")
+        }),
+    @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content),
+    @ApiResponse(responseCode = "404", description = "Project not found", content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public ResponseEntity<StreamingResponseBody> export(
+      @PathVariable UUID projectId,
+      @Parameter(description = "ndjson or csv", example = "ndjson")
+          @RequestParam(defaultValue = "ndjson")
+          String format) {
+    TaskFileFormat exportFormat = TaskFileFormat.from(format);
+    StreamingResponseBody body = taskExportService.export(projectId, exportFormat);
+    return ResponseEntity.ok()
+        .contentType(exportFormat.mediaType())
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename("tasks-" + projectId + "." + exportFormat.extension())
+                .build()
+                .toString())
+        .body(body);
+  }
+
   @GetMapping("/{id}")
   @Operation(summary = "Get a task")
   @ApiResponses({
-    @ApiResponse(responseCode = "200", description = "OK"),
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Current version, for If-Match",
+                schema = @Schema(type = "string"))),
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
-  public TaskResponse get(@PathVariable UUID projectId, @PathVariable UUID id) {
-    return taskService.get(projectId, id);
+  public ResponseEntity<TaskResponse> get(@PathVariable UUID projectId, @PathVariable UUID id) {
+    TaskResponse task = taskService.get(projectId, id);
+    return ResponseEntity.ok().eTag(ETags.of(task.version())).body(task);
   }
 
   @PatchMapping("/{id}")
   @Operation(
       summary = "Update a task",
-      description = "Partial update; only non-null fields are applied")
+      description =
+          "Partial update; only non-null fields are applied. With `If-Match` the update applies"
+              + " only to a version it lists, compared strongly so weak tags never match; a"
+              + " status-only change is then a single compare-and-set statement.")
   @ApiResponses({
-    @ApiResponse(responseCode = "200", description = "OK"),
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "ETag",
+                description = "Version after the update",
+                schema = @Schema(type = "string"))),
     @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
-    @ApiResponse(responseCode = "400", description = "Validation error", content = @Content),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Validation error or unparseable If-Match",
+        content = @Content),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Modified concurrently (no If-Match sent)",
+        content = @Content),
+    @ApiResponse(
+        responseCode = "412",
+        description = "The task matches no strong tag of If-Match",
+        content = @Content),
     @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
   })
-  public TaskResponse update(
+  public ResponseEntity<TaskResponse> update(
       @PathVariable UUID projectId,
       @PathVariable UUID id,
-      @RequestBody @Valid TaskRequest request) {
-    return taskService.update(projectId, id, request);
+      @RequestBody @Valid TaskPatchRequest request,
+      @Parameter(description = "ETags of the versions the update may apply to, or *")
+          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+          String ifMatch) {
+    TaskResponse task =
+        taskService.update(projectId, id, request, ETags.expectedVersions(ifMatch));
+    return ResponseEntity.ok().eTag(ETags.of(task.version())).body(task);
   }
 
   @DeleteMapping("/{id}")
@@ -0,0 +1,91 @@
+package com.orioljt.taskmanager.controller;
+
+import com.orioljt.taskmanager.controller.util.PaginationUtil;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.service.TaskSearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/** Search across the current user's projects, so it is not nested under a project path. */
+@RestController
+@Validated
+@RequestMapping("/api/tasks")
+@Tag(name = "Tasks", description = "Operations on tasks within a project")
+public class TaskSearchController {
+
+  private final TaskSearchService taskSearchService;
+
+  public TaskSearchController(TaskSearchService taskSearchService) {
+    this.taskSearchService = taskSearchService;
+  }
+
+  @GetMapping("/search")
+  @Operation(
+      summary = "Search tasks",
+      description =
+          "Full-text search over the titles and descriptions of the tasks in every project you"
+              + " own, best matches first. `q` accepts web-search syntax: quoted phrases, `or`"
+              + " and `-word`. Pages are keyset pages; follow the `next` link of the `Link`"
+              + " header. Results leave `description` null.")
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "OK",
+        headers =
+            @Header(
+                name = "Link",
+                description = "`next` link carrying the cursor, when more results exist",
+                schema = @Schema(type = "string")),
+        content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = TaskResponse.class)))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Blank or too long query, or invalid cursor",
+        content = @Content),
+    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+  })
+  public ResponseEntity<List<TaskResponse>> search(
+      @Parameter(description = "Search terms, at most 200 characters", example = "quarterly report")
+          @RequestParam
+          String q,
+      @Parameter(description = "Page size (1-100)", example = "20")
+          @RequestParam(defaultValue = "20")
+          @Min(1)
+          @Max(100)
+          int size,
+      @Parameter(description = "Opaque cursor from a previous `next` link")
+          @RequestParam(required = false)
+          String cursor,
+      UriComponentsBuilder uriBuilder) {
+    KeysetPage<TaskResponse> window =
+        taskSearchService.search(
+            q,
+            cursor == null || cursor.isEmpty()
+                ? null
+                : Cursor.decode(cursor, TaskSearchService.CURSOR_PROPERTIES),
+            size);
+    var headers =
+        PaginationUtil.generateKeysetHttpHeaders(
+            uriBuilder.path("/api/tasks/search").queryParam("q", q), window, size);
+    return ResponseEntity.ok().headers(headers).body(window.content());
+  }
+}
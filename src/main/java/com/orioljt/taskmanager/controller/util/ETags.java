@@ -0,0 +1,82 @@
+package com.orioljt.taskmanager.controller.util;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Maps entity versions to strong {@code ETag} values and back. A version {@code 3} is sent as
+ * {@code "3"}; {@code If-Match} takes {@code *} or a list of entity tags and, as RFC 9110 requires,
+ * compares them strongly: a weak tag never matches, and the list matches if any member does.
+ */
+public final class ETags {
+  private static final String MALFORMED = "If-Match must be * or a list of entity tags";
+
+  /** Longest decimal string that always fits a {@code long}. */
+  private static final int MAX_VERSION_DIGITS = 18;
+
+  private ETags() {}
+
+  /** Returns the ETag value for {@code version}, without quotes (Spring adds them). */
+  public static String of(long version) {
+    return Long.toString(version);
+  }
+
+  /**
+   * Returns the versions an {@code If-Match} header accepts, or {@code null} when the header is
+   * absent or {@code *} (any current version matches). Weak tags and strong tags this API never
+   * issues are skipped, so the set is empty when nothing can match and the write fails with 412.
+   *
+   * @throws BadRequestException if the header is not {@code *} nor a list of entity tags
+   */
+  public static Set<Long> expectedVersions(String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return null;
+    }
+    String header = ifMatch.trim();
+    Set<Long> versions = new LinkedHashSet<>();
+    int i = 0;
+    while (i < header.length()) {
+      char c = header.charAt(i);
+      if (c == ',' || c == ' ' || c == '\t') {
+        i++;
+        continue;
+      }
+      boolean weak = header.startsWith("W/", i);
+      int open = weak ? i + 2 : i;
+      if (open >= header.length() || header.charAt(open) != '"') {
+        throw new BadRequestException(MALFORMED);
+      }
+      int close = header.indexOf('"', open + 1);
+      if (close < 0) {
+        throw new BadRequestException(MALFORMED);
+      }
+      String opaque = header.substring(open + 1, close);
+      if (!opaque.chars().allMatch(ETags::isEtagChar)) {
+        throw new BadRequestException(MALFORMED);
+      }
+      i = close + 1;
+      while (i < header.length() && (header.charAt(i) == ' ' || header.charAt(i) == '\t')) {
+        i++;
+      }
+      if (i < header.length() && header.charAt(i) != ',') {
+        throw new BadRequestException(MALFORMED);
+      }
+      if (!weak && isVersion(opaque)) {
+        versions.add(Long.parseLong(opaque));
+      }
+    }
+    return versions;
+  }
+
+  /** {@code etagc} of RFC 9110: visible ASCII except the double quote, or obs-text. */
+  private static boolean isEtagChar(int c) {
+    return c == 0x21 || (c >= 0x23 && c <= 0x7E) || (c >= 0x80 && c <= 0xFF);
+  }
+
+  private static boolean isVersion(String opaque) {
+    return !opaque.isEmpty()
+        && opaque.length() <= MAX_VERSION_DIGITS
+        && opaque.chars().allMatch(c -> c >= '0' && c <= '9');
+  }
+}
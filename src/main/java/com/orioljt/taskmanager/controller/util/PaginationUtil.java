@@ -1,9 +1,11 @@
 package com.orioljt.taskmanager.controller.util;
 
+import com.orioljt.taskmanager.pagination.KeysetPage;
 import java.net.URI;
 import java.util.Set;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -12,7 +14,9 @@ import org.springframework.web.util.UriComponentsBuilder;
  * Utilities for generating RFC-5988 pagination headers and sanitizing sort fields.
  *
  * <p>{@code generatePaginationHttpHeaders} builds {@code Link} headers for {@code first}, {@code
- * last}, {@code prev}, and {@code next}, and includes {@code X-Total-Count}. The {@code
+ * last}, {@code prev}, and {@code next}, and includes {@code X-Total-Count}. {@code
+ * generateSliceHttpHeaders} does the same for uncounted slices, without {@code last} or a total.
+ * {@code generateKeysetHttpHeaders} builds the cursor-based {@code next} link. The {@code
  * sanitizeSort} method restricts sort to a provided allowlist.
  */
 public final class PaginationUtil {
@@ -50,6 +54,59 @@ public final class PaginationUtil {
     return headers;
   }
 
+  /**
+   * Builds pagination headers for a slice: a {@link Page} gets the full set, otherwise only {@code
+   * prev}, {@code first}, and {@code next} links are emitted, since the total is unknown.
+   *
+   * @param baseUri base URI used to construct page links
+   * @param slice a Spring Data slice or page
+   * @return headers including {@code Link}, plus {@code X-Total-Count} for pages
+   */
+  public static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder baseUri, Slice<?> slice) {
+    if (slice instanceof Page<?> page) {
+      return generatePaginationHttpHeaders(baseUri, page);
+    }
+    HttpHeaders headers = new HttpHeaders();
+    StringBuilder link = new StringBuilder();
+    if (slice.hasPrevious()) {
+      appendLink(link, prepareUri(baseUri, slice.getPageable().previousOrFirst()), "prev");
+    }
+    appendLink(link, prepareUri(baseUri, slice.getPageable().withPage(0)), "first");
+    if (slice.hasNext()) {
+      appendLink(link, prepareUri(baseUri, slice.getPageable().next()), "next");
+    }
+    headers.add(HttpHeaders.LINK, link.toString());
+    return headers;
+  }
+
+  /**
+   * Builds the {@code Link} header for a keyset page: only a {@code next} link carrying the
+   * cursor, since keyset pages have no index or total.
+   *
+   * @param baseUri base URI used to construct the link
+   * @param page a keyset page
+   * @param size page size to repeat in the link
+   * @return headers with a {@code Link} when there is a next page
+   */
+  public static HttpHeaders generateKeysetHttpHeaders(
+      UriComponentsBuilder baseUri, KeysetPage<?> page, int size) {
+    HttpHeaders headers = new HttpHeaders();
+    if (page.hasNext()) {
+      URI next =
+          baseUri
+              .replaceQueryParam("page")
+              .replaceQueryParam("sort")
+              .replaceQueryParam("size", size)
+              .replaceQueryParam("cursor", page.next().encode())
+              .build()
+              .toUri();
+      StringBuilder link = new StringBuilder();
+      appendLink(link, next, "next");
+      headers.add(HttpHeaders.LINK, link.toString());
+    }
+    return headers;
+  }
+
   private static void appendLink(StringBuilder link, URI uri, String rel) {
     if (!link.isEmpty()) link.append(", ");
     link.append("<").append(uri.toString()).append(">; rel=\"").append(rel).append("\"");
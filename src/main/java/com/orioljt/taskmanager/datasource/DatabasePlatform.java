@@ -0,0 +1,34 @@
+package com.orioljt.taskmanager.datasource;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells which database the application runs on, for the few statements written in PostgreSQL's own
+ * SQL ({@code COPY}, {@code RETURNING}, {@code EXPLAIN}, full-text search) that need a portable
+ * fallback on H2 in tests. Read once from the connection metadata, on first use rather than at
+ * startup, so building the context never needs the database.
+ */
+@Component
+public class DatabasePlatform {
+
+  private final JdbcTemplate jdbcTemplate;
+  private volatile Boolean postgres;
+
+  public DatabasePlatform(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  public boolean isPostgres() {
+    Boolean result = postgres;
+    if (result == null) {
+      result =
+          jdbcTemplate.execute(
+              (ConnectionCallback<Boolean>)
+                  con -> "PostgreSQL".equals(con.getMetaData().getDatabaseProductName()));
+      postgres = result;
+    }
+    return Boolean.TRUE.equals(result);
+  }
+}
@@ -0,0 +1,76 @@
+package com.orioljt.taskmanager.datasource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Remembers which principals committed a read-write transaction recently, so their reads can stay
+ * on the primary until replicas have caught up with their own writes.
+ *
+ * <p>Spring Boot registers every {@link TransactionExecutionListener} bean with the transaction
+ * manager. The window is kept per instance; clients that must read their writes across instances
+ * need sticky routing in front of the service.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+
+  private static final int PRUNE_THRESHOLD = 10_000;
+
+  private final long windowMillis;
+  private final Clock clock;
+  private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Duration window) {
+    this(window, Clock.systemUTC());
+  }
+
+  ReadYourWritesTracker(Duration window, Clock clock) {
+    this.windowMillis = window.toMillis();
+    this.clock = clock;
+  }
+
+  @Override
+  public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+    if (commitFailure != null || transaction.isReadOnly() || windowMillis <= 0) {
+      return;
+    }
+    String principal = currentPrincipal();
+    if (principal == null) {
+      return;
+    }
+    long now = clock.millis();
+    if (pinnedUntil.size() >= PRUNE_THRESHOLD) {
+      pinnedUntil.values().removeIf(until -> until <= now);
+    }
+    pinnedUntil.put(principal, now + windowMillis);
+  }
+
+  /** Whether the current principal wrote within the window and must read from the primary. */
+  public boolean isPinned() {
+    String principal = currentPrincipal();
+    if (principal == null) {
+      return false;
+    }
+    Long until = pinnedUntil.get(principal);
+    if (until == null) {
+      return false;
+    }
+    if (until <= clock.millis()) {
+      pinnedUntil.remove(principal, until);
+      return false;
+    }
+    return true;
+  }
+
+  @Nullable
+  private static String currentPrincipal() {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    return auth != null && auth.isAuthenticated() ? auth.getName() : null;
+  }
+}
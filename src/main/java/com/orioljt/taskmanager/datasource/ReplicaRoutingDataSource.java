@@ -0,0 +1,133 @@
+package com.orioljt.taskmanager.datasource;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Hands out connections for read-only transactions. Replicas are used round-robin; one that fails
+ * to give a connection is skipped for {@code retryAfter}, and when none is usable, or the current
+ * principal is pinned by {@link ReadYourWritesTracker}, the primary serves the read.
+ *
+ * <p>Use through {@link #routing}, which lets {@link LazyConnectionDataSourceProxy} pick this data
+ * source only for connections marked read-only, i.e. inside {@code @Transactional(readOnly =
+ * true)}.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private final ReadYourWritesTracker tracker;
+  private final long retryAfterMillis;
+  private final Clock clock;
+  private final AtomicInteger next = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      ReadYourWritesTracker tracker,
+      Duration retryAfter) {
+    this(primary, replicas, tracker, retryAfter, Clock.systemUTC());
+  }
+
+  ReplicaRoutingDataSource(
+      DataSource primary,
+      List<DataSource> replicas,
+      ReadYourWritesTracker tracker,
+      Duration retryAfter,
+      Clock clock) {
+    this.primary = primary;
+    this.replicas = replicas.stream().map(Replica::new).toList();
+    this.tracker = tracker;
+    this.retryAfterMillis = retryAfter.toMillis();
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the data source to expose to JPA and JDBC: writes and non-transactional work go to
+   * {@code primary}, read-only transactions to {@code readOnly}.
+   */
+  public static DataSource routing(DataSource primary, ReplicaRoutingDataSource readOnly) {
+    LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+    proxy.setReadOnlyDataSource(readOnly);
+    return proxy;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (!tracker.isPinned()) {
+      int start = next.getAndIncrement();
+      for (int i = 0; i < replicas.size(); i++) {
+        Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+        Connection connection = replica.tryConnect();
+        if (connection != null) {
+          return connection;
+        }
+      }
+    }
+    Connection connection = primary.getConnection();
+    connection.setReadOnly(true);
+    return connection;
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    throw new SQLFeatureNotSupportedException("Per-call credentials are not supported");
+  }
+
+  /** Number of replicas currently taking connections. */
+  public int availableReplicas() {
+    long now = clock.millis();
+    return (int) replicas.stream().filter(r -> r.downUntil <= now).count();
+  }
+
+  @Override
+  public void close() {
+    for (Replica replica : replicas) {
+      if (replica.dataSource instanceof AutoCloseable closeable) {
+        try {
+          closeable.close();
+        } catch (Exception e) {
+          log.warn("Closing replica pool failed", e);
+        }
+      }
+    }
+  }
+
+  private final class Replica {
+    private final DataSource dataSource;
+    private volatile long downUntil;
+
+    Replica(DataSource dataSource) {
+      this.dataSource = dataSource;
+    }
+
+    Connection tryConnect() {
+      if (downUntil > clock.millis()) {
+        return null;
+      }
+      try {
+        return dataSource.getConnection();
+      } catch (SQLException e) {
+        downUntil = clock.millis() + retryAfterMillis;
+        log.warn(
+            "Replica unavailable, reading from other replicas or the primary for {} ms: {}",
+            retryAfterMillis,
+            e.getMessage());
+        return null;
+      }
+    }
+  }
+}
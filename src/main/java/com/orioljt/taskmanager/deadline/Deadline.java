@@ -0,0 +1,22 @@
+package com.orioljt.taskmanager.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Gives the annotated endpoint, or every endpoint of the annotated controller, a default
+ * deadline. Clients can only lower it, with {@value RequestDeadlineInterceptor#TIMEOUT_HEADER}.
+ * Endpoints without it have no deadline.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Deadline {
+
+  /**
+   * A duration ({@code 5s}, {@code PT5S}) or a {@code ${...}} placeholder resolving to one; {@code
+   * -} for none. Empty means {@code app.deadline.default}.
+   */
+  String value() default "";
+}
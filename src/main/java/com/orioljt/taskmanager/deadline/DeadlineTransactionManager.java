@@ -0,0 +1,39 @@
+package com.orioljt.taskmanager.deadline;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+/**
+ * Bounds each transaction started for a request by the time left of its {@link RequestDeadline}.
+ * Hibernate sets the rest of the transaction timeout as the JDBC query timeout of every statement,
+ * and the PostgreSQL driver cancels a statement still running when it fires, so a slow query gives
+ * its connection back at the deadline instead of when the database is done.
+ *
+ * <p>JDBC query timeouts count whole seconds, so the remaining time is rounded up; a transaction
+ * that would start after the deadline fails before it takes a connection.
+ */
+public class DeadlineTransactionManager extends JpaTransactionManager {
+
+  public DeadlineTransactionManager() {}
+
+  public DeadlineTransactionManager(EntityManagerFactory emf) {
+    super(emf);
+  }
+
+  @Override
+  protected int determineTimeout(TransactionDefinition definition) {
+    int timeout = super.determineTimeout(definition);
+    RequestDeadline deadline = RequestDeadline.current();
+    if (deadline == null) {
+      return timeout;
+    }
+    long remaining = deadline.remainingMillis();
+    if (remaining <= 0) {
+      throw new TransactionTimedOutException("Request deadline passed before the transaction");
+    }
+    int seconds = (int) Math.min(Integer.MAX_VALUE, (remaining + 999) / 1000);
+    return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? seconds : Math.min(timeout, seconds);
+  }
+}
@@ -0,0 +1,46 @@
+package com.orioljt.taskmanager.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.Nullable;
+
+/**
+ * The deadline of the request handled by the current thread, set by {@link
+ * RequestDeadlineInterceptor} for the duration of the handler. {@link DeadlineTransactionManager}
+ * turns what is left of it into the timeout of every transaction the handler starts.
+ */
+public final class RequestDeadline {
+
+  private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+  private final long expiresAtNanos;
+
+  RequestDeadline(Duration budget) {
+    this.expiresAtNanos = System.nanoTime() + budget.toNanos();
+  }
+
+  /** The current thread's deadline, or null outside a request that has one. */
+  @Nullable
+  public static RequestDeadline current() {
+    return CURRENT.get();
+  }
+
+  /** Whether the current thread handles a request whose deadline has passed. */
+  public static boolean hasExpired() {
+    RequestDeadline deadline = CURRENT.get();
+    return deadline != null && deadline.remainingMillis() <= 0;
+  }
+
+  static void set(RequestDeadline deadline) {
+    CURRENT.set(deadline);
+  }
+
+  static void clear() {
+    CURRENT.remove();
+  }
+
+  /** Milliseconds left; zero or negative once the deadline has passed. */
+  public long remainingMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(expiresAtNanos - System.nanoTime());
+  }
+}
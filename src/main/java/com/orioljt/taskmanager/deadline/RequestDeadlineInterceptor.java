@@ -0,0 +1,137 @@
+package com.orioljt.taskmanager.deadline;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Sets the {@link RequestDeadline} of requests to {@link Deadline} endpoints: the endpoint's
+ * default, or the shorter {@value #TIMEOUT_HEADER} the client sent (a duration such as {@code
+ * 500ms}, {@code 2s} or {@code PT2S}; a bare number counts milliseconds).
+ *
+ * <p>Counts the requests answered {@code 504} because they ran out of time as {@value
+ * #EXCEEDED_METRIC}, tagged with the method and the URI pattern.
+ */
+@Component
+public class RequestDeadlineInterceptor implements AsyncHandlerInterceptor, MeterBinder {
+
+  public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+  static final String EXCEEDED_METRIC = "http.server.requests.deadline.exceeded";
+
+  private static final String DEFAULT = "${app.deadline.default:PT10S}";
+  private static final String NONE = "-";
+
+  private final Environment environment;
+  private final Map<Method, Optional<Duration>> endpointDefaults = new ConcurrentHashMap<>();
+  private volatile MeterRegistry registry;
+
+  public RequestDeadlineInterceptor(Environment environment) {
+    this.environment = environment;
+  }
+
+  @Override
+  public void bindTo(@NonNull MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    if (!(handler instanceof HandlerMethod method)) {
+      return true;
+    }
+    Duration budget =
+        endpointDefaults
+            .computeIfAbsent(method.getMethod(), m -> endpointDefault(method))
+            .orElse(null);
+    if (budget == null) {
+      return true;
+    }
+    String requested = request.getHeader(TIMEOUT_HEADER);
+    if (requested != null) {
+      Duration lowered = parseHeader(requested);
+      if (lowered.compareTo(budget) < 0) {
+        budget = lowered;
+      }
+    }
+    RequestDeadline.set(new RequestDeadline(budget));
+    return true;
+  }
+
+  /** Streamed responses are written by another thread, outside the deadline. */
+  @Override
+  public void afterConcurrentHandlingStarted(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    RequestDeadline.clear();
+  }
+
+  @Override
+  public void afterCompletion(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler,
+      @Nullable Exception ex) {
+    if (RequestDeadline.current() != null
+        && response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value()
+        && registry != null) {
+      Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      Counter.builder(EXCEEDED_METRIC)
+          .description("Requests that ran out of their deadline")
+          .tag("method", request.getMethod())
+          .tag("uri", pattern == null ? "UNKNOWN" : pattern.toString())
+          .register(registry)
+          .increment();
+    }
+    RequestDeadline.clear();
+  }
+
+  private Optional<Duration> endpointDefault(HandlerMethod method) {
+    Deadline deadline =
+        AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), Deadline.class);
+    if (deadline == null) {
+      deadline = AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), Deadline.class);
+    }
+    if (deadline == null) {
+      return Optional.empty();
+    }
+    String value =
+        environment.resolveRequiredPlaceholders(
+            deadline.value().isEmpty() ? DEFAULT : deadline.value());
+    return NONE.equals(value) ? Optional.empty() : Optional.of(DurationStyle.detectAndParse(value));
+  }
+
+  private static Duration parseHeader(String value) {
+    Duration duration;
+    try {
+      duration = DurationStyle.detectAndParse(value.trim());
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException(TIMEOUT_HEADER + " must be a duration such as 500ms or 2s");
+    }
+    if (duration.isNegative() || duration.isZero()) {
+      throw new BadRequestException(TIMEOUT_HEADER + " must be positive");
+    }
+    return duration;
+  }
+}
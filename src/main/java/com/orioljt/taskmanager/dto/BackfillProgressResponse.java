@@ -0,0 +1,20 @@
+package com.orioljt.taskmanager.dto;
+
+import com.orioljt.taskmanager.entity.BackfillStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.UUID;
+
+@Schema(description = "Progress of an online backfill")
+public record BackfillProgressResponse(
+    @Schema(description = "Backfill name", example = "tasks-priority-default") String name,
+    BackfillStatus status,
+    @Schema(description = "Highest primary key processed; null before the first chunk")
+        UUID lastKey,
+    @Schema(description = "Rows changed so far", example = "120000") long rowsDone,
+    @Schema(description = "Chunks committed so far", example = "120") long chunksDone,
+    Instant startedAt,
+    @Schema(description = "When the last chunk committed or the status changed")
+        Instant updatedAt,
+    Instant finishedAt,
+    @Schema(description = "Why the backfill stopped, while FAILED") String lastError) {}
@@ -0,0 +1,7 @@
+package com.orioljt.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Result of a bulk update")
+public record BatchUpdateResponse(
+    @Schema(description = "Number of rows changed", example = "42") int updated) {}
@@ -9,4 +9,49 @@ public record ProjectResponse(
     @Schema(description = "Project id") UUID id,
     @Schema(description = "Project name") String name,
     @Schema(description = "Owner user id") UUID ownerId,
-    @Schema(description = "Creation timestamp") Instant createdAt) {}
+    @Schema(description = "Creation timestamp") Instant createdAt,
+    @Schema(description = "Version, also sent as the ETag; pass it in If-Match to rename")
+        long version,
+    @Schema(description = "When the project was archived; null while it is active")
+        Instant archivedAt,
+    @Schema(description = "Task counts; null until the project's counts are first reconciled")
+        TaskCounts taskCounts) {
+
+  /** A project that is not archived, without task counts. */
+  public ProjectResponse(UUID id, String name, UUID ownerId, Instant createdAt, long version) {
+    this(id, name, ownerId, createdAt, version, null, null);
+  }
+
+  /** A project without task counts. */
+  public ProjectResponse(
+      UUID id, String name, UUID ownerId, Instant createdAt, long version, Instant archivedAt) {
+    this(id, name, ownerId, createdAt, version, archivedAt, null);
+  }
+
+  /** A project with the columns of its left-joined {@code project_stats} row, null without one. */
+  public ProjectResponse(
+      UUID id,
+      String name,
+      UUID ownerId,
+      Instant createdAt,
+      long version,
+      Instant archivedAt,
+      Long total,
+      Long todo,
+      Long inProgress,
+      Long done,
+      Long priority1,
+      Long priority2,
+      Long priority3) {
+    this(
+        id,
+        name,
+        ownerId,
+        createdAt,
+        version,
+        archivedAt,
+        total == null
+            ? null
+            : new TaskCounts(total, todo, inProgress, done, priority1, priority2, priority3));
+  }
+}
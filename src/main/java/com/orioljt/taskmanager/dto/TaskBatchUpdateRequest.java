@@ -0,0 +1,39 @@
+package com.orioljt.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Schema(
+    description =
+        "Bulk change for a project's tasks: which tasks (ids and/or dueBefore, combined with AND)"
+            + " and what to set (status and/or priority)")
+public record TaskBatchUpdateRequest(
+    @Schema(description = "Only these task ids (max 1000)") @Size(max = 1000) List<UUID> ids,
+    @Schema(description = "Only tasks due strictly before this date", example = "2025-09-01")
+        LocalDate dueBefore,
+    @Schema(description = "New status", example = "DONE") TaskStatus status,
+    @Schema(description = "New priority 1 (high) - 3 (low)", example = "1") @Min(1) @Max(3)
+        Integer priority) {
+
+  @JsonIgnore
+  @Schema(hidden = true)
+  @AssertTrue(message = "at least one of ids or dueBefore is required")
+  public boolean isFiltered() {
+    return (ids != null && !ids.isEmpty()) || dueBefore != null;
+  }
+
+  @JsonIgnore
+  @Schema(hidden = true)
+  @AssertTrue(message = "at least one of status or priority is required")
+  public boolean isChanging() {
+    return status != null || priority != null;
+  }
+}
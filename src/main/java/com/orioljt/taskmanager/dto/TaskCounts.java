@@ -0,0 +1,58 @@
+package com.orioljt.taskmanager.dto;
+
+import com.orioljt.taskmanager.entity.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(
+    description =
+        "Task counts of a project by status and by priority, archived tasks included. Tasks"
+            + " without a priority are total minus the three priority counts.")
+public record TaskCounts(
+    @Schema(description = "All tasks", example = "42") long total,
+    @Schema(description = "Tasks in TODO") long todo,
+    @Schema(description = "Tasks in IN_PROGRESS") long inProgress,
+    @Schema(description = "Tasks in DONE") long done,
+    @Schema(description = "Tasks with priority 1 (high)") long priority1,
+    @Schema(description = "Tasks with priority 2") long priority2,
+    @Schema(description = "Tasks with priority 3 (low)") long priority3) {
+
+  public static final TaskCounts NONE = new TaskCounts(0, 0, 0, 0, 0, 0, 0);
+
+  /** The counts of a single task. */
+  public TaskCounts(TaskStatus status, Integer priority) {
+    this(
+        1,
+        status == TaskStatus.TODO ? 1 : 0,
+        status == TaskStatus.IN_PROGRESS ? 1 : 0,
+        status == TaskStatus.DONE ? 1 : 0,
+        priority != null && priority == 1 ? 1 : 0,
+        priority != null && priority == 2 ? 1 : 0,
+        priority != null && priority == 3 ? 1 : 0);
+  }
+
+  public TaskCounts plus(TaskCounts other) {
+    return new TaskCounts(
+        total + other.total,
+        todo + other.todo,
+        inProgress + other.inProgress,
+        done + other.done,
+        priority1 + other.priority1,
+        priority2 + other.priority2,
+        priority3 + other.priority3);
+  }
+
+  public TaskCounts minus(TaskCounts other) {
+    return plus(other.times(-1));
+  }
+
+  public TaskCounts times(long factor) {
+    return new TaskCounts(
+        total * factor,
+        todo * factor,
+        inProgress * factor,
+        done * factor,
+        priority1 * factor,
+        priority2 * factor,
+        priority3 * factor);
+  }
+}
@@ -0,0 +1,84 @@
+package com.orioljt.taskmanager.dto;
+
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Row filter of a task listing; every non-empty criterion must match. Built from query parameters
+ * through {@link #of}, which rejects contradictory ranges and requests above {@link #MAX_TERMS}.
+ *
+ * @param statuses any of these statuses; empty for all
+ * @param priorityMin lowest priority value, inclusive
+ * @param priorityMax highest priority value, inclusive
+ * @param dueAfter due strictly after this date
+ * @param dueBefore due strictly before this date
+ * @param createdSince created at or after this instant
+ * @param titleContains case-insensitive substring of the title
+ */
+public record TaskFilter(
+    Set<TaskStatus> statuses,
+    Integer priorityMin,
+    Integer priorityMax,
+    LocalDate dueAfter,
+    LocalDate dueBefore,
+    Instant createdSince,
+    String titleContains) {
+
+  /** Most criteria values one request may send, repeated {@code status} values included. */
+  public static final int MAX_TERMS = 10;
+
+  public static final int MAX_TITLE_LENGTH = 100;
+
+  public static final TaskFilter NONE =
+      new TaskFilter(Set.of(), null, null, null, null, null, null);
+
+  /**
+   * Validates and normalizes request parameters: duplicate statuses collapse and a blank title is
+   * ignored.
+   *
+   * @throws BadRequestException if a range is empty or the request exceeds the complexity caps
+   */
+  public static TaskFilter of(
+      List<TaskStatus> statuses,
+      Integer priorityMin,
+      Integer priorityMax,
+      LocalDate dueAfter,
+      LocalDate dueBefore,
+      Instant createdSince,
+      String titleContains) {
+    String title = titleContains == null || titleContains.isBlank() ? null : titleContains.strip();
+    int terms = statuses == null ? 0 : statuses.size();
+    for (Object value :
+        new Object[] {priorityMin, priorityMax, dueAfter, dueBefore, createdSince, title}) {
+      if (value != null) {
+        terms++;
+      }
+    }
+    if (terms > MAX_TERMS) {
+      throw new BadRequestException("Too many filter values, at most " + MAX_TERMS);
+    }
+    if (title != null && title.length() > MAX_TITLE_LENGTH) {
+      throw new BadRequestException(
+          "titleContains is limited to " + MAX_TITLE_LENGTH + " characters");
+    }
+    if (priorityMin != null && priorityMax != null && priorityMin > priorityMax) {
+      throw new BadRequestException("priorityMin must not exceed priorityMax");
+    }
+    if (dueAfter != null && dueBefore != null && !dueAfter.isBefore(dueBefore)) {
+      throw new BadRequestException("dueAfter must be before dueBefore");
+    }
+    Set<TaskStatus> statusSet =
+        statuses == null || statuses.isEmpty() ? Set.of() : Set.copyOf(EnumSet.copyOf(statuses));
+    return new TaskFilter(
+        statusSet, priorityMin, priorityMax, dueAfter, dueBefore, createdSince, title);
+  }
+
+  public boolean isEmpty() {
+    return equals(NONE);
+  }
+}
@@ -0,0 +1,20 @@
+package com.orioljt.taskmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+@Schema(description = "Outcome of a bulk task import")
+public record TaskImportReport(
+    @Schema(description = "Rows written", example = "99998") long imported,
+    @Schema(description = "Rows rejected", example = "2") long failed,
+    @Schema(description = "Rejected rows, in input order; capped, see errorsTruncated")
+        List<RowError> errors,
+    @Schema(description = "True when more rows failed than are listed in errors")
+        boolean errorsTruncated) {
+
+  @Schema(description = "Why one input row was rejected")
+  public record RowError(
+      @Schema(description = "1-based data row (CSV record or NDJSON line)", example = "17")
+          long row,
+      @Schema(description = "Reason", example = "title: must not be blank") String message) {}
+}
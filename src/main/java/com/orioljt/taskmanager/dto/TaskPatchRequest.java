@@ -0,0 +1,26 @@
+package com.orioljt.taskmanager.dto;
+
+import com.orioljt.taskmanager.entity.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+
+@Schema(description = "Task partial update payload; null fields are left unchanged")
+public record TaskPatchRequest(
+    @Schema(description = "Short title", example = "Implement OpenAPI polish")
+        @Size(min = 3, max = 200)
+        @Pattern(regexp = "(?s).*\\S.*", message = "must not be blank")
+        String title,
+    @Schema(description = "Detailed description", example = "Add error schema, tags and examples")
+        @Size(max = 2000)
+        String description,
+    @Schema(description = "Task status", example = "DONE") TaskStatus status,
+    @Schema(description = "Priority 1 (high) - 3 (low)", example = "1") @Min(1) @Max(3)
+        Integer priority,
+    @Schema(description = "Due date ISO-8601", example = "2025-09-01")
+        @FutureOrPresent(message = "dueDate must be today or a future date")
+        LocalDate dueDate) {}
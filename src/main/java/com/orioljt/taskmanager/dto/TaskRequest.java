@@ -9,7 +9,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.LocalDate;
 
-@Schema(description = "Task creation/update payload")
+@Schema(description = "Task creation payload")
 public record TaskRequest(
     @Schema(description = "Short title", example = "Implement OpenAPI polish")
         @NotBlank
@@ -10,11 +10,30 @@ import java.util.UUID;
 public record TaskResponse(
     @Schema(description = "Task id", example = "550e8400-e29b-41d4-a716-446655440000") UUID id,
     @Schema(description = "Title", example = "Implement OpenAPI polish") String title,
-    @Schema(description = "Description") String description,
+    @Schema(description = "Description; null in list responses, fetch the task to read it")
+        String description,
     @Schema(description = "Status", example = "TODO") TaskStatus status,
     @Schema(description = "Priority 1 (high) - 3 (low)", example = "2") Integer priority,
     @Schema(description = "Due date", example = "2025-09-01") LocalDate dueDate,
     @Schema(description = "Project id", example = "123e4567-e89b-12d3-a456-426614174000")
         UUID projectId,
     @Schema(description = "Creation timestamp", example = "2025-08-20T10:15:30Z")
-        Instant createdAt) {}
+        Instant createdAt,
+    @Schema(
+            description = "Version, also sent as the ETag; pass it in If-Match to update",
+            example = "3")
+        long version) {
+
+  /** List summary: every field but the description. */
+  public TaskResponse(
+      UUID id,
+      String title,
+      TaskStatus status,
+      Integer priority,
+      LocalDate dueDate,
+      UUID projectId,
+      Instant createdAt,
+      long version) {
+    this(id, title, null, status, priority, dueDate, projectId, createdAt, version);
+  }
+}
@@ -0,0 +1,96 @@
+package com.orioljt.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * A task moved to the cold tier by {@code ArchivalJob}: same columns as {@link Task}, plus when it
+ * was archived. Rows are only written by the set-based statements of {@code
+ * TaskArchiveRepository}, never through this entity.
+ */
+@Entity
+@Immutable
+// Mirrors V10__task_archive.sql for schemas generated by Hibernate (tests).
+@Table(
+    name = "tasks_archive",
+    indexes =
+        @Index(
+            name = "tasks_archive_project_created_at_idx",
+            columnList = "project_id, created_at, id"))
+public class ArchivedTask {
+
+  @Id private UUID id;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Basic(fetch = FetchType.LAZY)
+  private String description;
+
+  @Enumerated(EnumType.STRING)
+  private TaskStatus status;
+
+  private Integer priority;
+
+  @Column(name = "due_date")
+  private LocalDate dueDate;
+
+  @Column(name = "created_at")
+  private Instant createdAt;
+
+  @Column(nullable = false)
+  private long version;
+
+  @Column(name = "archived_at", nullable = false)
+  private Instant archivedAt;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "project_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Project project;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public TaskStatus getStatus() {
+    return status;
+  }
+
+  public Integer getPriority() {
+    return priority;
+  }
+
+  public LocalDate getDueDate() {
+    return dueDate;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public Instant getArchivedAt() {
+    return archivedAt;
+  }
+
+  public Project getProject() {
+    return project;
+  }
+}
@@ -0,0 +1,106 @@
+package com.orioljt.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * How far one backfill has got (V12__backfill_progress.sql). Written only by {@code
+ * BackfillRunner}, in the transaction of each chunk, so it never claims rows that were rolled back.
+ */
+@Entity
+@Table(name = "backfill_progress")
+public class BackfillProgress {
+
+  /** Longest error message kept; the column is that wide. */
+  private static final int MAX_ERROR_LENGTH = 2000;
+
+  @Id
+  @Column(length = 100)
+  private String name;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private BackfillStatus status;
+
+  // Highest primary key processed; null until the first chunk commits.
+  @Column(name = "last_key")
+  private UUID lastKey;
+
+  @Column(name = "rows_done", nullable = false)
+  private long rowsDone;
+
+  @Column(name = "chunks_done", nullable = false)
+  private long chunksDone;
+
+  @Column(name = "started_at", nullable = false)
+  private Instant startedAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private Instant updatedAt;
+
+  @Column(name = "finished_at")
+  private Instant finishedAt;
+
+  @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+  private String lastError;
+
+  protected BackfillProgress() {}
+
+  public BackfillProgress(String name) {
+    this.name = name;
+    this.status = BackfillStatus.RUNNING;
+    this.startedAt = Instant.now();
+    this.updatedAt = startedAt;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public BackfillStatus getStatus() {
+    return status;
+  }
+
+  public UUID getLastKey() {
+    return lastKey;
+  }
+
+  public long getRowsDone() {
+    return rowsDone;
+  }
+
+  public long getChunksDone() {
+    return chunksDone;
+  }
+
+  /** Records a committed chunk that ended at {@code lastKey} and changed {@code rows} rows. */
+  public void advance(UUID lastKey, int rows) {
+    this.lastKey = lastKey;
+    this.rowsDone += rows;
+    this.chunksDone++;
+    this.updatedAt = Instant.now();
+  }
+
+  /** Puts a failed backfill back to work; it resumes after {@link #getLastKey()}. */
+  public void resume() {
+    this.status = BackfillStatus.RUNNING;
+    this.lastError = null;
+    this.updatedAt = Instant.now();
+  }
+
+  public void finish() {
+    this.status = BackfillStatus.DONE;
+    this.updatedAt = Instant.now();
+    this.finishedAt = updatedAt;
+  }
+
+  public void fail(String error) {
+    this.status = BackfillStatus.FAILED;
+    this.lastError =
+        error != null && error.length() > MAX_ERROR_LENGTH
+            ? error.substring(0, MAX_ERROR_LENGTH)
+            : error;
+    this.updatedAt = Instant.now();
+  }
+}
@@ -0,0 +1,7 @@
+package com.orioljt.taskmanager.entity;
+
+public enum BackfillStatus {
+  RUNNING,
+  DONE,
+  FAILED
+}
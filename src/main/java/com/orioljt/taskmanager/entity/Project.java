@@ -1,30 +1,63 @@
 package com.orioljt.taskmanager.entity;
 
+import com.orioljt.taskmanager.config.SecondLevelCacheConfig;
+import com.orioljt.taskmanager.entity.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @Entity
-@Table(name = "projects")
+// Mirrors V4__list_access_path_indexes.sql for schemas generated by Hibernate (tests).
+@Table(
+    name = "projects",
+    indexes = {
+      @Index(name = "projects_owner_created_at_idx", columnList = "owner_id, created_at, id"),
+      @Index(name = "projects_owner_name_idx", columnList = "owner_id, name, id"),
+      @Index(name = "projects_owner_id_idx", columnList = "owner_id, id")
+    })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PROJECTS)
+@DynamicUpdate
 public class Project {
 
-  @Id @GeneratedValue private UUID id;
+  @Id @UuidV7Id private UUID id;
 
   @NotBlank
   @Size(min = 3, max = 100)
   @Column(nullable = false)
   private String name;
 
-  @ManyToOne(optional = false)
+  // Lazy: responses only need the owner id, which the proxy holds without a query.
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "owner_id")
   private User owner;
 
   @Column(name = "created_at")
   private Instant createdAt = Instant.now();
 
-  @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+  // Set while the project and its tasks are in the cold tier (tasks_archive); hidden from the
+  // project listings unless they ask for archived projects.
+  @Column(name = "archived_at")
+  private Instant archivedAt;
+
+  // Set when a large project is handed to ProjectDeletionJob; from then on it is hidden from its
+  // owner, and the job's sweep finishes the deletion even across restarts.
+  @Column(name = "deleting_at")
+  private Instant deletingAt;
+
+  // Checked and incremented by every UPDATE; clients see it as the ETag.
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  // Tasks are removed by the ON DELETE CASCADE foreign key, not by Hibernate, so deleting a
+  // project never has to load its task collection.
+  @OneToMany(mappedBy = "project")
   private List<Task> tasks = new ArrayList<>();
 
   public UUID getId() {
@@ -55,6 +88,26 @@ public class Project {
     return createdAt;
   }
 
+  public Instant getArchivedAt() {
+    return archivedAt;
+  }
+
+  public void setArchivedAt(Instant archivedAt) {
+    this.archivedAt = archivedAt;
+  }
+
+  public Instant getDeletingAt() {
+    return deletingAt;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public List<Task> getTasks() {
     return tasks;
   }
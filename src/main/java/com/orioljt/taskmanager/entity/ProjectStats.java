@@ -0,0 +1,78 @@
+package com.orioljt.taskmanager.entity;
+
+import com.orioljt.taskmanager.dto.TaskCounts;
+import jakarta.persistence.*;
+import java.util.UUID;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Task counts of one project (V11__project_stats.sql). Task writes adjust them with relative
+ * UPDATEs through {@code ProjectStatsRepository}; only reconciliation sets them through this
+ * entity.
+ */
+@Entity
+@Table(name = "project_stats")
+public class ProjectStats {
+
+  @Id private UUID projectId;
+
+  @MapsId
+  @OneToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "project_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private Project project;
+
+  @Column(name = "task_count", nullable = false)
+  private long taskCount;
+
+  @Column(name = "todo_count", nullable = false)
+  private long todoCount;
+
+  @Column(name = "in_progress_count", nullable = false)
+  private long inProgressCount;
+
+  @Column(name = "done_count", nullable = false)
+  private long doneCount;
+
+  @Column(name = "priority_1_count", nullable = false)
+  private long priority1Count;
+
+  @Column(name = "priority_2_count", nullable = false)
+  private long priority2Count;
+
+  @Column(name = "priority_3_count", nullable = false)
+  private long priority3Count;
+
+  protected ProjectStats() {}
+
+  public ProjectStats(Project project, TaskCounts counts) {
+    this.project = project;
+    setCounts(counts);
+  }
+
+  public UUID getProjectId() {
+    return projectId;
+  }
+
+  public TaskCounts getCounts() {
+    return new TaskCounts(
+        taskCount,
+        todoCount,
+        inProgressCount,
+        doneCount,
+        priority1Count,
+        priority2Count,
+        priority3Count);
+  }
+
+  public void setCounts(TaskCounts counts) {
+    this.taskCount = counts.total();
+    this.todoCount = counts.todo();
+    this.inProgressCount = counts.inProgress();
+    this.doneCount = counts.done();
+    this.priority1Count = counts.priority1();
+    this.priority2Count = counts.priority2();
+    this.priority3Count = counts.priority3();
+  }
+}
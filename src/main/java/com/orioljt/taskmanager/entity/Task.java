@@ -2,6 +2,7 @@ package com.orioljt.taskmanager.entity;
 
 import static com.orioljt.taskmanager.entity.TaskStatus.TODO;
 
+import com.orioljt.taskmanager.entity.id.UuidV7Id;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.Max;
@@ -10,19 +11,37 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.*;
 import java.util.UUID;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "tasks")
+// Mirrors V4__list_access_path_indexes.sql for schemas generated by Hibernate (tests).
+@Table(
+    name = "tasks",
+    indexes = {
+      @Index(name = "tasks_project_created_at_idx", columnList = "project_id, created_at, id"),
+      @Index(name = "tasks_project_title_idx", columnList = "project_id, title, id"),
+      @Index(name = "tasks_project_status_idx", columnList = "project_id, status, id"),
+      @Index(name = "tasks_project_priority_idx", columnList = "project_id, priority, id"),
+      @Index(name = "tasks_project_due_date_idx", columnList = "project_id, due_date, id"),
+      @Index(name = "tasks_project_id_idx", columnList = "project_id, id")
+    })
+// UPDATEs list only the changed columns; with bytecode enhancement the entity tracks them itself.
+@DynamicUpdate
 public class Task {
 
-  @Id @GeneratedValue private UUID id;
+  @Id @UuidV7Id private UUID id;
 
   @NotBlank
   @Size(min = 3, max = 200)
   @Column(nullable = false)
   private String title;
 
+  // Lazy (needs bytecode enhancement): loading a task for an update or a list page skips the
+  // potentially large TEXT column until it is read.
   @Size(max = 2000)
+  @Basic(fetch = FetchType.LAZY)
   private String description;
 
   @Enumerated(EnumType.STRING)
@@ -39,8 +58,15 @@ public class Task {
   @Column(name = "created_at")
   private Instant createdAt = Instant.now();
 
-  @ManyToOne(optional = false)
+  // Checked and incremented by every UPDATE; clients see it as the ETag.
+  @Version
+  @Column(nullable = false)
+  private long version;
+
+  // Lazy: responses only need the project id, which the proxy holds without a query.
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
   @JoinColumn(name = "project_id")
+  @OnDelete(action = OnDeleteAction.CASCADE)
   private Project project;
 
   public UUID getId() {
@@ -95,6 +121,14 @@ public class Task {
     return createdAt;
   }
 
+  public long getVersion() {
+    return version;
+  }
+
+  public void setVersion(long version) {
+    this.version = version;
+  }
+
   public Project getProject() {
     return project;
   }
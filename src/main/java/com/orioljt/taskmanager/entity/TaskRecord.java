@@ -0,0 +1,79 @@
+package com.orioljt.taskmanager.entity;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Subselect;
+import org.hibernate.annotations.Synchronize;
+
+/**
+ * Read-only view of the summary columns of both tiers, hot {@code tasks} and cold {@code
+ * tasks_archive}, for listings with {@code includeArchived=true}. Property names match {@link
+ * Task}, so the same specifications and sorts apply. PostgreSQL pushes the project predicate into
+ * both branches of the UNION ALL and merges two index scans when sorting.
+ */
+@Entity
+@Immutable
+@Subselect(
+    "select id, title, status, priority, due_date, project_id, created_at, version from tasks"
+        + " union all"
+        + " select id, title, status, priority, due_date, project_id, created_at, version"
+        + " from tasks_archive")
+@Synchronize({"tasks", "tasks_archive"})
+public class TaskRecord {
+
+  @Id private UUID id;
+
+  private String title;
+
+  @Enumerated(EnumType.STRING)
+  private TaskStatus status;
+
+  private Integer priority;
+
+  @Column(name = "due_date")
+  private LocalDate dueDate;
+
+  @Column(name = "created_at")
+  private Instant createdAt;
+
+  private long version;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "project_id")
+  private Project project;
+
+  public UUID getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public TaskStatus getStatus() {
+    return status;
+  }
+
+  public Integer getPriority() {
+    return priority;
+  }
+
+  public LocalDate getDueDate() {
+    return dueDate;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public Project getProject() {
+    return project;
+  }
+}
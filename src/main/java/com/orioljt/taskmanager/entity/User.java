@@ -1,15 +1,21 @@
 package com.orioljt.taskmanager.entity;
 
+import com.orioljt.taskmanager.config.SecondLevelCacheConfig;
+import com.orioljt.taskmanager.entity.id.UuidV7;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import java.time.Instant;
 import java.util.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS)
 public class User implements Persistable<UUID> {
 
   @Id private UUID id;
@@ -112,7 +118,7 @@ public class User implements Persistable<UUID> {
   @PrePersist
   void ensureId() {
     if (this.id == null) {
-      this.id = UUID.randomUUID();
+      this.id = UuidV7.randomUuid();
     }
   }
 }
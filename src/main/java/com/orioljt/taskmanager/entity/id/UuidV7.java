@@ -0,0 +1,44 @@
+package com.orioljt.taskmanager.entity.id;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time-ordered UUIDv7 identifiers (RFC 9562).
+ *
+ * <p>The top 48 bits hold the Unix epoch milliseconds and the 12 {@code rand_a} bits a counter
+ * within the millisecond, so ids from this JVM are strictly increasing even when the clock stalls
+ * or steps back. The remaining 62 bits are random. Consecutive inserts therefore land on the
+ * rightmost primary-key B-tree page instead of a random one.
+ */
+public final class UuidV7 {
+  private UuidV7() {}
+
+  private static final long VERSION_7 = 0x7000L;
+  private static final long VARIANT_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+  private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+  // (epoch millis << 12) | counter of the last id handed out
+  private static final AtomicLong LAST = new AtomicLong();
+  private static final ThreadLocal<SecureRandom> RANDOM =
+      ThreadLocal.withInitial(SecureRandom::new);
+
+  /** Returns a new UUIDv7 for the current time. */
+  public static UUID randomUuid() {
+    return generate(System.currentTimeMillis());
+  }
+
+  static UUID generate(long epochMillis) {
+    long floor = epochMillis << 12;
+    long state = LAST.updateAndGet(prev -> Math.max(prev + 1, floor));
+    long msb = ((state >>> 12) << 16) | VERSION_7 | (state & 0xFFF);
+    long lsb = (RANDOM.get().nextLong() & VARIANT_MASK) | VARIANT_RFC;
+    return new UUID(msb, lsb);
+  }
+
+  /** Returns the Unix epoch milliseconds embedded in a UUIDv7. */
+  public static long timestamp(UUID uuid) {
+    return uuid.getMostSignificantBits() >>> 16;
+  }
+}
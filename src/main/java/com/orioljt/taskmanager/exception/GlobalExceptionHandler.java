@@ -1,5 +1,6 @@
 package com.orioljt.taskmanager.exception;
 
+import com.orioljt.taskmanager.deadline.RequestDeadline;
 import com.orioljt.taskmanager.dto.ErrorResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -7,11 +8,15 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -28,6 +33,40 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     return build(HttpStatus.NOT_FOUND, ex.getMessage(), null);
   }
 
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<Object> handleBadRequest(BadRequestException ex) {
+    return build(HttpStatus.BAD_REQUEST, ex.getMessage(), null);
+  }
+
+  @ExceptionHandler(PreconditionFailedException.class)
+  public ResponseEntity<Object> handlePreconditionFailed(PreconditionFailedException ex) {
+    return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), null);
+  }
+
+  /** A concurrent write won between our read and our flush, and the client sent no If-Match. */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<Object> handleOptimisticLock(OptimisticLockingFailureException ex) {
+    return build(HttpStatus.CONFLICT, "Concurrent modification, reload and retry", null);
+  }
+
+  /** The request ran out of its deadline; the statement in flight was cancelled. */
+  @ExceptionHandler({TransactionTimedOutException.class, QueryTimeoutException.class})
+  public ResponseEntity<Object> handleDeadlineExceeded(Exception ex) {
+    return build(HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded", null);
+  }
+
+  /**
+   * No database connection, e.g. the pool stayed exhausted for its whole connection-timeout; the
+   * client may retry later.
+   */
+  @ExceptionHandler(CannotCreateTransactionException.class)
+  public ResponseEntity<Object> handleUnavailable(CannotCreateTransactionException ex) {
+    if (RequestDeadline.hasExpired()) {
+      return handleDeadlineExceeded(ex);
+    }
+    return build(HttpStatus.SERVICE_UNAVAILABLE, "Database unavailable, retry later", null);
+  }
+
   @Override
   protected ResponseEntity<Object> handleMethodArgumentNotValid(
       @NonNull MethodArgumentNotValidException ex,
@@ -67,6 +106,10 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
   @ExceptionHandler(Exception.class)
   public ResponseEntity<Object> handleGeneric(Exception ex, WebRequest request) {
+    // Timeouts don't surface as one exception type across Hibernate and the drivers.
+    if (RequestDeadline.hasExpired()) {
+      return handleDeadlineExceeded(ex);
+    }
     return build(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error", null);
   }
 
@@ -2,6 +2,7 @@ package com.orioljt.taskmanager.mapper;
 
 import com.orioljt.taskmanager.dto.ProjectRequest;
 import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskCounts;
 import com.orioljt.taskmanager.entity.Project;
 import com.orioljt.taskmanager.entity.User;
 import org.springframework.stereotype.Component;
@@ -12,7 +13,8 @@ public class ProjectMapper {
   public Project toNewEntity(ProjectRequest request, User owner) {
     Project project = new Project();
     project.setName(request.name());
-    owner.addProject(project);
+    // Only the owning side is set to avoid initializing owner.getProjects() on every create.
+    project.setOwner(owner);
     return project;
   }
 
@@ -23,7 +25,18 @@ public class ProjectMapper {
   }
 
   public ProjectResponse toResponse(Project project) {
+    return toResponse(project, null);
+  }
+
+  /** With the project's task counts, or {@code null} when they are not known. */
+  public ProjectResponse toResponse(Project project, TaskCounts taskCounts) {
     return new ProjectResponse(
-        project.getId(), project.getName(), project.getOwner().getId(), project.getCreatedAt());
+        project.getId(),
+        project.getName(),
+        project.getOwner().getId(),
+        project.getCreatedAt(),
+        project.getVersion(),
+        project.getArchivedAt(),
+        taskCounts);
   }
 }
@@ -1,5 +1,6 @@
 package com.orioljt.taskmanager.mapper;
 
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.entity.Project;
@@ -17,11 +18,13 @@ public class TaskMapper {
     task.setStatus(request.status() != null ? request.status() : TaskStatus.TODO);
     task.setPriority(request.priority());
     task.setDueDate(request.dueDate());
-    project.addTask(task);
+    // Only the owning side is set: adding to project.getTasks() would initialize the whole
+    // collection just to insert one row.
+    task.setProject(project);
     return task;
   }
 
-  public void updateEntity(Task task, TaskRequest request) {
+  public void updateEntity(Task task, TaskPatchRequest request) {
     if (request.title() != null) task.setTitle(request.title());
     if (request.description() != null) task.setDescription(request.description());
     if (request.status() != null) task.setStatus(request.status());
@@ -29,6 +32,22 @@ public class TaskMapper {
     if (request.dueDate() != null) task.setDueDate(request.dueDate());
   }
 
+  /**
+   * Response for list pages: everything but the description, so the lazy column is never loaded.
+   */
+  public TaskResponse toSummary(Task task) {
+    return new TaskResponse(
+        task.getId(),
+        task.getTitle(),
+        null,
+        task.getStatus(),
+        task.getPriority(),
+        task.getDueDate(),
+        task.getProject().getId(),
+        task.getCreatedAt(),
+        task.getVersion());
+  }
+
   public TaskResponse toResponse(Task task) {
     return new TaskResponse(
         task.getId(),
@@ -38,6 +57,7 @@ public class TaskMapper {
         task.getPriority(),
         task.getDueDate(),
         task.getProject().getId(),
-        task.getCreatedAt());
+        task.getCreatedAt(),
+        task.getVersion());
   }
 }
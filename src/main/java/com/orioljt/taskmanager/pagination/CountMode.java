@@ -0,0 +1,13 @@
+package com.orioljt.taskmanager.pagination;
+
+/** How the total behind {@code X-Total-Count} is obtained for an offset-paged listing. */
+public enum CountMode {
+  /** Runs a {@code COUNT(*)} with every page. */
+  EXACT,
+  /** Reuses a count cached per owner or project until a write invalidates it or it expires. */
+  CACHED,
+  /** Uses the PostgreSQL planner's row estimate; falls back to an exact count elsewhere. */
+  ESTIMATED,
+  /** Skips counting: the response has no total and links only to neighbouring pages. */
+  NONE
+}
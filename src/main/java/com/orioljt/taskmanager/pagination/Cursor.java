@@ -0,0 +1,75 @@
+package com.orioljt.taskmanager.pagination;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Position of the last row returned by a keyset page: the sort it was produced with, that row's
+ * sort value and its id as tie-breaker.
+ *
+ * <p>Clients only see the opaque URL-safe token produced by {@link #encode()}.
+ *
+ * @param property sorted property
+ * @param direction sort direction
+ * @param value string form of the last row's sort value, or {@code null} when it was NULL
+ * @param id id of the last row
+ */
+public record Cursor(String property, Sort.Direction direction, String value, UUID id) {
+
+  private static final String SEPARATOR = "\n";
+  private static final String NULL_VALUE = "-";
+  private static final String VALUE_PREFIX = "=";
+
+  /** Builds the cursor pointing after a row with the given sort value and id. */
+  public static Cursor after(Sort.Order order, Object value, UUID id) {
+    return new Cursor(
+        order.getProperty(), order.getDirection(), value == null ? null : value.toString(), id);
+  }
+
+  /** The sort this cursor continues. */
+  public Sort.Order order() {
+    return new Sort.Order(direction, property);
+  }
+
+  /** Returns the opaque token handed to clients. */
+  public String encode() {
+    String raw =
+        String.join(
+            SEPARATOR,
+            property,
+            direction.name(),
+            id.toString(),
+            value == null ? NULL_VALUE : VALUE_PREFIX + value);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses a token produced by {@link #encode()}.
+   *
+   * @param token opaque cursor token
+   * @param allowedProperties sort allowlist of the endpoint the token was sent to
+   * @return the decoded cursor
+   * @throws BadRequestException when the token is malformed or sorts by a property that is not
+   *     allowed
+   */
+  public static Cursor decode(String token, Set<String> allowedProperties) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      String[] parts = raw.split(SEPARATOR, 4);
+      if (parts.length != 4 || !allowedProperties.contains(parts[0])) {
+        throw new BadRequestException("Invalid cursor");
+      }
+      String value = parts[3].startsWith(VALUE_PREFIX) ? parts[3].substring(1) : null;
+      return new Cursor(
+          parts[0], Sort.Direction.valueOf(parts[1]), value, UUID.fromString(parts[2]));
+    } catch (IllegalArgumentException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
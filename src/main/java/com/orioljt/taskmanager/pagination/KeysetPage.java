@@ -0,0 +1,43 @@
+package com.orioljt.taskmanager.pagination;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Sort;
+
+/**
+ * One page of a keyset (cursor) listing.
+ *
+ * @param content rows of this page
+ * @param next cursor of the following page, or {@code null} on the last page
+ */
+public record KeysetPage<T>(List<T> content, Cursor next) {
+
+  public boolean hasNext() {
+    return next != null;
+  }
+
+  /**
+   * Builds a page from rows fetched with a limit of {@code size + 1}; the extra row only signals
+   * that another page exists.
+   *
+   * @param rows fetched rows, at most {@code size + 1}
+   * @param size requested page size
+   * @param order sort the rows were fetched with
+   * @param idOf extracts the tie-breaking id of a row
+   * @param mapper converts a row into the response type
+   */
+  public static <E, T> KeysetPage<T> of(
+      List<E> rows, int size, Sort.Order order, Function<E, UUID> idOf, Function<E, T> mapper) {
+    boolean hasNext = rows.size() > size;
+    List<E> page = hasNext ? rows.subList(0, size) : rows;
+    Cursor next = null;
+    if (hasNext) {
+      E last = page.getLast();
+      Object value = new BeanWrapperImpl(last).getPropertyValue(order.getProperty());
+      next = Cursor.after(order, value, idOf.apply(last));
+    }
+    return new KeysetPage<>(page.stream().map(mapper).toList(), next);
+  }
+}
@@ -0,0 +1,100 @@
+package com.orioljt.taskmanager.pagination;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Seek predicates for keyset pagination over entities with a {@code UUID id}.
+ *
+ * <p>Rows are ordered by the sort property and then by {@code id}, so the pair is unique and a
+ * page starts strictly after the cursor. NULL sort values are treated as larger than any other
+ * value, which matches PostgreSQL's default ordering ({@code NULLS LAST} ascending, {@code NULLS
+ * FIRST} descending) and lets the composite (parent, property, id) indexes serve both directions.
+ */
+public final class KeysetSpecifications {
+  private KeysetSpecifications() {}
+
+  /** Sort by {@code order} with {@code id} in the same direction as tie-breaker. */
+  public static Sort sort(Sort.Order order) {
+    Sort sort = Sort.by(order.getDirection(), order.getProperty());
+    return "id".equals(order.getProperty()) ? sort : sort.and(Sort.by(order.getDirection(), "id"));
+  }
+
+  /** Matches the rows that come after {@code cursor} in {@link #sort(Sort.Order)} order. */
+  public static <T> Specification<T> after(Cursor cursor) {
+    return (root, query, cb) -> {
+      boolean ascending = cursor.direction().isAscending();
+      Path<UUID> id = root.get("id");
+      Predicate idAfter =
+          ascending ? cb.greaterThan(id, cursor.id()) : cb.lessThan(id, cursor.id());
+      if ("id".equals(cursor.property())) {
+        return idAfter;
+      }
+
+      Path<Comparable<Object>> path = root.get(cursor.property());
+      if (cursor.value() == null) {
+        Predicate nullTie = cb.and(cb.isNull(path), idAfter);
+        return ascending ? nullTie : cb.or(nullTie, cb.isNotNull(path));
+      }
+
+      Comparable<Object> value = convert(cursor.value(), path.getJavaType());
+      // "value >= last AND (value > last OR id > lastId)" keeps a sargable range on the index.
+      Predicate seek =
+          cb.and(
+              bound(cb, path, value, ascending, true),
+              cb.or(bound(cb, path, value, ascending, false), idAfter));
+      return ascending && isNullable(root, cursor.property()) ? cb.or(seek, cb.isNull(path)) : seek;
+    };
+  }
+
+  private static Predicate bound(
+      CriteriaBuilder cb,
+      Path<Comparable<Object>> path,
+      Comparable<Object> value,
+      boolean ascending,
+      boolean inclusive) {
+    if (ascending) {
+      return inclusive ? cb.greaterThanOrEqualTo(path, value) : cb.greaterThan(path, value);
+    }
+    return inclusive ? cb.lessThanOrEqualTo(path, value) : cb.lessThan(path, value);
+  }
+
+  private static boolean isNullable(Root<?> root, String property) {
+    return root.getModel().getAttribute(property) instanceof SingularAttribute<?, ?> attribute
+        && attribute.isOptional();
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private static Comparable<Object> convert(String raw, Class<?> type) {
+    try {
+      Object value;
+      if (type == String.class) {
+        value = raw;
+      } else if (type == Instant.class) {
+        value = Instant.parse(raw);
+      } else if (type == LocalDate.class) {
+        value = LocalDate.parse(raw);
+      } else if (type == Integer.class) {
+        value = Integer.valueOf(raw);
+      } else if (type == UUID.class) {
+        value = UUID.fromString(raw);
+      } else if (type.isEnum()) {
+        value = Enum.valueOf((Class) type, raw);
+      } else {
+        throw new BadRequestException("Invalid cursor");
+      }
+      return (Comparable<Object>) value;
+    } catch (RuntimeException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.orioljt.taskmanager.pagination;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Supplies the total element count of a listing according to a {@link CountMode}.
+ *
+ * <p>Cached totals are kept per {@link Scope} for {@code app.pagination.count-cache-ttl} and are
+ * dropped by {@link #invalidate(Scope)} when a write changes the scope, both immediately and again
+ * after the writing transaction commits. Estimates come from {@code EXPLAIN} on PostgreSQL.
+ */
+@Component
+public class TotalCounter {
+
+  private static final Logger log = LoggerFactory.getLogger(TotalCounter.class);
+  private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+  /** The set of rows a listing counts: one owner's projects or one project's tasks. */
+  public record Scope(String table, String column, UUID value) {
+    String cacheKey() {
+      return table + ":" + value;
+    }
+  }
+
+  private record CachedTotal(long total, long expiresAtMillis) {}
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+  private final CountMode defaultMode;
+  private final long ttlMillis;
+  private final int maxEntries;
+  private final Map<String, CachedTotal> cache = new ConcurrentHashMap<>();
+  private Clock clock = Clock.systemUTC();
+
+  @Autowired
+  public TotalCounter(
+      JdbcTemplate jdbcTemplate,
+      DatabasePlatform databasePlatform,
+      @Value("${app.pagination.count-mode:EXACT}") CountMode defaultMode,
+      @Value("${app.pagination.count-cache-ttl:PT5M}") Duration ttl,
+      @Value("${app.pagination.count-cache-size:10000}") int maxEntries) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+    this.defaultMode = defaultMode;
+    this.ttlMillis = ttl.toMillis();
+    this.maxEntries = maxEntries;
+  }
+
+  TotalCounter(
+      JdbcTemplate jdbcTemplate,
+      DatabasePlatform databasePlatform,
+      CountMode defaultMode,
+      Duration ttl,
+      int maxEntries,
+      Clock clock) {
+    this(jdbcTemplate, databasePlatform, defaultMode, ttl, maxEntries);
+    this.clock = clock;
+  }
+
+  public static Scope tasksOf(UUID projectId) {
+    return new Scope("tasks", "project_id", projectId);
+  }
+
+  public static Scope projectsOf(UUID ownerId) {
+    return new Scope("projects", "owner_id", ownerId);
+  }
+
+  /** Returns the requested mode, or the configured default when none was requested. */
+  public CountMode resolve(CountMode requested) {
+    return requested != null ? requested : defaultMode;
+  }
+
+  /**
+   * Attaches a total to a slice fetched without counting.
+   *
+   * @param slice page content fetched with a {@code size + 1} look-ahead
+   * @param mode count mode other than {@link CountMode#EXACT}
+   * @param scope rows being counted
+   * @param exactCount exact count query, used to fill the cache or as estimate fallback
+   * @return the slice itself for {@link CountMode#NONE}, otherwise a {@link Page}
+   */
+  public <T> Slice<T> withTotal(
+      Slice<T> slice, CountMode mode, Scope scope, LongSupplier exactCount) {
+    long total =
+        switch (mode) {
+          case NONE -> -1;
+          case CACHED -> cached(scope, exactCount);
+          case ESTIMATED -> estimate(scope).orElseGet(exactCount);
+          case EXACT -> exactCount.getAsLong();
+        };
+    if (total < 0) {
+      return slice;
+    }
+    // A stale or estimated total must still agree with what the slice itself has seen.
+    long seen =
+        slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+    return new PageImpl<>(slice.getContent(), slice.getPageable(), Math.max(total, seen));
+  }
+
+  /** Drops the cached total of {@code scope}, now and once the current transaction commits. */
+  public void invalidate(Scope scope) {
+    String key = scope.cacheKey();
+    cache.remove(key);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              cache.remove(key);
+            }
+          });
+    }
+  }
+
+  private long cached(Scope scope, LongSupplier exactCount) {
+    long now = clock.millis();
+    CachedTotal hit = cache.get(scope.cacheKey());
+    if (hit != null && hit.expiresAtMillis() > now) {
+      return hit.total();
+    }
+    long total = exactCount.getAsLong();
+    if (cache.size() >= maxEntries) {
+      cache.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+      if (cache.size() >= maxEntries) {
+        cache.clear();
+      }
+    }
+    cache.put(scope.cacheKey(), new CachedTotal(total, now + ttlMillis));
+    return total;
+  }
+
+  private OptionalLong estimate(Scope scope) {
+    if (!databasePlatform.isPostgres()) {
+      return OptionalLong.empty();
+    }
+    String sql =
+        "EXPLAIN (FORMAT JSON) SELECT 1 FROM "
+            + scope.table()
+            + " WHERE "
+            + scope.column()
+            + " = ?";
+    try {
+      String plan = jdbcTemplate.queryForObject(sql, String.class, scope.value());
+      Matcher matcher = PLAN_ROWS.matcher(plan == null ? "" : plan);
+      return matcher.find()
+          ? OptionalLong.of(Long.parseLong(matcher.group(1)))
+          : OptionalLong.empty();
+    } catch (DataAccessException ex) {
+      log.warn("Row estimate for {} failed; falling back to an exact count.", scope.table(), ex);
+      return OptionalLong.empty();
+    }
+  }
+}
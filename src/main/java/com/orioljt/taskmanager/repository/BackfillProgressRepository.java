@@ -0,0 +1,29 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.BackfillProgressResponse;
+import com.orioljt.taskmanager.entity.BackfillProgress;
+import jakarta.persistence.LockModeType;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BackfillProgressRepository extends JpaRepository<BackfillProgress, String> {
+
+  String RESPONSE =
+      "select new com.orioljt.taskmanager.dto.BackfillProgressResponse(b.name, b.status,"
+          + " b.lastKey, b.rowsDone, b.chunksDone, b.startedAt, b.updatedAt, b.finishedAt,"
+          + " b.lastError) from BackfillProgress b";
+
+  /** Locks the row until the commit; instances running the same backfill take turns on it. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select b from BackfillProgress b where b.name = :name")
+  Optional<BackfillProgress> lockByName(String name);
+
+  @Query(RESPONSE + " order by b.startedAt desc, b.name")
+  List<BackfillProgressResponse> findResponses();
+
+  @Query(RESPONSE + " where b.name = :name")
+  Optional<BackfillProgressResponse> findResponseByName(String name);
+}
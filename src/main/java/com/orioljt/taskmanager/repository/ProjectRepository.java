@@ -1,17 +1,101 @@
 package com.orioljt.taskmanager.repository;
 
+import com.orioljt.taskmanager.dto.ProjectResponse;
 import com.orioljt.taskmanager.entity.Project;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
-public interface ProjectRepository extends JpaRepository<Project, UUID> {
-  List<Project> findAllByOwnerId(UUID ownerId);
+public interface ProjectRepository
+    extends JpaRepository<Project, UUID>, JpaSpecificationExecutor<Project> {
 
-  Page<Project> findAllByOwnerId(UUID ownerId, Pageable pageable);
+  /**
+   * Rows read straight into {@link ProjectResponse}s; {@code p.owner.id} is the foreign key, so
+   * neither the owner nor a managed project is loaded. The task counts come from the project's
+   * {@code project_stats} row, joined on its primary key.
+   */
+  String RESPONSES =
+      "select new com.orioljt.taskmanager.dto.ProjectResponse(p.id, p.name, p.owner.id,"
+          + " p.createdAt, p.version, p.archivedAt, s.taskCount, s.todoCount, s.inProgressCount,"
+          + " s.doneCount, s.priority1Count, s.priority2Count, s.priority3Count)"
+          + " from Project p left join ProjectStats s on s.projectId = p.id";
 
+  /**
+   * The owner's projects, leaving out those {@code ProjectDeletionJob} is deleting: from the moment
+   * a background deletion is accepted the project is gone for its owner.
+   */
+  String OF_OWNER = " where p.owner.id = :ownerId and p.deletingAt is null";
+
+  /** The owner's projects that are not archived, which is what the listings show by default. */
+  String ACTIVE_OF_OWNER = OF_OWNER + " and p.archivedAt is null";
+
+  @Query(RESPONSES + ACTIVE_OF_OWNER)
+  List<ProjectResponse> findResponsesByOwnerId(UUID ownerId);
+
+  @Query(
+      value = RESPONSES + ACTIVE_OF_OWNER,
+      countQuery = "select count(p) from Project p" + ACTIVE_OF_OWNER)
+  Page<ProjectResponse> findResponsesByOwnerId(UUID ownerId, Pageable pageable);
+
+  /** Same rows as {@link #findResponsesByOwnerId(UUID, Pageable)} without the count query. */
+  @Query(RESPONSES + ACTIVE_OF_OWNER)
+  Slice<ProjectResponse> findResponseSliceByOwnerId(UUID ownerId, Pageable pageable);
+
+  /** Counts the owner's projects that are not archived. */
+  @Query("select count(p) from Project p" + ACTIVE_OF_OWNER)
+  long countByOwnerId(UUID ownerId);
+
+  /** Every project of the owner, archived ones included. */
+  @Query(
+      value = RESPONSES + OF_OWNER,
+      countQuery = "select count(p) from Project p" + OF_OWNER)
+  Page<ProjectResponse> findAllResponsesByOwnerId(UUID ownerId, Pageable pageable);
+
+  @Query("select p from Project p" + OF_OWNER + " and p.id = :id")
   Optional<Project> findByIdAndOwnerId(UUID id, UUID ownerId);
+
+  @Query(RESPONSES + OF_OWNER + " and p.id = :id")
+  Optional<ProjectResponse> findResponseByIdAndOwnerId(UUID id, UUID ownerId);
+
+  /**
+   * Reads only the owner foreign key; backs {@code ProjectOwnershipCache}. A project being deleted
+   * has no owner any more, so no task can be read or written through it.
+   */
+  @Query("select p.owner.id from Project p where p.id = :id and p.deletingAt is null")
+  Optional<UUID> findOwnerIdById(UUID id);
+
+  /**
+   * Marks the owner's project as being deleted in the background; returns 0 when it is not the
+   * owner's or is already marked, so only one request hands it to the job.
+   */
+  @Modifying
+  @Query(
+      "update Project p set p.deletingAt = :now"
+          + " where p.id = :id and p.owner.id = :ownerId and p.deletingAt is null")
+  int markDeleting(UUID id, UUID ownerId, Instant now);
+
+  /** Whether the owner's project is already being deleted in the background. */
+  boolean existsByIdAndOwnerIdAndDeletingAtIsNotNull(UUID id, UUID ownerId);
+
+  /** Projects whose background deletion has not finished, oldest first. */
+  @Query("select p.id from Project p where p.deletingAt is not null order by p.deletingAt")
+  List<UUID> findDeletingIds();
+
+  /** Deletes a project marked by {@link #markDeleting}, once its tasks are gone. */
+  @Modifying
+  @Query("delete from Project p where p.id = :id and p.deletingAt is not null")
+  int deleteDeletingById(UUID id);
+
+  /** Deletes the project in one statement; its tasks go with it through ON DELETE CASCADE. */
+  @Modifying
+  @Query("delete from Project p where p.id = :id and p.owner.id = :ownerId")
+  int deleteByIdAndOwnerId(UUID id, UUID ownerId);
 }
@@ -0,0 +1,23 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.entity.Project;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Reusable {@link Specification}s for {@link Project} queries. */
+public final class ProjectSpecifications {
+  private ProjectSpecifications() {}
+
+  public static Specification<Project> ownedBy(UUID ownerId) {
+    return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+  }
+
+  /** Leaves out projects that {@code ProjectDeletionJob} is deleting. */
+  public static Specification<Project> notDeleting() {
+    return (root, query, cb) -> cb.isNull(root.get("deletingAt"));
+  }
+
+  public static Specification<Project> notArchived() {
+    return (root, query, cb) -> cb.isNull(root.get("archivedAt"));
+  }
+}
@@ -0,0 +1,81 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.ProjectStats;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import jakarta.persistence.LockModeType;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ProjectStatsRepository extends JpaRepository<ProjectStats, UUID> {
+
+  /** One (project, status, priority) group of {@link #countTasks}. */
+  interface TaskGroup {
+    UUID getProjectId();
+
+    TaskStatus getStatus();
+
+    Integer getPriority();
+
+    long getTasks();
+  }
+
+  /**
+   * Adds {@code delta} to the project's counts in one relative UPDATE, so concurrent writers never
+   * overwrite each other; returns 0 when the project has no row yet.
+   */
+  default int add(UUID projectId, TaskCounts delta) {
+    return add(
+        projectId,
+        delta.total(),
+        delta.todo(),
+        delta.inProgress(),
+        delta.done(),
+        delta.priority1(),
+        delta.priority2(),
+        delta.priority3());
+  }
+
+  @Modifying
+  @Query(
+      "update ProjectStats s set s.taskCount = s.taskCount + :total,"
+          + " s.todoCount = s.todoCount + :todo,"
+          + " s.inProgressCount = s.inProgressCount + :inProgress,"
+          + " s.doneCount = s.doneCount + :done,"
+          + " s.priority1Count = s.priority1Count + :priority1,"
+          + " s.priority2Count = s.priority2Count + :priority2,"
+          + " s.priority3Count = s.priority3Count + :priority3"
+          + " where s.projectId = :projectId")
+  int add(
+      UUID projectId,
+      long total,
+      long todo,
+      long inProgress,
+      long done,
+      long priority1,
+      long priority2,
+      long priority3);
+
+  /** Locks the rows of the given projects; writers adjusting them wait until the commit. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select s from ProjectStats s where s.projectId in :projectIds")
+  List<ProjectStats> lockAllById(Collection<UUID> projectIds);
+
+  /** Counts the tasks of the given projects, hot and archived, by status and priority. */
+  @Query(
+      "select r.project.id as projectId, r.status as status, r.priority as priority,"
+          + " count(r) as tasks from TaskRecord r where r.project.id in :projectIds"
+          + " group by r.project.id, r.status, r.priority")
+  List<TaskGroup> countTasks(Collection<UUID> projectIds);
+
+  /** Project ids in id order after {@code afterId}, archived projects included. */
+  @Query(
+      value = "SELECT id FROM projects WHERE id > :afterId ORDER BY id LIMIT :limit",
+      nativeQuery = true)
+  List<UUID> findProjectIds(UUID afterId, int limit);
+}
@@ -0,0 +1,147 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.entity.ArchivedTask;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+/**
+ * Set-based moves between the hot {@code tasks} table and the cold {@code tasks_archive} table.
+ * A move copies rows and then deletes them from the source, so both statements must run in the
+ * same transaction; the {@code lock...} selects take row locks first, so writers racing with a
+ * move wait for it and then find the task gone instead of updating a row already copied.
+ *
+ * <p>Modifying statements declare the tables they touch as query spaces so Hibernate doesn't clear
+ * every second-level cache region, as it does for native updates touching unknown tables.
+ */
+public interface TaskArchiveRepository extends JpaRepository<ArchivedTask, UUID> {
+
+  /** Columns shared by both tables, in the same order on both sides of a move. */
+  String COLUMNS =
+      "id, title, description, status, priority, due_date, project_id, created_at, version";
+
+  /**
+   * Projects not archived yet nor being deleted, in id order after {@code afterId}, that were
+   * created before {@code since} and have no task created since then.
+   */
+  @Query(
+      value =
+          "SELECT p.id FROM projects p WHERE p.archived_at IS NULL AND p.deleting_at IS NULL"
+              + " AND p.id > :afterId"
+              + " AND p.created_at < :since AND NOT EXISTS"
+              + " (SELECT 1 FROM tasks t WHERE t.project_id = p.id AND t.created_at >= :since)"
+              + " ORDER BY p.id LIMIT :limit",
+      nativeQuery = true)
+  List<UUID> findInactiveProjectIds(UUID afterId, Instant since, int limit);
+
+  /** Projects not archived yet nor being deleted, in id order after {@code afterId}. */
+  @Query(
+      value =
+          "SELECT id FROM projects WHERE archived_at IS NULL AND deleting_at IS NULL"
+              + " AND id > :afterId"
+              + " ORDER BY id LIMIT :limit",
+      nativeQuery = true)
+  List<UUID> findActiveProjectIds(UUID afterId, int limit);
+
+  /** Locks up to {@code limit} DONE tasks of the project created before {@code before}. */
+  @Query(
+      value =
+          "SELECT id FROM tasks WHERE project_id = :projectId AND status = 'DONE'"
+              + " AND created_at < :before ORDER BY id LIMIT :limit FOR UPDATE",
+      nativeQuery = true)
+  List<UUID> lockDoneTaskIds(UUID projectId, Instant before, int limit);
+
+  /** Locks up to {@code limit} tasks of the project, whatever their status. */
+  @Query(
+      value =
+          "SELECT id FROM tasks WHERE project_id = :projectId"
+              + " ORDER BY id LIMIT :limit FOR UPDATE",
+      nativeQuery = true)
+  List<UUID> lockTaskIds(UUID projectId, int limit);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+  @Query(
+      value =
+          "INSERT INTO tasks_archive ("
+              + COLUMNS
+              + ", archived_at) SELECT "
+              + COLUMNS
+              + ", CURRENT_TIMESTAMP FROM tasks WHERE id IN (:ids)",
+      nativeQuery = true)
+  int copyToArchive(Collection<UUID> ids);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+  @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+  int deleteTasks(Collection<UUID> ids);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+  @Query(
+      value =
+          "INSERT INTO tasks ("
+              + COLUMNS
+              + ") SELECT "
+              + COLUMNS
+              + " FROM tasks_archive WHERE id = :taskId AND project_id = :projectId",
+      nativeQuery = true)
+  int restoreTask(UUID taskId, UUID projectId);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+  @Query(
+      value = "DELETE FROM tasks_archive WHERE id = :taskId AND project_id = :projectId",
+      nativeQuery = true)
+  int deleteArchivedTask(UUID taskId, UUID projectId);
+
+  /** Locks up to {@code limit} archived tasks of the project. */
+  @Query(
+      value =
+          "SELECT id FROM tasks_archive WHERE project_id = :projectId"
+              + " ORDER BY id LIMIT :limit FOR UPDATE",
+      nativeQuery = true)
+  List<UUID> lockArchivedTaskIds(UUID projectId, int limit);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+  @Query(
+      value =
+          "INSERT INTO tasks ("
+              + COLUMNS
+              + ") SELECT "
+              + COLUMNS
+              + " FROM tasks_archive WHERE id IN (:ids)",
+      nativeQuery = true)
+  int restoreTasks(Collection<UUID> ids);
+
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+  @Query(value = "DELETE FROM tasks_archive WHERE id IN (:ids)", nativeQuery = true)
+  int deleteArchivedTasks(Collection<UUID> ids);
+
+  /** Counts the project's archived tasks but stops at {@code limit}, like the live count. */
+  @Query(
+      value =
+          "SELECT COUNT(*) FROM"
+              + " (SELECT 1 FROM tasks_archive WHERE project_id = :projectId LIMIT :limit) t",
+      nativeQuery = true)
+  long countByProjectIdUpTo(UUID projectId, int limit);
+
+  /** Deletes at most {@code limit} archived tasks of the project; returns how many were removed. */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks_archive"))
+  @Query(
+      value =
+          "DELETE FROM tasks_archive WHERE id IN"
+              + " (SELECT id FROM tasks_archive WHERE project_id = :projectId LIMIT :limit)",
+      nativeQuery = true)
+  int deleteChunkByProjectId(UUID projectId, int limit);
+}
@@ -0,0 +1,36 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.UUID;
+
+/** Set-based task mutations whose SET and WHERE clauses depend on the request. */
+public interface TaskBulkUpdates {
+
+  /**
+   * What a bulk update did.
+   *
+   * @param updated number of updated rows
+   * @param change how the project's task counts changed, worked out from the values the rows had
+   *     before the update
+   */
+  record Result(int updated, TaskCounts change) {}
+
+  /**
+   * Sets {@code status} and/or {@code priority} on the project's tasks matching every given filter,
+   * in a single statement that also returns the replaced values grouped, so no read precedes it.
+   *
+   * @param ids restricts to these ids when non-empty, like {@code TaskBatchUpdateRequest}
+   * @param dueBefore restricts to tasks due strictly before this date when non-null
+   * @param status new status, or {@code null} to leave it unchanged
+   * @param priority new priority, or {@code null} to leave it unchanged
+   */
+  Result bulkUpdate(
+      UUID projectId,
+      Collection<UUID> ids,
+      LocalDate dueBefore,
+      TaskStatus status,
+      Integer priority);
+}
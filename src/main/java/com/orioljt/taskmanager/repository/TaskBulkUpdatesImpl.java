@@ -0,0 +1,103 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * On PostgreSQL the matching rows are locked first, so the values handed to {@code RETURNING} are
+ * the latest committed ones even when another writer changed a row since the statement started;
+ * other databases (H2 in tests) read them from an {@code OLD TABLE} over the UPDATE. Either way
+ * the replaced values come back grouped, at most one row per status and priority pair.
+ */
+class TaskBulkUpdatesImpl implements TaskBulkUpdates {
+
+  @PersistenceContext private EntityManager em;
+
+  private final DatabasePlatform databasePlatform;
+
+  TaskBulkUpdatesImpl(DatabasePlatform databasePlatform) {
+    this.databasePlatform = databasePlatform;
+  }
+
+  @Override
+  public Result bulkUpdate(
+      UUID projectId,
+      Collection<UUID> ids,
+      LocalDate dueBefore,
+      TaskStatus status,
+      Integer priority) {
+    boolean byIds = ids != null && !ids.isEmpty();
+    StringBuilder where = new StringBuilder("project_id = :projectId");
+    if (byIds) {
+      where.append(" AND id IN (:ids)");
+    }
+    if (dueBefore != null) {
+      where.append(" AND due_date < :dueBefore");
+    }
+    StringBuilder set = new StringBuilder();
+    if (status != null) {
+      set.append("status = :status, ");
+    }
+    if (priority != null) {
+      set.append("priority = :priority, ");
+    }
+    // Bumped like any other write so clients holding the old ETag get 412 on their next PATCH
+    set.append("version = version + 1");
+
+    String sql =
+        databasePlatform.isPostgres()
+            ? "WITH old AS (SELECT id, status, priority FROM tasks WHERE "
+                + where
+                + " FOR UPDATE), changed AS (UPDATE tasks SET "
+                + set
+                + " FROM old WHERE tasks.id = old.id AND tasks.project_id = :projectId"
+                + " RETURNING old.status, old.priority)"
+                + " SELECT status, priority, COUNT(*) FROM changed GROUP BY status, priority"
+            : "SELECT status, priority, COUNT(*) FROM OLD TABLE (UPDATE tasks SET "
+                + set
+                + " WHERE "
+                + where
+                + ") GROUP BY status, priority";
+    Query query =
+        em.createNativeQuery(sql)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, "tasks")
+            .setParameter("projectId", projectId);
+    if (byIds) {
+      query.setParameter("ids", ids);
+    }
+    if (dueBefore != null) {
+      query.setParameter("dueBefore", dueBefore);
+    }
+    if (status != null) {
+      query.setParameter("status", status.name());
+    }
+    if (priority != null) {
+      query.setParameter("priority", priority);
+    }
+
+    int updated = 0;
+    TaskCounts change = TaskCounts.NONE;
+    for (Object row : (List<?>) query.getResultList()) {
+      Object[] group = (Object[]) row;
+      TaskStatus oldStatus = group[0] == null ? null : TaskStatus.valueOf(group[0].toString());
+      Integer oldPriority = group[1] == null ? null : ((Number) group[1]).intValue();
+      long tasks = ((Number) group[2]).longValue();
+      TaskCounts before = new TaskCounts(oldStatus, oldPriority);
+      TaskCounts after =
+          new TaskCounts(
+              status != null ? status : oldStatus, priority != null ? priority : oldPriority);
+      updated += (int) tasks;
+      change = change.plus(after.minus(before).times(tasks));
+    }
+    return new Result(updated, change);
+  }
+}
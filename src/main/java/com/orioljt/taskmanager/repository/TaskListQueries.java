@@ -0,0 +1,26 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/** Listing queries whose WHERE clause depends on the request. */
+public interface TaskListQueries {
+
+  /**
+   * Reads a page of task summaries matching {@code spec} with one Criteria query, straight into
+   * {@link TaskResponse} like {@link TaskRepository#SUMMARIES}.
+   *
+   * @param counted whether to run a count query too; if not, one extra row is read to tell
+   *     whether a next page exists
+   * @return a {@link org.springframework.data.domain.Page} when {@code counted}, a slice otherwise
+   */
+  Slice<TaskResponse> findSummaries(Specification<Task> spec, Pageable pageable, boolean counted);
+
+  /** Like {@link #findSummaries}, over hot and archived tasks alike. */
+  Slice<TaskResponse> findSummariesIncludingArchived(
+      Specification<TaskRecord> spec, Pageable pageable, boolean counted);
+}
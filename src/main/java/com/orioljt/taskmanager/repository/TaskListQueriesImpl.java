@@ -0,0 +1,86 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class TaskListQueriesImpl implements TaskListQueries {
+
+  @PersistenceContext private EntityManager em;
+
+  @Override
+  public Slice<TaskResponse> findSummaries(
+      Specification<Task> spec, Pageable pageable, boolean counted) {
+    return summaries(Task.class, spec, pageable, counted);
+  }
+
+  @Override
+  public Slice<TaskResponse> findSummariesIncludingArchived(
+      Specification<TaskRecord> spec, Pageable pageable, boolean counted) {
+    return summaries(TaskRecord.class, spec, pageable, counted);
+  }
+
+  private <T> Slice<TaskResponse> summaries(
+      Class<T> type, Specification<T> spec, Pageable pageable, boolean counted) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<TaskResponse> select = cb.createQuery(TaskResponse.class);
+    Root<T> task = select.from(type);
+    // Same columns, in the same order, as the summary constructor used by SUMMARIES
+    select.select(
+        cb.construct(
+            TaskResponse.class,
+            task.get("id"),
+            task.get("title"),
+            task.get("status"),
+            task.get("priority"),
+            task.get("dueDate"),
+            task.get("project").get("id"),
+            task.get("createdAt"),
+            task.get("version")));
+    Predicate where = spec.toPredicate(task, select, cb);
+    if (where != null) {
+      select.where(where);
+    }
+    select.orderBy(QueryUtils.toOrders(pageable.getSort(), task, cb));
+
+    TypedQuery<TaskResponse> query = em.createQuery(select);
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset());
+      query.setMaxResults(pageable.getPageSize() + (counted ? 0 : 1));
+    }
+    List<TaskResponse> rows = query.getResultList();
+
+    if (counted) {
+      return PageableExecutionUtils.getPage(rows, pageable, () -> count(type, spec));
+    }
+    boolean hasNext = pageable.isPaged() && rows.size() > pageable.getPageSize();
+    List<TaskResponse> content = hasNext ? rows.subList(0, pageable.getPageSize()) : rows;
+    return new SliceImpl<>(content, pageable, hasNext);
+  }
+
+  private <T> long count(Class<T> type, Specification<T> spec) {
+    CriteriaBuilder cb = em.getCriteriaBuilder();
+    CriteriaQuery<Long> count = cb.createQuery(Long.class);
+    Root<T> task = count.from(type);
+    count.select(cb.count(task));
+    Predicate where = spec.toPredicate(task, count, cb);
+    if (where != null) {
+      count.where(where);
+    }
+    return em.createQuery(count).getSingleResult();
+  }
+}
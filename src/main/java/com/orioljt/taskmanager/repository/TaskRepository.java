@@ -1,17 +1,106 @@
 package com.orioljt.taskmanager.repository;
 
+import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.entity.Task;
+import jakarta.persistence.QueryHint;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+public interface TaskRepository
+    extends JpaRepository<Task, UUID>,
+        JpaSpecificationExecutor<Task>,
+        TaskBulkUpdates,
+        TaskListQueries,
+        TaskReturningWrites {
+
+  /** Rows per round trip when streaming an export. */
+  int EXPORT_FETCH_SIZE = 500;
+
+  /**
+   * List rows read straight into {@link TaskResponse} summaries (no description): no entity is
+   * instantiated, snapshotted for dirty checking or registered in the persistence context.
+   */
+  String SUMMARIES =
+      "select new com.orioljt.taskmanager.dto.TaskResponse(t.id, t.title, t.status, t.priority,"
+          + " t.dueDate, t.project.id, t.createdAt, t.version) from Task t";
 
-public interface TaskRepository extends JpaRepository<Task, UUID> {
   List<Task> findAllByProjectIdOrderByCreatedAtDesc(UUID projectId);
 
-  Page<Task> findAllByProjectId(UUID projectId, Pageable pageable);
+  /**
+   * Streams the project's tasks newest first, already mapped to responses so no entity enters the
+   * persistence context. Must be consumed, and closed, inside a transaction.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query(
+      "select new com.orioljt.taskmanager.dto.TaskResponse(t.id, t.title, t.description,"
+          + " t.status, t.priority, t.dueDate, t.project.id, t.createdAt, t.version)"
+          + " from Task t where t.project.id = :projectId order by t.createdAt desc, t.id desc")
+  Stream<TaskResponse> streamByProjectId(UUID projectId);
+
+  @Query(SUMMARIES + " where t.project.id = :projectId order by t.createdAt desc")
+  List<TaskResponse> findSummariesByProjectId(UUID projectId);
+
+  @Query(
+      value = SUMMARIES + " where t.project.id = :projectId",
+      countQuery = "select count(t) from Task t where t.project.id = :projectId")
+  Page<TaskResponse> findSummariesByProjectId(UUID projectId, Pageable pageable);
+
+  /** Same rows as {@link #findSummariesByProjectId(UUID, Pageable)} without the count query. */
+  @Query(SUMMARIES + " where t.project.id = :projectId")
+  Slice<TaskResponse> findSummarySliceByProjectId(UUID projectId, Pageable pageable);
+
+  long countByProjectId(UUID projectId);
+
+  /**
+   * Loads a task of the given project only when that project belongs to {@code ownerId}. The
+   * ownership check is part of the same statement, and neither the project nor its owner is
+   * loaded.
+   */
+  @Query(
+      "select t from Task t where t.id = :taskId and t.project.id = :projectId"
+          + " and t.project.owner.id = :ownerId")
+  Optional<Task> findOwned(UUID taskId, UUID projectId, UUID ownerId);
+
+  /** Like {@link #findOwned} but reads the response columns directly, description included. */
+  @Query(
+      "select new com.orioljt.taskmanager.dto.TaskResponse(t.id, t.title, t.description,"
+          + " t.status, t.priority, t.dueDate, t.project.id, t.createdAt, t.version)"
+          + " from Task t where t.id = :taskId and t.project.id = :projectId"
+          + " and t.project.owner.id = :ownerId")
+  Optional<TaskResponse> findOwnedResponse(UUID taskId, UUID projectId, UUID ownerId);
+
+  /** Counts the project's tasks but stops at {@code limit}, so huge projects stay cheap. */
+  @Query(
+      value =
+          "SELECT COUNT(*) FROM (SELECT 1 FROM tasks WHERE project_id = :projectId LIMIT :limit) t",
+      nativeQuery = true)
+  long countByProjectIdUpTo(UUID projectId, int limit);
 
-  Optional<Task> findByIdAndProjectId(UUID taskId, UUID projectId);
+  /**
+   * Deletes at most {@code limit} tasks of the project; returns how many were removed. Declares
+   * {@code tasks} as its only query space so Hibernate doesn't clear every second-level cache
+   * region, as it does for native updates touching unknown tables.
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tasks"))
+  @Query(
+      value =
+          "DELETE FROM tasks WHERE id IN"
+              + " (SELECT id FROM tasks WHERE project_id = :projectId LIMIT :limit)",
+      nativeQuery = true)
+  int deleteChunkByProjectId(UUID projectId, int limit);
 }
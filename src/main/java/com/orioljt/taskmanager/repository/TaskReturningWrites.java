@@ -0,0 +1,33 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-statement task writes that also return what they replaced, so the project's task counts
+ * can be adjusted without reading the row first.
+ */
+public interface TaskReturningWrites {
+
+  /**
+   * Compare-and-set status change: one UPDATE that applies only while the task still has one of
+   * {@code versions}, and bumps it. The statement returns the status it replaced.
+   *
+   * @param versions versions the caller accepts; must not be empty
+   * @return the change to the project's task counts, or empty when the task is missing, in another
+   *     project or has moved on
+   */
+  Optional<TaskCounts> updateStatusIfVersion(
+      UUID taskId, UUID projectId, TaskStatus status, Collection<Long> versions);
+
+  /**
+   * Deletes a task of an owned project in one statement, which returns the deleted row's status
+   * and priority.
+   *
+   * @return what the task counted for in the project's task counts, or empty if nothing matched
+   */
+  Optional<TaskCounts> deleteOwned(UUID taskId, UUID projectId, UUID ownerId);
+}
@@ -0,0 +1,88 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+
+/**
+ * On PostgreSQL the old values come from {@code RETURNING}; other databases (H2 in tests) read
+ * them from an {@code OLD TABLE} over the statement. The statements run as native queries that
+ * return rows, so they declare {@code tasks} as their query space for Hibernate's auto-flush.
+ */
+class TaskReturningWritesImpl implements TaskReturningWrites {
+
+  private static final String POSTGRES_SET_STATUS =
+      "UPDATE tasks t SET status = :status, version = t.version + 1 FROM tasks old"
+          + " WHERE old.id = t.id AND t.id = :taskId AND t.project_id = :projectId"
+          + " AND t.version IN (:versions) RETURNING old.status";
+
+  private static final String FALLBACK_SET_STATUS =
+      "SELECT status FROM OLD TABLE (UPDATE tasks SET status = :status, version = version + 1"
+          + " WHERE id = :taskId AND project_id = :projectId AND version IN (:versions))";
+
+  private static final String POSTGRES_DELETE_OWNED =
+      "DELETE FROM tasks t USING projects p WHERE t.id = :taskId AND t.project_id = :projectId"
+          + " AND p.id = t.project_id AND p.owner_id = :ownerId RETURNING t.status, t.priority";
+
+  private static final String FALLBACK_DELETE_OWNED =
+      "SELECT status, priority FROM OLD TABLE (DELETE FROM tasks WHERE id = :taskId"
+          + " AND project_id = :projectId"
+          + " AND project_id IN (SELECT id FROM projects WHERE owner_id = :ownerId))";
+
+  @PersistenceContext private EntityManager em;
+
+  private final DatabasePlatform databasePlatform;
+
+  TaskReturningWritesImpl(DatabasePlatform databasePlatform) {
+    this.databasePlatform = databasePlatform;
+  }
+
+  @Override
+  public Optional<TaskCounts> updateStatusIfVersion(
+      UUID taskId, UUID projectId, TaskStatus status, Collection<Long> versions) {
+    String sql = databasePlatform.isPostgres() ? POSTGRES_SET_STATUS : FALLBACK_SET_STATUS;
+    List<?> replaced =
+        em.createNativeQuery(sql)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, "tasks")
+            .setParameter("status", status.name())
+            .setParameter("taskId", taskId)
+            .setParameter("projectId", projectId)
+            .setParameter("versions", versions)
+            .getResultList();
+    if (replaced.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new TaskCounts(status, null).minus(new TaskCounts(statusOf(replaced.get(0)), null)));
+  }
+
+  @Override
+  public Optional<TaskCounts> deleteOwned(UUID taskId, UUID projectId, UUID ownerId) {
+    String sql = databasePlatform.isPostgres() ? POSTGRES_DELETE_OWNED : FALLBACK_DELETE_OWNED;
+    List<?> deleted =
+        em.createNativeQuery(sql)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, "tasks")
+            .setParameter("taskId", taskId)
+            .setParameter("projectId", projectId)
+            .setParameter("ownerId", ownerId)
+            .getResultList();
+    if (deleted.isEmpty()) {
+      return Optional.empty();
+    }
+    Object[] row = (Object[]) deleted.get(0);
+    Number priority = (Number) row[1];
+    return Optional.of(
+        new TaskCounts(statusOf(row[0]), priority == null ? null : priority.intValue()));
+  }
+
+  private static TaskStatus statusOf(Object column) {
+    return column == null ? null : TaskStatus.valueOf(column.toString());
+  }
+}
@@ -0,0 +1,107 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Ranked search over the titles and descriptions of an owner's tasks. On PostgreSQL the query is
+ * matched against the {@code search_vector} column with {@code websearch_to_tsquery} (so quoted
+ * phrases, {@code or} and {@code -word} work) and ranked with {@code ts_rank_cd}; other databases
+ * (H2 in tests) get a case-insensitive substring match that ranks title hits above description
+ * hits. Either way rows come back by score, then id, both descending, so pages can continue from
+ * the last (score, id) pair.
+ */
+@Repository
+public class TaskSearchRepository {
+
+  private static final String COLUMNS =
+      "t.id, t.title, t.status, t.priority, t.due_date, t.project_id, t.created_at, t.version";
+
+  private static final String POSTGRES_SQL =
+      "SELECT * FROM (SELECT "
+          + COLUMNS
+          + ", ts_rank_cd(t.search_vector, query) AS score"
+          + " FROM tasks t JOIN projects p ON p.id = t.project_id,"
+          + " websearch_to_tsquery('english', ?) query"
+          + " WHERE p.owner_id = ? AND p.deleting_at IS NULL AND t.search_vector @@ query) s";
+
+  private static final String FALLBACK_SQL =
+      "SELECT * FROM (SELECT "
+          + COLUMNS
+          + ", CASE WHEN lower(t.title) LIKE ? ESCAPE '\\' THEN 2.0 ELSE 1.0 END AS score"
+          + " FROM tasks t JOIN projects p ON p.id = t.project_id"
+          + " WHERE p.owner_id = ? AND p.deleting_at IS NULL"
+          + " AND (lower(t.title) LIKE ? ESCAPE '\\'"
+          + " OR lower(t.description) LIKE ? ESCAPE '\\')) s";
+
+  private static final String AFTER = " WHERE s.score < ? OR (s.score = ? AND s.id < ?)";
+  private static final String ORDER = " ORDER BY s.score DESC, s.id DESC LIMIT ?";
+
+  /** A matching task, as a summary without description, and its relevance. */
+  public record Hit(TaskResponse task, float score) {}
+
+  private final JdbcTemplate jdbcTemplate;
+  private final DatabasePlatform databasePlatform;
+
+  public TaskSearchRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.databasePlatform = databasePlatform;
+  }
+
+  /**
+   * Returns up to {@code limit} of the owner's tasks matching {@code query}, best first.
+   *
+   * @param afterScore score of the last hit of the previous page, or {@code null} for the first
+   * @param afterId id of the last hit of the previous page; ignored without {@code afterScore}
+   */
+  public List<Hit> search(UUID ownerId, String query, Float afterScore, UUID afterId, int limit) {
+    List<Object> args = new ArrayList<>();
+    StringBuilder sql = new StringBuilder();
+    if (databasePlatform.isPostgres()) {
+      sql.append(POSTGRES_SQL);
+      args.add(query);
+      args.add(ownerId);
+    } else {
+      String pattern = "%" + TaskSpecifications.escapeLike(query.toLowerCase(Locale.ROOT)) + "%";
+      sql.append(FALLBACK_SQL);
+      args.add(pattern);
+      args.add(ownerId);
+      args.add(pattern);
+      args.add(pattern);
+    }
+    if (afterScore != null) {
+      sql.append(AFTER);
+      args.add(afterScore);
+      args.add(afterScore);
+      args.add(afterId);
+    }
+    sql.append(ORDER);
+    args.add(limit);
+    return jdbcTemplate.query(sql.toString(), (rs, i) -> hit(rs), args.toArray());
+  }
+
+  private static Hit hit(ResultSet rs) throws SQLException {
+    String status = rs.getString("status");
+    TaskResponse task =
+        new TaskResponse(
+            rs.getObject("id", UUID.class),
+            rs.getString("title"),
+            status == null ? null : TaskStatus.valueOf(status),
+            rs.getObject("priority", Integer.class),
+            rs.getObject("due_date", LocalDate.class),
+            rs.getObject("project_id", UUID.class),
+            rs.getTimestamp("created_at").toInstant(),
+            rs.getLong("version"));
+    return new Hit(task, rs.getFloat("score"));
+  }
+}
@@ -0,0 +1,69 @@
+package com.orioljt.taskmanager.repository;
+
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskRecord;
+import jakarta.persistence.criteria.Predicate;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable {@link Specification}s for {@link Task} queries, and for {@link TaskRecord} queries
+ * over both tiers, whose properties have the same names.
+ */
+public final class TaskSpecifications {
+  private TaskSpecifications() {}
+
+  public static Specification<Task> inProject(UUID projectId) {
+    return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+  }
+
+  /** Like {@link #inProject}, over hot and archived tasks. */
+  public static Specification<TaskRecord> recordsInProject(UUID projectId) {
+    return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+  }
+
+  /**
+   * ANDs one predicate per non-empty criterion of {@code filter}; {@link TaskFilter#NONE} matches
+   * every task. Titles are compared as {@code lower(title) LIKE}, the expression the trigram index
+   * is built on.
+   */
+  public static <T> Specification<T> matching(TaskFilter filter) {
+    return (root, query, cb) -> {
+      List<Predicate> where = new ArrayList<>();
+      if (!filter.statuses().isEmpty()) {
+        where.add(root.get("status").in(filter.statuses()));
+      }
+      if (filter.priorityMin() != null) {
+        where.add(cb.greaterThanOrEqualTo(root.<Integer>get("priority"), filter.priorityMin()));
+      }
+      if (filter.priorityMax() != null) {
+        where.add(cb.lessThanOrEqualTo(root.<Integer>get("priority"), filter.priorityMax()));
+      }
+      if (filter.dueAfter() != null) {
+        where.add(cb.greaterThan(root.<LocalDate>get("dueDate"), filter.dueAfter()));
+      }
+      if (filter.dueBefore() != null) {
+        where.add(cb.lessThan(root.<LocalDate>get("dueDate"), filter.dueBefore()));
+      }
+      if (filter.createdSince() != null) {
+        where.add(cb.greaterThanOrEqualTo(root.<Instant>get("createdAt"), filter.createdSince()));
+      }
+      if (filter.titleContains() != null) {
+        String pattern = "%" + escapeLike(filter.titleContains().toLowerCase(Locale.ROOT)) + "%";
+        where.add(cb.like(cb.lower(root.<String>get("title")), pattern, '\\'));
+      }
+      return cb.and(where.toArray(Predicate[]::new));
+    };
+  }
+
+  /** Escapes {@code LIKE} wildcards for a pattern used with {@code ESCAPE '\'}. */
+  static String escapeLike(String value) {
+    return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+  }
+}
@@ -1,10 +1,23 @@
 package com.orioljt.taskmanager.repository;
 
+import com.orioljt.taskmanager.config.SecondLevelCacheConfig;
 import com.orioljt.taskmanager.entity.User;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+  /**
+   * Served from the {@code users-by-email} query cache; any write to {@code users} invalidates it.
+   */
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(
+        name = HibernateHints.HINT_CACHE_REGION,
+        value = SecondLevelCacheConfig.USERS_BY_EMAIL)
+  })
   Optional<User> findByEmail(String email);
 }
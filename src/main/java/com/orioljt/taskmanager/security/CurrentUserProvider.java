@@ -52,7 +52,8 @@ public class CurrentUserProvider {
       String sub = jwt.getSubject();
       try {
         UUID uid = UUID.fromString(sub);
-        if (userRepository.existsById(uid)) return uid;
+        // findById rather than existsById: the lookup is then served by the second-level cache
+        if (userRepository.findById(uid).isPresent()) return uid;
       } catch (Exception ignored) {
       }
       String email = jwt.getClaim("email");
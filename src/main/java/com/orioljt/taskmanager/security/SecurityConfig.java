@@ -13,8 +13,9 @@ import org.springframework.security.web.SecurityFilterChain;
 /**
  * Web security configuration for JWT-based authentication and endpoint access rules.
  *
- * <p>Exposes Swagger endpoints without auth, allows anonymous POST on {@code /api/users}, and
- * restricts {@code /api/admin/**} to {@code ROLE_ADMIN}. All other endpoints require
+ * <p>Exposes Swagger endpoints and the health probes ({@code /actuator/health/**}) without auth,
+ * allows anonymous POST on {@code /api/users}, and restricts {@code /api/admin/**} and the other
+ * actuator endpoints (metrics) to {@code ROLE_ADMIN}. All other endpoints require
  * authentication. Adds {@link JwtUserProvisioningFilter} after {@link
  * BearerTokenAuthenticationFilter} to ensure a local user exists for an authenticated JWT.
  */
@@ -43,7 +44,9 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers(org.springframework.http.HttpMethod.POST, "/api/users")
                     .anonymous()
-                    .requestMatchers("/api/admin/**")
+                    .requestMatchers("/actuator/health", "/actuator/health/**")
+                    .permitAll()
+                    .requestMatchers("/api/admin/**", "/actuator/**")
                     .hasRole("ADMIN")
                     .anyRequest()
                     .authenticated())
@@ -0,0 +1,159 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves cold rows out of the hot {@code tasks} table into {@code tasks_archive}, on the {@code
+ * app.archival.cron} schedule:
+ *
+ * <ul>
+ *   <li>projects without a task created within {@code app.archival.inactive-project-age} are
+ *       archived with all their tasks, and drop out of the project listings;
+ *   <li>in every other project, DONE tasks created more than {@code app.archival.done-task-age}
+ *       ago are archived.
+ * </ul>
+ *
+ * <p>Tasks record no completion or modification time, so their age is counted from creation.
+ *
+ * <p>Projects are walked in id order and tasks are moved per project, through the {@code
+ * project_id} indexes, in chunks of {@code app.archival.batch-size}; each chunk is its own short
+ * transaction, so the job never holds locks on much at once and can stop anywhere. Restoring is
+ * {@link ArchiveService}'s job, with {@link ArchiveRestoreJob} moving tasks back the same way.
+ */
+@Component
+public class ArchivalJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ArchivalJob.class);
+
+  /** Sorts before every id; project walks start after it. */
+  private static final UUID FIRST = new UUID(0, 0);
+
+  private final TaskArchiveRepository archiveRepository;
+  private final ProjectRepository projectRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TotalCounter totalCounter;
+  private final Duration doneTaskAge;
+  private final Duration inactiveProjectAge;
+  private final int batchSize;
+
+  public ArchivalJob(
+      TaskArchiveRepository archiveRepository,
+      ProjectRepository projectRepository,
+      TransactionTemplate transactionTemplate,
+      TotalCounter totalCounter,
+      @Value("${app.archival.done-task-age:P90D}") Duration doneTaskAge,
+      @Value("${app.archival.inactive-project-age:P365D}") Duration inactiveProjectAge,
+      @Value("${app.archival.batch-size:1000}") int batchSize) {
+    this.archiveRepository = archiveRepository;
+    this.projectRepository = projectRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.totalCounter = totalCounter;
+    this.doneTaskAge = doneTaskAge;
+    this.inactiveProjectAge = inactiveProjectAge;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(cron = "${app.archival.cron:0 30 3 * * *}")
+  public void run() {
+    Instant now = Instant.now();
+    try {
+      int projects = archiveInactiveProjects(now.minus(inactiveProjectAge));
+      long tasks = archiveDoneTasks(now.minus(doneTaskAge));
+      log.info("Archived {} inactive projects and {} DONE tasks.", projects, tasks);
+    } catch (RuntimeException ex) {
+      log.error("Archival run failed.", ex);
+    }
+  }
+
+  /** Archives every project created before {@code since} without a task created since then. */
+  int archiveInactiveProjects(Instant since) {
+    int archived = 0;
+    UUID after = FIRST;
+    List<UUID> projectIds;
+    do {
+      projectIds = archiveRepository.findInactiveProjectIds(after, since, batchSize);
+      for (UUID projectId : projectIds) {
+        archiveProject(projectId);
+        archived++;
+        after = projectId;
+      }
+    } while (projectIds.size() == batchSize);
+    return archived;
+  }
+
+  /** Archives the DONE tasks created before {@code before} of every project not archived. */
+  long archiveDoneTasks(Instant before) {
+    long moved = 0;
+    UUID after = FIRST;
+    List<UUID> projectIds;
+    do {
+      projectIds = archiveRepository.findActiveProjectIds(after, batchSize);
+      for (UUID projectId : projectIds) {
+        moved +=
+            moveAll(
+                projectId, () -> archiveRepository.lockDoneTaskIds(projectId, before, batchSize));
+        after = projectId;
+      }
+    } while (projectIds.size() == batchSize);
+    return moved;
+  }
+
+  /** Moves all the project's tasks, then marks it archived. */
+  void archiveProject(UUID projectId) {
+    moveAll(projectId, () -> archiveRepository.lockTaskIds(projectId, batchSize));
+    UUID ownerId =
+        transactionTemplate.execute(
+            status ->
+                projectRepository
+                    .findById(projectId)
+                    .map(
+                        project -> {
+                          project.setArchivedAt(Instant.now());
+                          return project.getOwner().getId();
+                        })
+                    .orElse(null));
+    if (ownerId != null) {
+      totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+    }
+  }
+
+  /**
+   * Moves the tasks returned by {@code lockChunk}, one transaction per chunk, until a chunk comes
+   * back short.
+   */
+  private long moveAll(UUID projectId, Supplier<List<UUID>> lockChunk) {
+    long moved = 0;
+    int chunk;
+    do {
+      Integer count =
+          transactionTemplate.execute(
+              status -> {
+                List<UUID> ids = lockChunk.get();
+                if (!ids.isEmpty()) {
+                  archiveRepository.copyToArchive(ids);
+                  archiveRepository.deleteTasks(ids);
+                }
+                return ids.size();
+              });
+      chunk = count == null ? 0 : count;
+      moved += chunk;
+    } while (chunk == batchSize);
+    if (moved > 0) {
+      totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    }
+    return moved;
+  }
+}
@@ -0,0 +1,112 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves a project's archived tasks back into {@code tasks}, the reverse of {@link ArchivalJob}.
+ *
+ * <p>Tasks are moved in chunks of {@code app.archival.batch-size}, each in its own short
+ * transaction when run in the background, so restoring a large project never holds locks on all of
+ * its rows at once. {@link ArchiveService} has already listed the project again by then; a restore
+ * that fails or that a restart interrupts leaves the remaining tasks archived, and unarchiving the
+ * project again picks them up.
+ */
+@Component
+public class ArchiveRestoreJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ArchiveRestoreJob.class);
+
+  private final TaskArchiveRepository archiveRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskExecutor taskExecutor;
+  private final TotalCounter totalCounter;
+  private final int batchSize;
+
+  /** Projects this instance is restoring, so a repeated request doesn't start a second run. */
+  private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+  public ArchiveRestoreJob(
+      TaskArchiveRepository archiveRepository,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+      TotalCounter totalCounter,
+      @Value("${app.archival.batch-size:1000}") int batchSize) {
+    this.archiveRepository = archiveRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.taskExecutor = taskExecutor;
+    this.totalCounter = totalCounter;
+    this.batchSize = batchSize;
+  }
+
+  /** Starts restoring the project's archived tasks once the current transaction commits. */
+  public void schedule(UUID projectId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      taskExecutor.execute(() -> run(projectId));
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            taskExecutor.execute(() -> run(projectId));
+          }
+        });
+  }
+
+  void run(UUID projectId) {
+    if (!running.add(projectId)) {
+      return;
+    }
+    try {
+      long restored = restoreAll(projectId);
+      log.info("Restored {} archived tasks of project {} in the background.", restored, projectId);
+    } catch (RuntimeException ex) {
+      log.error("Background restore of project {} failed.", projectId, ex);
+    } finally {
+      running.remove(projectId);
+    }
+  }
+
+  /**
+   * Moves every archived task of the project back, one transaction per chunk, or within the
+   * caller's transaction if there is one.
+   *
+   * @return how many tasks were moved
+   */
+  long restoreAll(UUID projectId) {
+    long restored = 0;
+    int chunk;
+    do {
+      Integer count =
+          transactionTemplate.execute(
+              status -> {
+                List<UUID> ids = archiveRepository.lockArchivedTaskIds(projectId, batchSize);
+                if (!ids.isEmpty()) {
+                  archiveRepository.restoreTasks(ids);
+                  archiveRepository.deleteArchivedTasks(ids);
+                }
+                return ids.size();
+              });
+      chunk = count == null ? 0 : count;
+      restored += chunk;
+    } while (chunk == batchSize);
+    if (restored > 0) {
+      totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    }
+    return restored;
+  }
+}
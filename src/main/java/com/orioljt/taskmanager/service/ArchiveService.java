@@ -0,0 +1,119 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Restores archived tasks and projects; {@link ArchivalJob} is what archives them. */
+@Service
+@Transactional
+public class ArchiveService {
+
+  private final TaskArchiveRepository archiveRepository;
+  private final TaskRepository taskRepository;
+  private final ProjectRepository projectRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final ProjectMapper projectMapper;
+  private final TotalCounter totalCounter;
+  private final ProjectOwnershipCache ownershipCache;
+  private final ProjectStatsService projectStats;
+  private final ArchiveRestoreJob restoreJob;
+  private final int asyncRestoreThreshold;
+
+  public ArchiveService(
+      TaskArchiveRepository archiveRepository,
+      TaskRepository taskRepository,
+      ProjectRepository projectRepository,
+      CurrentUserProvider currentUserProvider,
+      ProjectMapper projectMapper,
+      TotalCounter totalCounter,
+      ProjectOwnershipCache ownershipCache,
+      ProjectStatsService projectStats,
+      ArchiveRestoreJob restoreJob,
+      @Value("${app.archival.async-restore-threshold:1000}") int asyncRestoreThreshold) {
+    this.archiveRepository = archiveRepository;
+    this.taskRepository = taskRepository;
+    this.projectRepository = projectRepository;
+    this.currentUserProvider = currentUserProvider;
+    this.projectMapper = projectMapper;
+    this.totalCounter = totalCounter;
+    this.ownershipCache = ownershipCache;
+    this.projectStats = projectStats;
+    this.restoreJob = restoreJob;
+    this.asyncRestoreThreshold = asyncRestoreThreshold;
+  }
+
+  /**
+   * Moves one archived task back, unchanged and with the same version. An archived project becomes
+   * active again with it, as the restored task is activity.
+   */
+  public TaskResponse unarchiveTask(UUID projectId, UUID taskId) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Task not found");
+    }
+    if (archiveRepository.restoreTask(taskId, projectId) == 0) {
+      throw new NotFoundException("Archived task not found");
+    }
+    archiveRepository.deleteArchivedTask(taskId, projectId);
+    totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    projectRepository
+        .findById(projectId)
+        .filter(project -> project.getArchivedAt() != null)
+        .ifPresent(
+            project -> {
+              project.setArchivedAt(null);
+              totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+            });
+    return taskRepository
+        .findOwnedResponse(taskId, projectId, ownerId)
+        .orElseThrow(() -> new NotFoundException("Task not found"));
+  }
+
+  /**
+   * Makes the project active again and moves its archived tasks back. Also restores old DONE tasks
+   * archived from a project that was never archived itself.
+   *
+   * <p>Up to {@code app.archival.async-restore-threshold} archived tasks are moved within the
+   * request, in chunks; more than that are left to {@link ArchiveRestoreJob}, which moves them in
+   * chunks of their own transactions once the project is listed again. Unarchiving again resumes a
+   * restore that did not finish.
+   */
+  public ProjectUnarchive unarchiveProject(UUID projectId) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    Project project =
+        projectRepository
+            .findByIdAndOwnerId(projectId, ownerId)
+            .orElseThrow(() -> new NotFoundException("Project not found"));
+    boolean restoring =
+        archiveRepository.countByProjectIdUpTo(projectId, asyncRestoreThreshold + 1)
+            > asyncRestoreThreshold;
+    if (restoring) {
+      restoreJob.schedule(projectId);
+    } else {
+      restoreJob.restoreAll(projectId);
+    }
+    if (project.getArchivedAt() != null) {
+      project.setArchivedAt(null);
+      totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+    }
+    // Flushed here so the response carries the incremented version
+    ProjectResponse response =
+        projectMapper.toResponse(
+            projectRepository.saveAndFlush(project),
+            projectStats.storedCounts(List.of(projectId)).get(projectId));
+    return new ProjectUnarchive(response, restoring);
+  }
+}
@@ -0,0 +1,29 @@
+package com.orioljt.taskmanager.service;
+
+import java.util.UUID;
+
+/**
+ * A data change to existing rows of a large table, applied online by {@link BackfillRunner}
+ * instead of in a Flyway migration: after start-up, in primary-key order, one short transaction
+ * per chunk. Register one as a Spring bean; when it is DONE, a later migration can rely on it,
+ * e.g. by making the backfilled column NOT NULL.
+ *
+ * <p>Rows written while a backfill runs may land behind it, so writers must already produce the
+ * new form of the data before it starts, and {@link #apply} must be idempotent: a chunk can be
+ * applied again after a failure or against rows that already have it.
+ */
+public interface Backfill {
+
+  /** Stable, unique name of at most 100 characters; its progress row is kept under it. */
+  String name();
+
+  /** Table walked, a trusted identifier with a UUID primary key column {@code id}. */
+  String table();
+
+  /**
+   * Applies the change to the rows with {@code after < id <= upTo}, in the chunk's transaction.
+   *
+   * @return how many rows were changed
+   */
+  int apply(UUID after, UUID upTo);
+}
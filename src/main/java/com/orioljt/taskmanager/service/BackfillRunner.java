@@ -0,0 +1,214 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.dto.BackfillProgressResponse;
+import com.orioljt.taskmanager.entity.BackfillProgress;
+import com.orioljt.taskmanager.entity.BackfillStatus;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.repository.BackfillProgressRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the {@link Backfill} beans in the background once the application is ready, so it serves
+ * traffic while they work.
+ *
+ * <p>Each backfill walks its table in primary-key order, {@code app.backfill.chunk-size} rows per
+ * transaction, sleeping {@code app.backfill.pause} between chunks to leave the database to the
+ * requests. A chunk locks the backfill's {@code backfill_progress} row, applies the change and
+ * records the last key in the same transaction, so progress is exact, a restart resumes after the
+ * last committed chunk, and instances running side by side take turns instead of repeating work.
+ * A failed chunk marks the backfill FAILED and stops it until the next start-up. Backfills run
+ * one after another, in bean order; DONE ones are skipped.
+ */
+@Component
+public class BackfillRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(BackfillRunner.class);
+
+  /** Sorts before every id; the walk starts after it. */
+  private static final UUID FIRST = new UUID(0, 0);
+
+  private final ObjectProvider<Backfill> backfills;
+  private final BackfillProgressRepository progressRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskExecutor taskExecutor;
+  private final boolean enabled;
+  private final int chunkSize;
+  private final Duration pause;
+
+  private volatile boolean stopping;
+
+  public BackfillRunner(
+      ObjectProvider<Backfill> backfills,
+      BackfillProgressRepository progressRepository,
+      JdbcTemplate jdbcTemplate,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+      @Value("${app.backfill.enabled:true}") boolean enabled,
+      @Value("${app.backfill.chunk-size:1000}") int chunkSize,
+      @Value("${app.backfill.pause:PT0.2S}") Duration pause) {
+    this.backfills = backfills;
+    this.progressRepository = progressRepository;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.taskExecutor = taskExecutor;
+    this.enabled = enabled;
+    this.chunkSize = chunkSize;
+    this.pause = pause;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    List<Backfill> all = backfills.orderedStream().toList();
+    Set<String> names = new HashSet<>();
+    for (Backfill backfill : all) {
+      if (!names.add(backfill.name())) {
+        throw new IllegalStateException("Two backfills are named " + backfill.name());
+      }
+    }
+    if (!all.isEmpty()) {
+      taskExecutor.execute(() -> all.forEach(this::run));
+    }
+  }
+
+  /** Lets a running chunk commit, then stops; the next start-up resumes after it. */
+  @PreDestroy
+  public void stop() {
+    stopping = true;
+  }
+
+  /** Progress of every backfill that has started, most recent first. */
+  public List<BackfillProgressResponse> progress() {
+    return progressRepository.findResponses();
+  }
+
+  public BackfillProgressResponse progress(String name) {
+    return progressRepository
+        .findResponseByName(name)
+        .orElseThrow(() -> new NotFoundException("Backfill not found"));
+  }
+
+  /** Runs one backfill until it is done, fails, or the application stops. */
+  void run(Backfill backfill) {
+    String name = backfill.name();
+    try {
+      if (!begin(backfill)) {
+        return;
+      }
+      log.info("Backfill {} running over {}.", name, backfill.table());
+      Boolean more;
+      do {
+        more = transactionTemplate.execute(status -> chunk(backfill));
+      } while (Boolean.TRUE.equals(more) && pause());
+    } catch (RuntimeException ex) {
+      log.error("Backfill {} failed; it resumes at the next start-up.", name, ex);
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> progressRepository.lockByName(name).ifPresent(p -> p.fail(ex.toString())));
+      } catch (RuntimeException recordFailure) {
+        log.warn("Could not mark backfill {} as failed.", name, recordFailure);
+      }
+    }
+  }
+
+  /** Creates or resumes the progress row; false when the backfill is already done. */
+  private boolean begin(Backfill backfill) {
+    try {
+      return Boolean.TRUE.equals(
+          transactionTemplate.execute(
+              status ->
+                  progressRepository
+                      .lockByName(backfill.name())
+                      .map(
+                          progress -> {
+                            if (progress.getStatus() == BackfillStatus.FAILED) {
+                              progress.resume();
+                            }
+                            return progress.getStatus() != BackfillStatus.DONE;
+                          })
+                      .orElseGet(
+                          () -> {
+                            progressRepository.saveAndFlush(
+                                new BackfillProgress(backfill.name()));
+                            return true;
+                          })));
+    } catch (DataIntegrityViolationException ex) {
+      // Another instance created the row first; its chunks and ours share it.
+      return true;
+    }
+  }
+
+  /** Applies the next chunk; false once the table is exhausted or the backfill stopped. */
+  private boolean chunk(Backfill backfill) {
+    BackfillProgress progress = progressRepository.lockByName(backfill.name()).orElseThrow();
+    if (progress.getStatus() != BackfillStatus.RUNNING) {
+      return false;
+    }
+    UUID after = progress.getLastKey() == null ? FIRST : progress.getLastKey();
+    UUID upTo = chunkEnd(backfill.table(), after);
+    if (upTo == null) {
+      progress.finish();
+      log.info(
+          "Backfill {} done: {} rows in {} chunks.",
+          backfill.name(),
+          progress.getRowsDone(),
+          progress.getChunksDone());
+      return false;
+    }
+    progress.advance(upTo, backfill.apply(after, upTo));
+    return true;
+  }
+
+  /** Last id of the next chunk after {@code after}; null when no row is left. */
+  private UUID chunkEnd(String table, UUID after) {
+    List<UUID> full =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT 1 OFFSET ?",
+            UUID.class,
+            after,
+            chunkSize - 1);
+    if (!full.isEmpty()) {
+      return full.get(0);
+    }
+    List<UUID> last =
+        jdbcTemplate.queryForList(
+            "SELECT id FROM " + table + " WHERE id > ? ORDER BY id DESC LIMIT 1",
+            UUID.class,
+            after);
+    return last.isEmpty() ? null : last.get(0);
+  }
+
+  /** Sleeps between chunks; false when the application is stopping. */
+  private boolean pause() {
+    if (stopping) {
+      return false;
+    }
+    try {
+      Thread.sleep(pause);
+      return !stopping;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
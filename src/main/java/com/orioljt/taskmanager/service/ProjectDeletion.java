@@ -0,0 +1,9 @@
+package com.orioljt.taskmanager.service;
+
+/** Outcome of a project delete request. */
+public enum ProjectDeletion {
+  /** The project and its tasks were removed within the request. */
+  DELETED,
+  /** The project is large and is being removed by {@link ProjectDeletionJob} in the background. */
+  SCHEDULED
+}
@@ -0,0 +1,133 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes large projects in the background.
+ *
+ * <p>{@code ProjectService} marks the project ({@code deleting_at}) before handing it over, so the
+ * work to do is in the database rather than only in this instance's queue. Tasks, then archived
+ * tasks, are removed in chunks of {@code app.projects.delete-chunk-size}, each in its own short
+ * transaction, so no single statement holds locks on the whole project. The project row itself is
+ * deleted last, once its cascade has nothing left to remove.
+ *
+ * <p>A deletion that fails, or that a restart interrupts, is resumed by the sweep on the {@code
+ * app.projects.deletion-sweep-cron} schedule; chunks already deleted stay deleted.
+ */
+@Component
+public class ProjectDeletionJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectDeletionJob.class);
+
+  private final ProjectRepository projectRepository;
+  private final TaskRepository taskRepository;
+  private final TaskArchiveRepository archiveRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final TaskExecutor taskExecutor;
+  private final TotalCounter totalCounter;
+  private final ProjectOwnershipCache ownershipCache;
+  private final int chunkSize;
+
+  /** Projects this instance is deleting, so the sweep doesn't start a second run of one. */
+  private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+  public ProjectDeletionJob(
+      ProjectRepository projectRepository,
+      TaskRepository taskRepository,
+      TaskArchiveRepository archiveRepository,
+      TransactionTemplate transactionTemplate,
+      @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+      TotalCounter totalCounter,
+      ProjectOwnershipCache ownershipCache,
+      @Value("${app.projects.delete-chunk-size:1000}") int chunkSize) {
+    this.projectRepository = projectRepository;
+    this.taskRepository = taskRepository;
+    this.archiveRepository = archiveRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.taskExecutor = taskExecutor;
+    this.totalCounter = totalCounter;
+    this.ownershipCache = ownershipCache;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Starts deleting a project already marked as being deleted, once the marking transaction
+   * commits.
+   */
+  public void schedule(UUID projectId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      taskExecutor.execute(() -> run(projectId));
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            taskExecutor.execute(() -> run(projectId));
+          }
+        });
+  }
+
+  /** Resumes every deletion that has not finished, e.g. after a restart or a failure. */
+  @Scheduled(cron = "${app.projects.deletion-sweep-cron:0 */5 * * * *}")
+  public void sweep() {
+    try {
+      projectRepository.findDeletingIds().forEach(this::run);
+    } catch (RuntimeException ex) {
+      log.error("Sweeping unfinished project deletions failed.", ex);
+    }
+  }
+
+  void run(UUID projectId) {
+    if (!running.add(projectId)) {
+      return;
+    }
+    try {
+      long removedTasks =
+          deleteInChunks(() -> taskRepository.deleteChunkByProjectId(projectId, chunkSize));
+      long removedArchived =
+          deleteInChunks(() -> archiveRepository.deleteChunkByProjectId(projectId, chunkSize));
+      transactionTemplate.execute(status -> projectRepository.deleteDeletingById(projectId));
+      ownershipCache.evict(projectId);
+      totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+      log.info(
+          "Deleted project {}, {} tasks and {} archived tasks in the background.",
+          projectId,
+          removedTasks,
+          removedArchived);
+    } catch (RuntimeException ex) {
+      log.error("Background deletion of project {} failed; the sweep retries it.", projectId, ex);
+    } finally {
+      running.remove(projectId);
+    }
+  }
+
+  /** Runs {@code deleteChunk}, one transaction per chunk, until a chunk comes back short. */
+  private long deleteInChunks(IntSupplier deleteChunk) {
+    long removed = 0;
+    int chunk;
+    do {
+      Integer count = transactionTemplate.execute(status -> deleteChunk.getAsInt());
+      chunk = count == null ? 0 : count;
+      removed += chunk;
+    } while (chunk == chunkSize);
+    return removed;
+  }
+}
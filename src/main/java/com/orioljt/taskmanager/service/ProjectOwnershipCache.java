@@ -0,0 +1,153 @@
+package com.orioljt.taskmanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Bounded in-memory cache of project id to owner id used for ownership checks.
+ *
+ * <p>A project's owner never changes, so an entry only goes stale when the project is deleted.
+ * Only existing projects are cached; unknown ids always go to the database. Creation adds the
+ * entry once the transaction commits, deletion removes it now and again after commit. A lookup
+ * racing with a delete could read the project just before the delete commits and store it after
+ * the eviction ran, so every eviction bumps a generation and a lookup only stores what it loaded
+ * if no eviction happened meanwhile.
+ *
+ * <p>The cache is per instance: a project deleted through another instance stays cached here for
+ * at most {@code app.projects.ownership-cache-ttl} after it was loaded, and writes against it in
+ * that window fail on the foreign key rather than with a 404. Caffeine bounds the entries to
+ * {@code app.projects.ownership-cache-size}, evicting the least likely to be used again off the
+ * request thread. Lookups are exported as {@code cache.gets} with {@code cache=projectOwnership}
+ * and {@code result=hit|miss}.
+ */
+@Component
+public class ProjectOwnershipCache implements MeterBinder {
+
+  static final String NAME = "projectOwnership";
+
+  private final ProjectRepository projectRepository;
+  private final Cache<UUID, UUID> owners;
+  private final AtomicLong evictions = new AtomicLong();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  @Autowired
+  public ProjectOwnershipCache(
+      ProjectRepository projectRepository,
+      @Value("${app.projects.ownership-cache-size:100000}") int maxEntries,
+      @Value("${app.projects.ownership-cache-ttl:PT1M}") Duration ttl) {
+    this.projectRepository = projectRepository;
+    this.owners = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(ttl).build();
+  }
+
+  /** Returns whether {@code projectId} exists and belongs to {@code ownerId}. */
+  public boolean isOwnedBy(UUID projectId, UUID ownerId) {
+    return ownerOf(projectId).map(ownerId::equals).orElse(false);
+  }
+
+  /** Returns the owner of {@code projectId}, or empty when no such project exists. */
+  public Optional<UUID> ownerOf(UUID projectId) {
+    UUID cached = owners.getIfPresent(projectId);
+    if (cached != null) {
+      hits.increment();
+      return Optional.of(cached);
+    }
+    misses.increment();
+    long generation = evictions.get();
+    Optional<UUID> loaded = projectRepository.findOwnerIdById(projectId);
+    loaded.ifPresent(ownerId -> store(projectId, ownerId, generation));
+    return loaded;
+  }
+
+  /** Records a newly created project once the current transaction commits. */
+  public void put(UUID projectId, UUID ownerId) {
+    long generation = evictions.get();
+    afterCommit(() -> store(projectId, ownerId, generation), true);
+  }
+
+  /** Forgets a deleted project, now and again after the current transaction commits. */
+  public void evict(UUID projectId) {
+    remove(projectId);
+    afterCommit(() -> remove(projectId), false);
+  }
+
+  long hitCount() {
+    return hits.sum();
+  }
+
+  long missCount() {
+    return misses.sum();
+  }
+
+  /** Runs pending size evictions now, which Caffeine otherwise does in the background. */
+  void cleanUp() {
+    owners.cleanUp();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("cache.gets", hits, LongAdder::doubleValue)
+        .tags("cache", NAME, "result", "hit")
+        .description("Project ownership lookups answered from memory")
+        .register(registry);
+    FunctionCounter.builder("cache.gets", misses, LongAdder::doubleValue)
+        .tags("cache", NAME, "result", "miss")
+        .description("Project ownership lookups that went to the database")
+        .register(registry);
+    Gauge.builder("cache.size", owners, Cache::estimatedSize)
+        .tags("cache", NAME)
+        .description("Cached project owners")
+        .register(registry);
+  }
+
+  /** Stores the entry unless an eviction happened since {@code generation} was read. */
+  private void store(UUID projectId, UUID ownerId, long generation) {
+    owners
+        .asMap()
+        .compute(projectId, (id, current) -> evictions.get() == generation ? ownerId : current);
+  }
+
+  /**
+   * Bumps the generation and drops the entry under the entry's lock, so a lookup storing the same
+   * key either runs before both or sees the new generation.
+   */
+  private void remove(UUID projectId) {
+    owners
+        .asMap()
+        .compute(
+            projectId,
+            (id, current) -> {
+              evictions.incrementAndGet();
+              return null;
+            });
+  }
+
+  private static void afterCommit(Runnable action, boolean runNowWithoutTransaction) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              action.run();
+            }
+          });
+    } else if (runNowWithoutTransaction) {
+      action.run();
+    }
+  }
+}
@@ -2,17 +2,35 @@ package com.orioljt.taskmanager.service;
 
 import com.orioljt.taskmanager.dto.ProjectRequest;
 import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskCounts;
 import com.orioljt.taskmanager.entity.Project;
 import com.orioljt.taskmanager.entity.User;
 import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
 import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.pagination.KeysetSpecifications;
+import com.orioljt.taskmanager.pagination.TotalCounter;
 import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.ProjectSpecifications;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.repository.TaskRepository;
 import com.orioljt.taskmanager.repository.UserRepository;
 import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,16 +42,37 @@ public class ProjectService {
   private final UserRepository userRepository;
   private final CurrentUserProvider currentUserProvider;
   private final ProjectMapper projectMapper;
+  private final TaskRepository taskRepository;
+  private final TaskArchiveRepository archiveRepository;
+  private final ProjectDeletionJob projectDeletionJob;
+  private final TotalCounter totalCounter;
+  private final ProjectOwnershipCache ownershipCache;
+  private final ProjectStatsService projectStats;
+  private final int asyncDeleteThreshold;
 
   public ProjectService(
       ProjectRepository projectRepository,
       UserRepository userRepository,
       CurrentUserProvider currentUserProvider,
-      ProjectMapper projectMapper) {
+      ProjectMapper projectMapper,
+      TaskRepository taskRepository,
+      TaskArchiveRepository archiveRepository,
+      ProjectDeletionJob projectDeletionJob,
+      TotalCounter totalCounter,
+      ProjectOwnershipCache ownershipCache,
+      ProjectStatsService projectStats,
+      @Value("${app.projects.async-delete-threshold:10000}") int asyncDeleteThreshold) {
     this.projectRepository = projectRepository;
     this.userRepository = userRepository;
     this.currentUserProvider = currentUserProvider;
     this.projectMapper = projectMapper;
+    this.taskRepository = taskRepository;
+    this.archiveRepository = archiveRepository;
+    this.projectDeletionJob = projectDeletionJob;
+    this.totalCounter = totalCounter;
+    this.ownershipCache = ownershipCache;
+    this.projectStats = projectStats;
+    this.asyncDeleteThreshold = asyncDeleteThreshold;
   }
 
   public ProjectResponse create(ProjectRequest request) {
@@ -43,52 +82,187 @@ public class ProjectService {
             .findById(ownerId)
             .orElseThrow(() -> new NotFoundException("Owner user not found: " + ownerId));
 
-    Project project = projectMapper.toNewEntity(request, owner);
-    return projectMapper.toResponse(projectRepository.save(project));
+    Project project = projectRepository.save(projectMapper.toNewEntity(request, owner));
+    projectStats.track(project);
+    totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+    ownershipCache.put(project.getId(), ownerId);
+    return projectMapper.toResponse(project, TaskCounts.NONE);
   }
 
   @Transactional(readOnly = true)
   public List<ProjectResponse> list() {
     UUID ownerId = currentUserProvider.getCurrentUserId();
-    return projectRepository.findAllByOwnerId(ownerId).stream()
-        .map(projectMapper::toResponse)
-        .toList();
+    return projectRepository.findResponsesByOwnerId(ownerId);
   }
 
   @Transactional(readOnly = true)
   public Page<ProjectResponse> page(Pageable pageable) {
     UUID ownerId = currentUserProvider.getCurrentUserId();
-    return projectRepository.findAllByOwnerId(ownerId, pageable).map(projectMapper::toResponse);
+    return projectRepository.findResponsesByOwnerId(ownerId, pageable);
+  }
+
+  /**
+   * Returns a page of the current user's projects whose total is obtained according to {@code
+   * countMode}.
+   *
+   * @param countMode how to count, or {@code null} for {@code app.pagination.count-mode}
+   * @return a {@link Page} unless the mode is {@link CountMode#NONE}
+   */
+  @Transactional(readOnly = true)
+  public Slice<ProjectResponse> page(Pageable pageable, CountMode countMode) {
+    CountMode mode = totalCounter.resolve(countMode);
+    if (mode == CountMode.EXACT) {
+      return page(pageable);
+    }
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    Slice<ProjectResponse> slice = projectRepository.findResponseSliceByOwnerId(ownerId, pageable);
+    return totalCounter.withTotal(
+        slice,
+        mode,
+        TotalCounter.projectsOf(ownerId),
+        () -> projectRepository.countByOwnerId(ownerId));
+  }
+
+  /**
+   * Returns a page of all the current user's projects, archived ones included. The total is always
+   * counted, as cached and estimated totals only cover projects that are not archived.
+   */
+  @Transactional(readOnly = true)
+  public Page<ProjectResponse> pageIncludingArchived(Pageable pageable) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    return projectRepository.findAllResponsesByOwnerId(ownerId, pageable);
+  }
+
+  /**
+   * Returns a keyset page of the current user's projects that are not archived.
+   *
+   * @param order sort used when starting from the first page
+   * @param cursor position to continue from, or {@code null} for the first page; its sort wins
+   *     over {@code order}
+   * @param size page size
+   */
+  @Transactional(readOnly = true)
+  public KeysetPage<ProjectResponse> scroll(Sort.Order order, Cursor cursor, int size) {
+    return scroll(order, cursor, size, false);
+  }
+
+  /** Like {@link #scroll(Sort.Order, Cursor, int)}, with archived projects when asked for. */
+  @Transactional(readOnly = true)
+  public KeysetPage<ProjectResponse> scroll(
+      Sort.Order order, Cursor cursor, int size, boolean includeArchived) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    Sort.Order effective = cursor != null ? cursor.order() : order;
+    Specification<Project> spec =
+        ProjectSpecifications.ownedBy(ownerId).and(ProjectSpecifications.notDeleting());
+    if (!includeArchived) {
+      spec = spec.and(ProjectSpecifications.notArchived());
+    }
+    if (cursor != null) {
+      spec = spec.and(KeysetSpecifications.after(cursor));
+    }
+    Sort sort = KeysetSpecifications.sort(effective);
+    List<Project> rows =
+        projectRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+    Map<UUID, TaskCounts> counts =
+        projectStats.storedCounts(rows.stream().map(Project::getId).toList());
+    return KeysetPage.of(
+        rows,
+        size,
+        effective,
+        Project::getId,
+        project -> projectMapper.toResponse(project, counts.get(project.getId())));
   }
 
   @Transactional(readOnly = true)
   public ProjectResponse get(UUID projectId) {
     UUID ownerId = currentUserProvider.getCurrentUserId();
-    Project project =
-        projectRepository
-            .findByIdAndOwnerId(projectId, ownerId)
-            .orElseThrow(() -> new NotFoundException("Project not found"));
-    return projectMapper.toResponse(project);
+    return projectRepository
+        .findResponseByIdAndOwnerId(projectId, ownerId)
+        .orElseThrow(() -> new NotFoundException("Project not found"));
+  }
+
+  /** Task counts of an owned project, read from its {@code project_stats} row. */
+  @Transactional(readOnly = true)
+  public TaskCounts stats(UUID projectId) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Project not found");
+    }
+    return projectStats.counts(projectId);
   }
 
-  public ProjectResponse updateName(UUID projectId, ProjectRequest request) {
+  /**
+   * Renames an owned project.
+   *
+   * @param expectedVersions versions the client accepts ({@code If-Match}), none of them when
+   *     empty, or {@code null} to update whatever version is current
+   * @throws PreconditionFailedException if the project is at none of {@code expectedVersions}
+   */
+  public ProjectResponse updateName(
+      UUID projectId, ProjectRequest request, Set<Long> expectedVersions) {
     UUID ownerId = currentUserProvider.getCurrentUserId();
     Project project =
         projectRepository
             .findByIdAndOwnerId(projectId, ownerId)
             .orElseThrow(() -> new NotFoundException("Project not found"));
+    if (expectedVersions != null && !expectedVersions.contains(project.getVersion())) {
+      throw new PreconditionFailedException(
+          "Project was modified, current version is " + project.getVersion());
+    }
     projectMapper.update(project, request);
-    return projectMapper.toResponse(projectRepository.save(project));
+    try {
+      // Flushed here so the response carries the incremented version
+      return projectMapper.toResponse(
+          projectRepository.saveAndFlush(project),
+          projectStats.storedCounts(List.of(projectId)).get(projectId));
+    } catch (OptimisticLockingFailureException e) {
+      if (expectedVersions == null) {
+        throw e;
+      }
+      throw new PreconditionFailedException("Project was modified concurrently");
+    }
   }
 
-  public void delete(UUID projectId) {
+  /**
+   * Deletes an owned project with set-based statements. Projects with more than {@code
+   * app.projects.async-delete-threshold} tasks, live and archived together, are marked as being
+   * deleted, which hides them from their owner at once, and left to {@link ProjectDeletionJob}.
+   * Deleting a project that is already being deleted is accepted again without queueing it twice.
+   */
+  public ProjectDeletion delete(UUID projectId) {
     UUID ownerId = currentUserProvider.getCurrentUserId();
-    Project project =
-        projectRepository
-            .findByIdAndOwnerId(projectId, ownerId)
-            .orElseThrow(() -> new NotFoundException("Project not found"));
-    User owner = project.getOwner();
-    owner.removeProject(project);
-    userRepository.save(owner);
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      if (projectRepository.existsByIdAndOwnerIdAndDeletingAtIsNotNull(projectId, ownerId)) {
+        return ProjectDeletion.SCHEDULED;
+      }
+      throw new NotFoundException("Project not found");
+    }
+    if (exceedsAsyncDeleteThreshold(projectId)) {
+      if (projectRepository.markDeleting(projectId, ownerId, Instant.now()) > 0) {
+        projectDeletionJob.schedule(projectId);
+      }
+      ownershipCache.evict(projectId);
+      totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+      return ProjectDeletion.SCHEDULED;
+    }
+    projectRepository.deleteByIdAndOwnerId(projectId, ownerId);
+    ownershipCache.evict(projectId);
+    totalCounter.invalidate(TotalCounter.projectsOf(ownerId));
+    totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    return ProjectDeletion.DELETED;
+  }
+
+  /**
+   * Whether the project's live and archived tasks together are more than {@code
+   * app.projects.async-delete-threshold}; both counts stop at the threshold.
+   */
+  private boolean exceedsAsyncDeleteThreshold(UUID projectId) {
+    int limit = asyncDeleteThreshold + 1;
+    long live = taskRepository.countByProjectIdUpTo(projectId, limit);
+    if (live > asyncDeleteThreshold) {
+      return true;
+    }
+    return live + archiveRepository.countByProjectIdUpTo(projectId, limit - (int) live)
+        > asyncDeleteThreshold;
   }
 }
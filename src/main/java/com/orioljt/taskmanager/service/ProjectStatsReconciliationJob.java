@@ -0,0 +1,70 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.repository.ProjectStatsRepository;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recounts every project's tasks on the {@code app.stats.reconcile-cron} schedule and corrects the
+ * {@code project_stats} rows that drifted, e.g. through rows written outside the services or a
+ * project created before its row existed.
+ *
+ * <p>Projects are walked in id order, {@code app.stats.reconcile-batch-size} per transaction, so
+ * only that many stats rows are locked at a time. A batch that fails is logged and skipped.
+ */
+@Component
+public class ProjectStatsReconciliationJob {
+
+  private static final Logger log = LoggerFactory.getLogger(ProjectStatsReconciliationJob.class);
+
+  /** Sorts before every id; the walk starts after it. */
+  private static final UUID FIRST = new UUID(0, 0);
+
+  private final ProjectStatsRepository statsRepository;
+  private final ProjectStatsService statsService;
+  private final int batchSize;
+
+  public ProjectStatsReconciliationJob(
+      ProjectStatsRepository statsRepository,
+      ProjectStatsService statsService,
+      @Value("${app.stats.reconcile-batch-size:500}") int batchSize) {
+    this.statsRepository = statsRepository;
+    this.statsService = statsService;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(cron = "${app.stats.reconcile-cron:0 0 4 * * *}")
+  public void run() {
+    int corrected = reconcileAll();
+    if (corrected > 0) {
+      log.warn("Corrected the task counts of {} projects.", corrected);
+    } else {
+      log.info("Project task counts are in sync.");
+    }
+  }
+
+  /** Reconciles every project; returns how many rows were corrected or created. */
+  int reconcileAll() {
+    int corrected = 0;
+    UUID after = FIRST;
+    List<UUID> projectIds;
+    do {
+      projectIds = statsRepository.findProjectIds(after, batchSize);
+      if (projectIds.isEmpty()) {
+        break;
+      }
+      try {
+        corrected += statsService.reconcile(projectIds);
+      } catch (RuntimeException ex) {
+        log.error("Reconciling the task counts of projects after {} failed.", after, ex);
+      }
+      after = projectIds.get(projectIds.size() - 1);
+    } while (projectIds.size() == batchSize);
+    return corrected;
+  }
+}
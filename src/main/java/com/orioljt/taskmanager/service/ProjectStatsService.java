@@ -0,0 +1,117 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.ProjectStats;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.ProjectStatsRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the {@code project_stats} task counts. Task writes call {@link #add} in their own
+ * transaction, so a rollback undoes both; updates and deletes, bulk updates included, call it once
+ * their own write has locked the task rows and returned the values it replaced, so the stats row
+ * is the last lock they take. Only the nightly job {@link #reconcile reconciles} them with the
+ * tasks.
+ *
+ * <p>All writes to a project queue on its one stats row until they commit; that is the price of
+ * counts that are exact at every commit. As the stats UPDATE is the last statement before the
+ * commit, a writer holds the row for about one round trip plus the commit, so a single project
+ * takes at most around one write per commit latency (about a thousand per second with 1 ms
+ * commits); other projects don't wait on it. A project that needs more would have to spread its
+ * counts over several rows summed on read.
+ */
+@Service
+@Transactional
+public class ProjectStatsService {
+
+  private final ProjectStatsRepository statsRepository;
+  private final ProjectRepository projectRepository;
+
+  public ProjectStatsService(
+      ProjectStatsRepository statsRepository, ProjectRepository projectRepository) {
+    this.statsRepository = statsRepository;
+    this.projectRepository = projectRepository;
+  }
+
+  /** Starts the counts of a project just created. */
+  public void track(Project project) {
+    statsRepository.save(new ProjectStats(project, TaskCounts.NONE));
+  }
+
+  /**
+   * Adds {@code delta} to the project's counts. A project without a row is left to the
+   * reconciliation job.
+   */
+  public void add(UUID projectId, TaskCounts delta) {
+    if (!delta.equals(TaskCounts.NONE)) {
+      statsRepository.add(projectId, delta);
+    }
+  }
+
+  /**
+   * Current counts of the project. Counted from the tasks when the project has no row yet, which
+   * only happens until the reconciliation job has seen it.
+   */
+  @Transactional(readOnly = true)
+  public TaskCounts counts(UUID projectId) {
+    return statsRepository
+        .findById(projectId)
+        .map(ProjectStats::getCounts)
+        .orElseGet(() -> countTasks(List.of(projectId)).getOrDefault(projectId, TaskCounts.NONE));
+  }
+
+  /** Stored counts of the given projects; projects without a row are missing from the map. */
+  @Transactional(readOnly = true)
+  public Map<UUID, TaskCounts> storedCounts(Collection<UUID> projectIds) {
+    return statsRepository.findAllById(projectIds).stream()
+        .collect(Collectors.toMap(ProjectStats::getProjectId, ProjectStats::getCounts));
+  }
+
+  /**
+   * Recounts the tasks of the given projects and corrects the rows that drifted, creating missing
+   * ones. The rows are locked before counting, so writers that already adjusted them have
+   * committed and are counted, and writers that have not wait and add their delta afterwards.
+   *
+   * @return how many rows were corrected or created
+   */
+  public int reconcile(Collection<UUID> projectIds) {
+    Map<UUID, ProjectStats> rows =
+        statsRepository.lockAllById(projectIds).stream()
+            .collect(Collectors.toMap(ProjectStats::getProjectId, Function.identity()));
+    Map<UUID, TaskCounts> actual = countTasks(projectIds);
+    int corrected = 0;
+    for (UUID projectId : projectIds) {
+      TaskCounts counts = actual.getOrDefault(projectId, TaskCounts.NONE);
+      ProjectStats row = rows.get(projectId);
+      if (row == null) {
+        statsRepository.save(
+            new ProjectStats(projectRepository.getReferenceById(projectId), counts));
+        corrected++;
+      } else if (!row.getCounts().equals(counts)) {
+        row.setCounts(counts);
+        corrected++;
+      }
+    }
+    return corrected;
+  }
+
+  private Map<UUID, TaskCounts> countTasks(Collection<UUID> projectIds) {
+    Map<UUID, TaskCounts> counts = new HashMap<>();
+    for (ProjectStatsRepository.TaskGroup group : statsRepository.countTasks(projectIds)) {
+      counts.merge(
+          group.getProjectId(),
+          new TaskCounts(group.getStatus(), group.getPriority()).times(group.getTasks()),
+          TaskCounts::plus);
+    }
+    return counts;
+  }
+}
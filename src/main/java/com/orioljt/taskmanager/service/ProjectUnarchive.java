@@ -0,0 +1,12 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.dto.ProjectResponse;
+
+/**
+ * Outcome of a project unarchive request.
+ *
+ * @param project the project, already listed again
+ * @param restoring whether its archived tasks are still being moved back by {@link
+ *     ArchiveRestoreJob} in the background
+ */
+public record ProjectUnarchive(ProjectResponse project, boolean restoring) {}
@@ -0,0 +1,124 @@
+package com.orioljt.taskmanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Streams all tasks of a project as NDJSON or CSV. Rows come from a forward-only cursor that
+ * fetches {@link TaskRepository#EXPORT_FETCH_SIZE} rows at a time and are written as they arrive,
+ * so heap use does not grow with the project and the first bytes leave before the query finishes.
+ */
+@Service
+public class TaskExportService {
+
+  static final String CSV_HEADER =
+      "id,title,description,status,priority,dueDate,projectId,createdAt";
+
+  private final TaskRepository taskRepository;
+  private final CurrentUserProvider currentUserProvider;
+  private final ProjectOwnershipCache ownershipCache;
+  private final TransactionTemplate readOnlyTransaction;
+  private final ObjectMapper objectMapper;
+
+  public TaskExportService(
+      TaskRepository taskRepository,
+      CurrentUserProvider currentUserProvider,
+      ProjectOwnershipCache ownershipCache,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper) {
+    this.taskRepository = taskRepository;
+    this.currentUserProvider = currentUserProvider;
+    this.ownershipCache = ownershipCache;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Checks ownership right away, so a foreign project still gets a plain 404, and returns the
+   * body that runs the query once the response is being written.
+   */
+  public StreamingResponseBody export(UUID projectId, TaskFileFormat format) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Project not found or not owned by current user");
+    }
+    return out -> write(projectId, format, out);
+  }
+
+  private void write(UUID projectId, TaskFileFormat format, OutputStream out) {
+    // The cursor only stays open inside a transaction (PostgreSQL ignores the fetch size in
+    // autocommit mode and would buffer the whole result).
+    readOnlyTransaction.executeWithoutResult(
+        status -> {
+          Writer writer =
+              new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+          try (Stream<TaskResponse> rows = taskRepository.streamByProjectId(projectId)) {
+            if (format == TaskFileFormat.CSV) {
+              writer.write(CSV_HEADER);
+              writer.write("\r\n");
+              writer.flush();
+            }
+            rows.forEach(row -> writeRow(writer, format, row));
+            writer.flush();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+  }
+
+  private void writeRow(Writer writer, TaskFileFormat format, TaskResponse row) {
+    try {
+      if (format == TaskFileFormat.NDJSON) {
+        writer.write(objectMapper.writeValueAsString(row));
+        writer.write('\n');
+      } else {
+        writer.write(csvLine(row));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static String csvLine(TaskResponse row) {
+    return String.join(
+            ",",
+            csv(row.id()),
+            csv(row.title()),
+            csv(row.description()),
+            csv(row.status()),
+            csv(row.priority()),
+            csv(row.dueDate()),
+            csv(row.projectId()),
+            csv(row.createdAt()))
+        + "\r\n";
+  }
+
+  private static String csv(Object value) {
+    String text = Objects.toString(value, "");
+    if (text.indexOf(',') < 0
+        && text.indexOf('"') < 0
+        && text.indexOf('\n') < 0
+        && text.indexOf('\r') < 0) {
+      return text;
+    }
+    return '"' + text.replace("\"", "\"\"") + '"';
+  }
+}
@@ -0,0 +1,38 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import java.util.Locale;
+import org.springframework.http.MediaType;
+
+/** Wire formats of task exports and imports. */
+public enum TaskFileFormat {
+  /** One JSON object per line: {@code TaskResponse} on export, {@code TaskRequest} on import. */
+  NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+  /** RFC 4180 CSV with a header row naming the columns. */
+  CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+  private final MediaType mediaType;
+  private final String extension;
+
+  TaskFileFormat(MediaType mediaType, String extension) {
+    this.mediaType = mediaType;
+    this.extension = extension;
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public String extension() {
+    return extension;
+  }
+
+  /** Parses the {@code format} request parameter case-insensitively. */
+  public static TaskFileFormat from(String value) {
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Unsupported export format: " + value);
+    }
+  }
+}
@@ -0,0 +1,268 @@
+package com.orioljt.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.dto.TaskImportReport;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.TaskBulkLoader;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports tasks from a CSV or NDJSON stream. Rows are parsed and validated against the {@link
+ * TaskRequest} constraints one at a time; valid rows are written in batches of {@code
+ * app.tasks.import-batch-size} through {@link TaskBulkLoader}, each batch in its own transaction,
+ * and invalid rows are skipped and reported. Memory use is bounded by the batch size, not the
+ * input.
+ *
+ * <p>Ownership is checked before reading and again before every batch, so an import stops (with a
+ * 404) as soon as the project is deleted or changes hands; batches written until then stay.
+ */
+@Service
+public class TaskImportService {
+
+  static final int MAX_REPORTED_ERRORS = 1000;
+
+  private final TaskBulkLoader bulkLoader;
+  private final CurrentUserProvider currentUserProvider;
+  private final ProjectOwnershipCache ownershipCache;
+  private final TotalCounter totalCounter;
+  private final ProjectStatsService projectStats;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final int batchSize;
+
+  public TaskImportService(
+      TaskBulkLoader bulkLoader,
+      CurrentUserProvider currentUserProvider,
+      ProjectOwnershipCache ownershipCache,
+      TotalCounter totalCounter,
+      ProjectStatsService projectStats,
+      PlatformTransactionManager transactionManager,
+      ObjectMapper objectMapper,
+      Validator validator,
+      @Value("${app.tasks.import-batch-size:5000}") int batchSize) {
+    this.bulkLoader = bulkLoader;
+    this.currentUserProvider = currentUserProvider;
+    this.ownershipCache = ownershipCache;
+    this.totalCounter = totalCounter;
+    this.projectStats = projectStats;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.batchSize = batchSize;
+  }
+
+  public TaskImportReport importTasks(UUID projectId, TaskFileFormat format, InputStream in)
+      throws IOException {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    requireOwned(projectId, ownerId);
+
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    RowReader rows = format == TaskFileFormat.CSV ? csvRows(reader) : ndjsonRows(reader);
+    Report report = new Report();
+    List<TaskRequest> batch = new ArrayList<>(batchSize);
+    try {
+      for (Row row = rows.next(); row != null; row = rows.next()) {
+        String error = row.error() != null ? row.error() : violations(row.request());
+        if (error != null) {
+          report.reject(row.number(), error);
+          continue;
+        }
+        batch.add(row.request());
+        if (batch.size() == batchSize) {
+          report.imported += write(projectId, ownerId, batch);
+          batch.clear();
+        }
+      }
+      report.imported += write(projectId, ownerId, batch);
+    } finally {
+      if (report.imported > 0) {
+        totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+      }
+    }
+    return report.toResponse();
+  }
+
+  private long write(UUID projectId, UUID ownerId, List<TaskRequest> batch) {
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    return transactionTemplate.execute(
+        status -> {
+          requireOwned(projectId, ownerId);
+          long inserted = bulkLoader.insert(projectId, batch);
+          projectStats.add(
+              projectId,
+              batch.stream()
+                  .map(
+                      row ->
+                          new TaskCounts(
+                              row.status() != null ? row.status() : TaskStatus.TODO,
+                              row.priority()))
+                  .reduce(TaskCounts.NONE, TaskCounts::plus));
+          return inserted;
+        });
+  }
+
+  private void requireOwned(UUID projectId, UUID ownerId) {
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Project not found or not owned by current user");
+    }
+  }
+
+  private String violations(TaskRequest request) {
+    var violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+        .collect(Collectors.joining("; "));
+  }
+
+  private RowReader ndjsonRows(BufferedReader reader) {
+    long[] line = {0};
+    return () -> {
+      String text;
+      do {
+        text = reader.readLine();
+        line[0]++;
+      } while (text != null && text.isBlank());
+      if (text == null) {
+        return null;
+      }
+      try {
+        return Row.of(line[0], objectMapper.readValue(text, TaskRequest.class));
+      } catch (JsonProcessingException e) {
+        return Row.failed(line[0], "invalid JSON: " + e.getOriginalMessage());
+      }
+    };
+  }
+
+  private RowReader csvRows(BufferedReader reader) throws IOException {
+    CsvRecordReader csv = new CsvRecordReader(reader);
+    List<String> header = csv.next();
+    Map<String, Integer> columns = new HashMap<>();
+    if (header != null) {
+      for (int i = 0; i < header.size(); i++) {
+        columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+      }
+    }
+    if (!columns.containsKey("title")) {
+      throw new BadRequestException("CSV header must include a title column");
+    }
+    long[] record = {0};
+    return () -> {
+      List<String> fields = csv.next();
+      if (fields == null) {
+        return null;
+      }
+      record[0]++;
+      try {
+        return Row.of(
+            record[0],
+            new TaskRequest(
+                field(fields, columns, "title"),
+                field(fields, columns, "description"),
+                parse(fields, columns, "status", TaskImportService::status),
+                parse(fields, columns, "priority", Integer::valueOf),
+                parse(fields, columns, "dueDate", LocalDate::parse)));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        return Row.failed(record[0], e.getMessage());
+      }
+    };
+  }
+
+  private static TaskStatus status(String value) {
+    return TaskStatus.valueOf(value.toUpperCase(Locale.ROOT));
+  }
+
+  /** Returns the trimmed column value, or {@code null} when the column is absent or empty. */
+  private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+    Integer index = columns.get(name.toLowerCase(Locale.ROOT));
+    if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+      return null;
+    }
+    return fields.get(index).trim();
+  }
+
+  private static <T> T parse(
+      List<String> fields, Map<String, Integer> columns, String name, Parser<T> parser) {
+    String value = field(fields, columns, name);
+    if (value == null) {
+      return null;
+    }
+    try {
+      return parser.parse(value);
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new IllegalArgumentException(name + ": invalid value '" + value + "'");
+    }
+  }
+
+  @FunctionalInterface
+  private interface Parser<T> {
+    T parse(String value);
+  }
+
+  @FunctionalInterface
+  private interface RowReader {
+    /** Returns the next row, or {@code null} at end of input. */
+    Row next() throws IOException;
+  }
+
+  /** One input row: either a parsed request or the reason it could not be parsed. */
+  private record Row(long number, TaskRequest request, String error) {
+    static Row of(long number, TaskRequest request) {
+      return new Row(number, request, null);
+    }
+
+    static Row failed(long number, String error) {
+      return new Row(number, null, error);
+    }
+  }
+
+  private static final class Report {
+    private long imported;
+    private long failed;
+    private final List<TaskImportReport.RowError> errors = new ArrayList<>();
+
+    void reject(long row, String message) {
+      failed++;
+      if (errors.size() < MAX_REPORTED_ERRORS) {
+        errors.add(new TaskImportReport.RowError(row, message));
+      }
+    }
+
+    TaskImportReport toResponse() {
+      return new TaskImportReport(imported, failed, List.copyOf(errors), failed > errors.size());
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package com.orioljt.taskmanager.service;
+
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.repository.TaskSearchRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/** Full-text search across every project of the current user. */
+@Service
+@Transactional(readOnly = true)
+public class TaskSearchService {
+
+  public static final int MAX_QUERY_LENGTH = 200;
+
+  /** Search pages are keyed by relevance; cursors from other listings are rejected. */
+  public static final Set<String> CURSOR_PROPERTIES = Set.of("score");
+
+  private static final Sort.Order BY_SCORE = Sort.Order.desc("score");
+
+  private final TaskSearchRepository searchRepository;
+  private final CurrentUserProvider currentUserProvider;
+
+  public TaskSearchService(
+      TaskSearchRepository searchRepository, CurrentUserProvider currentUserProvider) {
+    this.searchRepository = searchRepository;
+    this.currentUserProvider = currentUserProvider;
+  }
+
+  /**
+   * Returns the best matches of {@code query} first.
+   *
+   * @param cursor position to continue from, or {@code null} for the first page
+   * @throws BadRequestException if the query is blank or too long, or the cursor is not a search
+   *     cursor
+   */
+  public KeysetPage<TaskResponse> search(String query, Cursor cursor, int size) {
+    String q = query == null ? "" : query.strip();
+    if (q.isEmpty()) {
+      throw new BadRequestException("Search query must not be blank");
+    }
+    if (q.length() > MAX_QUERY_LENGTH) {
+      throw new BadRequestException(
+          "Search query is limited to " + MAX_QUERY_LENGTH + " characters");
+    }
+    Float afterScore = cursor == null ? null : score(cursor);
+
+    List<TaskSearchRepository.Hit> hits =
+        searchRepository.search(
+            currentUserProvider.getCurrentUserId(),
+            q,
+            afterScore,
+            cursor == null ? null : cursor.id(),
+            size + 1);
+
+    boolean hasNext = hits.size() > size;
+    List<TaskSearchRepository.Hit> page = hasNext ? hits.subList(0, size) : hits;
+    Cursor next = null;
+    if (hasNext) {
+      TaskSearchRepository.Hit last = page.getLast();
+      next = Cursor.after(BY_SCORE, last.score(), last.task().id());
+    }
+    return new KeysetPage<>(page.stream().map(TaskSearchRepository.Hit::task).toList(), next);
+  }
+
+  private static Float score(Cursor cursor) {
+    if (cursor.direction() != Sort.Direction.DESC || cursor.value() == null) {
+      throw new BadRequestException("Invalid cursor");
+    }
+    try {
+      return Float.valueOf(cursor.value());
+    } catch (NumberFormatException ex) {
+      throw new BadRequestException("Invalid cursor");
+    }
+  }
+}
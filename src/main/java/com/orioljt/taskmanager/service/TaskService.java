@@ -1,18 +1,39 @@
 package com.orioljt.taskmanager.service;
 
+import com.orioljt.taskmanager.dto.BatchUpdateResponse;
+import com.orioljt.taskmanager.dto.TaskBatchUpdateRequest;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.entity.Project;
 import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskRecord;
+import com.orioljt.taskmanager.entity.TaskStatus;
 import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
 import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.pagination.KeysetSpecifications;
+import com.orioljt.taskmanager.pagination.TotalCounter;
 import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskBulkUpdates;
 import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.repository.TaskSpecifications;
 import com.orioljt.taskmanager.security.CurrentUserProvider;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,74 +45,293 @@ public class TaskService {
   private final ProjectRepository projectRepository;
   private final CurrentUserProvider currentUserProvider;
   private final TaskMapper taskMapper;
+  private final TotalCounter totalCounter;
+  private final ProjectOwnershipCache ownershipCache;
+  private final ProjectStatsService projectStats;
 
   public TaskService(
       TaskRepository taskRepository,
       ProjectRepository projectRepository,
       CurrentUserProvider currentUserProvider,
-      TaskMapper taskMapper) {
+      TaskMapper taskMapper,
+      TotalCounter totalCounter,
+      ProjectOwnershipCache ownershipCache,
+      ProjectStatsService projectStats) {
     this.taskRepository = taskRepository;
     this.projectRepository = projectRepository;
     this.currentUserProvider = currentUserProvider;
     this.taskMapper = taskMapper;
+    this.totalCounter = totalCounter;
+    this.ownershipCache = ownershipCache;
+    this.projectStats = projectStats;
   }
 
   public TaskResponse create(UUID projectId, TaskRequest taskRequest) {
-    Project project = requireOwnedProject(projectId);
+    requireOwnedProject(projectId);
+    // A reference is enough to set the foreign key; the project row is not loaded.
+    Project project = projectRepository.getReferenceById(projectId);
 
     Task task = taskMapper.toNewEntity(taskRequest, project);
-    return taskMapper.toResponse(taskRepository.save(task));
+    TaskResponse created = taskMapper.toResponse(taskRepository.save(task));
+    projectStats.add(projectId, countsOf(task));
+    totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    return created;
+  }
+
+  /**
+   * Creates all tasks in one transaction. Inserts are sent in JDBC batches of {@code
+   * hibernate.jdbc.batch_size}, which ids generated in the application keep possible.
+   */
+  public List<TaskResponse> createAll(UUID projectId, List<TaskRequest> requests) {
+    requireOwnedProject(projectId);
+    Project project = projectRepository.getReferenceById(projectId);
+
+    List<Task> tasks =
+        requests.stream().map(request -> taskMapper.toNewEntity(request, project)).toList();
+    List<TaskResponse> created =
+        taskRepository.saveAll(tasks).stream().map(taskMapper::toResponse).toList();
+    projectStats.add(
+        projectId,
+        tasks.stream().map(TaskService::countsOf).reduce(TaskCounts.NONE, TaskCounts::plus));
+    totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+    return created;
+  }
+
+  /**
+   * Applies a bulk status/priority change to the project's matching tasks with one UPDATE, without
+   * loading them. The UPDATE returns the values it replaced, grouped, so the project's task counts
+   * are adjusted by the difference like for any other write.
+   */
+  public BatchUpdateResponse batchUpdate(UUID projectId, TaskBatchUpdateRequest request) {
+    requireOwnedProject(projectId);
+    TaskBulkUpdates.Result result =
+        taskRepository.bulkUpdate(
+            projectId, request.ids(), request.dueBefore(), request.status(), request.priority());
+    projectStats.add(projectId, result.change());
+    return new BatchUpdateResponse(result.updated());
   }
 
   @Transactional(readOnly = true)
   public List<TaskResponse> list(UUID projectId) {
-    Project project = requireOwnedProject(projectId);
-    return taskRepository.findAllByProjectIdOrderByCreatedAtDesc(project.getId()).stream()
-        .map(taskMapper::toResponse)
-        .toList();
+    requireOwnedProject(projectId);
+    return taskRepository.findSummariesByProjectId(projectId);
   }
 
   @Transactional(readOnly = true)
   public Page<TaskResponse> page(UUID projectId, Pageable pageable) {
     requireOwnedProject(projectId);
-    return taskRepository.findAllByProjectId(projectId, pageable).map(taskMapper::toResponse);
+    return taskRepository.findSummariesByProjectId(projectId, pageable);
   }
 
+  /**
+   * Returns a page of the project's tasks whose total is obtained according to {@code countMode}.
+   *
+   * @param countMode how to count, or {@code null} for {@code app.pagination.count-mode}
+   * @return a {@link Page} unless the mode is {@link CountMode#NONE}
+   */
   @Transactional(readOnly = true)
-  public TaskResponse get(UUID projectId, UUID taskId) {
+  public Slice<TaskResponse> page(UUID projectId, Pageable pageable, CountMode countMode) {
+    CountMode mode = totalCounter.resolve(countMode);
+    if (mode == CountMode.EXACT) {
+      return page(projectId, pageable);
+    }
     requireOwnedProject(projectId);
-    Task task =
-        taskRepository
-            .findByIdAndProjectId(taskId, projectId)
-            .orElseThrow(() -> new NotFoundException("Task not found"));
-    return taskMapper.toResponse(task);
+    Slice<TaskResponse> slice = taskRepository.findSummarySliceByProjectId(projectId, pageable);
+    return totalCounter.withTotal(
+        slice,
+        mode,
+        TotalCounter.tasksOf(projectId),
+        () -> taskRepository.countByProjectId(projectId));
   }
 
-  public TaskResponse update(UUID projectId, UUID taskId, TaskRequest taskRequest) {
+  /**
+   * Returns a page of the project's tasks matching {@code filter}, read with a single query. A
+   * filtered total is always counted exactly, as cached and estimated totals are per project; only
+   * {@link CountMode#NONE} skips it.
+   *
+   * @param countMode how to count, or {@code null} for {@code app.pagination.count-mode}
+   * @return a {@link Page} unless the mode is {@link CountMode#NONE}
+   */
+  @Transactional(readOnly = true)
+  public Slice<TaskResponse> page(
+      UUID projectId, Pageable pageable, CountMode countMode, TaskFilter filter) {
+    if (filter.isEmpty()) {
+      return page(projectId, pageable, countMode);
+    }
     requireOwnedProject(projectId);
-    Task task =
-        taskRepository
-            .findByIdAndProjectId(taskId, projectId)
-            .orElseThrow(() -> new NotFoundException("Task not found"));
+    Specification<Task> spec =
+        TaskSpecifications.inProject(projectId).and(TaskSpecifications.matching(filter));
+    return taskRepository.findSummaries(
+        spec, pageable, totalCounter.resolve(countMode) != CountMode.NONE);
+  }
+
+  /**
+   * Like {@link #page(UUID, Pageable, CountMode, TaskFilter)}, over the project's hot and archived
+   * tasks. Only offset pages are offered: the archive is meant for occasional look-ups, not for
+   * scrolling.
+   */
+  @Transactional(readOnly = true)
+  public Slice<TaskResponse> pageIncludingArchived(
+      UUID projectId, Pageable pageable, CountMode countMode, TaskFilter filter) {
+    requireOwnedProject(projectId);
+    Specification<TaskRecord> spec = TaskSpecifications.recordsInProject(projectId);
+    if (!filter.isEmpty()) {
+      spec = spec.and(TaskSpecifications.matching(filter));
+    }
+    return taskRepository.findSummariesIncludingArchived(
+        spec, pageable, totalCounter.resolve(countMode) != CountMode.NONE);
+  }
+
+  /**
+   * Returns a keyset page of the project's tasks.
+   *
+   * @param projectId owned project id
+   * @param order sort used when starting from the first page
+   * @param cursor position to continue from, or {@code null} for the first page; its sort wins
+   *     over {@code order}
+   * @param size page size
+   */
+  @Transactional(readOnly = true)
+  public KeysetPage<TaskResponse> scroll(
+      UUID projectId, Sort.Order order, Cursor cursor, int size) {
+    return scroll(projectId, order, cursor, size, TaskFilter.NONE);
+  }
+
+  /**
+   * Returns a keyset page of the project's tasks matching {@code filter}. The cursor only encodes
+   * the position, so clients must send the same filter with every page.
+   */
+  @Transactional(readOnly = true)
+  public KeysetPage<TaskResponse> scroll(
+      UUID projectId, Sort.Order order, Cursor cursor, int size, TaskFilter filter) {
+    requireOwnedProject(projectId);
+    Sort.Order effective = cursor != null ? cursor.order() : order;
+    Specification<Task> spec = TaskSpecifications.inProject(projectId);
+    if (!filter.isEmpty()) {
+      spec = spec.and(TaskSpecifications.matching(filter));
+    }
+    if (cursor != null) {
+      spec = spec.and(KeysetSpecifications.after(cursor));
+    }
+    Sort sort = KeysetSpecifications.sort(effective);
+    List<Task> rows = taskRepository.findBy(spec, q -> q.sortBy(sort).limit(size + 1).all());
+    return KeysetPage.of(rows, size, effective, Task::getId, taskMapper::toSummary);
+  }
+
+  @Transactional(readOnly = true)
+  public TaskResponse get(UUID projectId, UUID taskId) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    return taskRepository
+        .findOwnedResponse(taskId, projectId, ownerId)
+        .orElseThrow(() -> new NotFoundException("Task not found"));
+  }
+
+  /**
+   * Applies the non-null fields of {@code taskRequest}. With an expected version, a status-only
+   * change is a single compare-and-set UPDATE; other changes check the loaded version and rely on
+   * the {@code @Version} check of the flush for writers racing in between.
+   *
+   * @param expectedVersions versions the client accepts ({@code If-Match}), none of them when
+   *     empty, or {@code null} to update whatever version is current
+   * @throws PreconditionFailedException if the task is at none of {@code expectedVersions}
+   */
+  public TaskResponse update(
+      UUID projectId, UUID taskId, TaskPatchRequest taskRequest, Set<Long> expectedVersions) {
+    if (expectedVersions != null && !expectedVersions.isEmpty() && isStatusOnly(taskRequest)) {
+      return compareAndSetStatus(projectId, taskId, taskRequest.status(), expectedVersions);
+    }
+    Task task = requireOwnedTask(projectId, taskId);
+    if (expectedVersions != null && !expectedVersions.contains(task.getVersion())) {
+      throw staleVersion(task.getVersion());
+    }
 
+    TaskCounts before = countsOf(task);
     taskMapper.updateEntity(task, taskRequest);
-    return taskMapper.toResponse(taskRepository.save(task));
+    try {
+      // Flushed here so the response carries the incremented version
+      TaskResponse updated = taskMapper.toResponse(taskRepository.saveAndFlush(task));
+      projectStats.add(projectId, countsOf(task).minus(before));
+      return updated;
+    } catch (OptimisticLockingFailureException e) {
+      if (expectedVersions == null) {
+        throw e;
+      }
+      throw new PreconditionFailedException("Task was modified concurrently");
+    }
   }
 
+  /**
+   * Deletes a task with one statement, which also returns what the task counted for in the
+   * project's task counts.
+   */
   public void delete(UUID projectId, UUID taskId) {
-    Project project = requireOwnedProject(projectId);
-    Task task =
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Task not found");
+    }
+    TaskCounts counted =
+        taskRepository
+            .deleteOwned(taskId, projectId, ownerId)
+            .orElseThrow(() -> new NotFoundException("Task not found"));
+    projectStats.add(projectId, counted.times(-1));
+    totalCounter.invalidate(TotalCounter.tasksOf(projectId));
+  }
+
+  /**
+   * Status change without loading the task; the version is compared by the UPDATE, which also
+   * returns the status it replaced for the task counts.
+   */
+  private TaskResponse compareAndSetStatus(
+      UUID projectId, UUID taskId, TaskStatus status, Set<Long> expectedVersions) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Task not found");
+    }
+    Optional<TaskCounts> change =
+        taskRepository.updateStatusIfVersion(taskId, projectId, status, expectedVersions);
+    change.ifPresent(delta -> projectStats.add(projectId, delta));
+    // Read back for the response; on a miss the same read tells a stale version from a 404
+    TaskResponse current =
         taskRepository
-            .findByIdAndProjectId(taskId, projectId)
+            .findOwnedResponse(taskId, projectId, ownerId)
             .orElseThrow(() -> new NotFoundException("Task not found"));
-    project.removeTask(task);
-    projectRepository.save(project);
+    if (change.isEmpty()) {
+      throw staleVersion(current.version());
+    }
+    return current;
+  }
+
+  private static TaskCounts countsOf(Task task) {
+    return new TaskCounts(task.getStatus(), task.getPriority());
+  }
+
+  private static boolean isStatusOnly(TaskPatchRequest request) {
+    return request.status() != null
+        && request.title() == null
+        && request.description() == null
+        && request.priority() == null
+        && request.dueDate() == null;
+  }
+
+  private static PreconditionFailedException staleVersion(long current) {
+    return new PreconditionFailedException("Task was modified, current version is " + current);
+  }
+
+  private void requireOwnedProject(UUID projectId) {
+    UUID ownerId = currentUserProvider.getCurrentUserId();
+    if (!ownershipCache.isOwnedBy(projectId, ownerId)) {
+      throw new NotFoundException("Project not found or not owned by current user");
+    }
   }
 
-  private Project requireOwnedProject(UUID projectId) {
+  /**
+   * Loads a task with its ownership check in one statement. A missing task and a missing or
+   * foreign project both surface as the same 404, so callers can't probe for project ids.
+   */
+  private Task requireOwnedTask(UUID projectId, UUID taskId) {
     UUID ownerId = currentUserProvider.getCurrentUserId();
-    return projectRepository
-        .findByIdAndOwnerId(projectId, ownerId)
-        .orElseThrow(() -> new NotFoundException("Project not found or not owned by current user"));
+    return taskRepository
+        .findOwned(taskId, projectId, ownerId)
+        .orElseThrow(() -> new NotFoundException("Task not found"));
   }
 }
@@ -5,6 +5,7 @@ import com.orioljt.taskmanager.dto.UpdateUserPasswordRequest;
 import com.orioljt.taskmanager.dto.UpdateUserRequest;
 import com.orioljt.taskmanager.dto.UserResponse;
 import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.entity.id.UuidV7;
 import com.orioljt.taskmanager.exception.NotFoundException;
 import com.orioljt.taskmanager.mapper.UserMapper;
 import com.orioljt.taskmanager.repository.UserRepository;
@@ -36,7 +37,7 @@ public class UserService {
 
   public UserResponse register(CreateUserRequest createUserRequest) {
     User user = new User();
-    user.setId(UUID.randomUUID());
+    user.setId(UuidV7.randomUuid());
     user.markNew();
     user.setEmail(createUserRequest.email());
     user.setPassword(passwordEncoder.encode(createUserRequest.password()));
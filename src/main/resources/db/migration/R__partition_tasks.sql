@@ -0,0 +1,108 @@
+-- Optional declarative partitioning of tasks, chosen with the Flyway placeholders
+-- tasks_partitioning (none, hash or range) and tasks_hash_partitions (see application.properties):
+--
+--   hash   tasks_p0 .. tasks_pN-1, by project_id. Every per-project query reads one partition, and
+--          vacuum, index maintenance and COUNT(*) work on N smaller heaps.
+--   range  one partition per month of created_at (tasks_yYYYYmMM) plus tasks_default. Old months
+--          can be detached or dropped as a whole; afterMigrate.sql keeps three months ahead.
+--   none   leaves tasks as it is (an already partitioned table is not converted back).
+--
+-- This is a repeatable migration, so Flyway runs it again whenever a placeholder value changes.
+-- Converting copies every row into a new table and swaps it in, in this migration's transaction
+-- and under an exclusive lock on tasks: on a large table plan a maintenance window.
+--
+-- PostgreSQL requires the partition key in every unique constraint, so the primary key becomes
+-- (id, project_id) or (id, created_at). Ids are UUIDv7 generated by the application, and lookups
+-- by id alone still use the primary key index of each partition. The entity and repositories are
+-- unaffected; later migrations cannot CREATE INDEX CONCURRENTLY on the partitioned parent and must
+-- build indexes per partition instead.
+
+CREATE OR REPLACE FUNCTION create_task_month_partitions(parent text, from_month date, to_month date)
+    RETURNS void
+    LANGUAGE plpgsql AS
+$fn$
+DECLARE
+    month_start date := date_trunc('month', from_month)::date;
+BEGIN
+    WHILE month_start <= to_month LOOP
+        BEGIN
+            EXECUTE format(
+                'CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                'tasks_y' || to_char(month_start, 'YYYY"m"MM'), parent, month_start,
+                month_start + interval '1 month');
+        EXCEPTION WHEN check_violation THEN
+            -- The default partition already holds rows of this month; they stay there
+            RAISE WARNING 'Partition of % for % not created: rows are in the default partition',
+                parent, month_start;
+        END;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END
+$fn$;
+
+DO
+$$
+DECLARE
+    target      text    := lower('${tasks_partitioning}');
+    partitions  integer := ${tasks_hash_partitions};
+    existing    text;
+    first_month date;
+BEGIN
+    IF target NOT IN ('none', 'hash', 'range') THEN
+        RAISE EXCEPTION 'tasks_partitioning must be none, hash or range, not %', target;
+    END IF;
+    SELECT CASE partstrat WHEN 'h' THEN 'hash' WHEN 'r' THEN 'range' ELSE 'list' END
+      INTO existing
+      FROM pg_partitioned_table
+     WHERE partrelid = to_regclass('tasks');
+    IF target = 'none' OR target = existing THEN
+        RETURN;
+    END IF;
+
+    IF target = 'hash' THEN
+        CREATE TABLE tasks_new (LIKE tasks INCLUDING DEFAULTS INCLUDING GENERATED)
+            PARTITION BY HASH (project_id);
+        FOR i IN 0 .. partitions - 1 LOOP
+            EXECUTE format(
+                'CREATE TABLE %I PARTITION OF tasks_new FOR VALUES WITH (MODULUS %s, REMAINDER %s)',
+                'tasks_p' || i, partitions, i);
+        END LOOP;
+        ALTER TABLE tasks_new ADD CONSTRAINT tasks_new_pkey PRIMARY KEY (id, project_id);
+    ELSE
+        CREATE TABLE tasks_new (LIKE tasks INCLUDING DEFAULTS INCLUDING GENERATED)
+            PARTITION BY RANGE (created_at);
+        ALTER TABLE tasks_new ALTER COLUMN created_at SET NOT NULL;
+        CREATE TABLE tasks_default PARTITION OF tasks_new DEFAULT;
+        SELECT date_trunc('month', coalesce(min(created_at), now()))::date
+          INTO first_month
+          FROM tasks;
+        PERFORM create_task_month_partitions(
+            'tasks_new', first_month, (date_trunc('month', now()) + interval '3 months')::date);
+        ALTER TABLE tasks_new ADD CONSTRAINT tasks_new_pkey PRIMARY KEY (id, created_at);
+    END IF;
+
+    INSERT INTO tasks_new (id, title, description, status, priority, due_date, project_id,
+                           created_at, version)
+    SELECT id, title, description, status, priority, due_date, project_id,
+           coalesce(created_at, now()), version
+      FROM tasks;
+
+    -- Also drops the old indexes, the foreign key and, when re-partitioning, the old partitions
+    DROP TABLE tasks;
+    ALTER TABLE tasks_new RENAME TO tasks;
+    ALTER TABLE tasks RENAME CONSTRAINT tasks_new_pkey TO tasks_pkey;
+    ALTER TABLE tasks
+        ADD CONSTRAINT tasks_project_id_fkey
+            FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE;
+
+    -- Same indexes as V4, V7 and V9; on the parent they are created on every partition
+    CREATE INDEX tasks_project_created_at_idx ON tasks (project_id, created_at, id);
+    CREATE INDEX tasks_project_title_idx ON tasks (project_id, title, id);
+    CREATE INDEX tasks_project_status_idx ON tasks (project_id, status, id);
+    CREATE INDEX tasks_project_priority_idx ON tasks (project_id, priority, id);
+    CREATE INDEX tasks_project_due_date_idx ON tasks (project_id, due_date, id);
+    CREATE INDEX tasks_project_id_idx ON tasks (project_id, id);
+    CREATE INDEX tasks_title_trgm_idx ON tasks USING gin (lower(title) gin_trgm_ops);
+    CREATE INDEX tasks_search_vector_idx ON tasks USING gin (search_vector);
+END
+$$;
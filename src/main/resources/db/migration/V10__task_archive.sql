@@ -0,0 +1,24 @@
+-- Cold tier for old DONE tasks and inactive projects (service/ArchivalJob). Archived tasks keep
+-- their id, columns and version, so restoring one is a plain INSERT ... SELECT back into tasks;
+-- archived_at records when the row was moved. Nothing in the hot listings reads this table, so
+-- its rows no longer weigh on the tasks indexes.
+CREATE TABLE IF NOT EXISTS tasks_archive (
+    id UUID PRIMARY KEY,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    status VARCHAR(20),
+    priority INTEGER,
+    due_date DATE,
+    project_id UUID NOT NULL REFERENCES projects (id) ON DELETE CASCADE,
+    created_at TIMESTAMP,
+    version BIGINT NOT NULL DEFAULT 0,
+    archived_at TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- Serves listings with includeArchived=true and restoring a project's tasks
+CREATE INDEX IF NOT EXISTS tasks_archive_project_created_at_idx
+    ON tasks_archive (project_id, created_at, id);
+
+-- Set while a project and all its tasks are archived. Nullable without a default, so PostgreSQL
+-- adds it without rewriting the table.
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS archived_at TIMESTAMP;
@@ -0,0 +1,33 @@
+-- Denormalized task counts per project, so project listings and dashboards don't GROUP BY tasks
+-- on every request. The services adjust a row in the transaction of every task write
+-- (service/ProjectStatsService) and service/ProjectStatsReconciliationJob recounts the rows to
+-- fix any drift. Archived tasks are counted too, so moves between tasks and tasks_archive leave
+-- the counts alone. Tasks without a priority are task_count minus the three priority counts.
+CREATE TABLE IF NOT EXISTS project_stats (
+    project_id UUID PRIMARY KEY REFERENCES projects (id) ON DELETE CASCADE,
+    task_count BIGINT NOT NULL DEFAULT 0,
+    todo_count BIGINT NOT NULL DEFAULT 0,
+    in_progress_count BIGINT NOT NULL DEFAULT 0,
+    done_count BIGINT NOT NULL DEFAULT 0,
+    priority_1_count BIGINT NOT NULL DEFAULT 0,
+    priority_2_count BIGINT NOT NULL DEFAULT 0,
+    priority_3_count BIGINT NOT NULL DEFAULT 0
+);
+
+-- Initial counts. A plain read of tasks: writers are not blocked while it runs.
+INSERT INTO project_stats (project_id, task_count, todo_count, in_progress_count, done_count,
+                           priority_1_count, priority_2_count, priority_3_count)
+SELECT p.id,
+       COUNT(t.project_id),
+       COUNT(*) FILTER (WHERE t.status = 'TODO'),
+       COUNT(*) FILTER (WHERE t.status = 'IN_PROGRESS'),
+       COUNT(*) FILTER (WHERE t.status = 'DONE'),
+       COUNT(*) FILTER (WHERE t.priority = 1),
+       COUNT(*) FILTER (WHERE t.priority = 2),
+       COUNT(*) FILTER (WHERE t.priority = 3)
+  FROM projects p
+  LEFT JOIN (SELECT project_id, status, priority FROM tasks
+             UNION ALL
+             SELECT project_id, status, priority FROM tasks_archive) t ON t.project_id = p.id
+ GROUP BY p.id
+ON CONFLICT (project_id) DO NOTHING;
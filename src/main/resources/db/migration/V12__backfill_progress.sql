@@ -0,0 +1,16 @@
+-- Progress of the online backfills that service/BackfillRunner runs after start-up, so data
+-- changes on large tables don't run inside Flyway and hold up boot. One row per backfill, keyed
+-- by its name. last_key is the highest primary key already processed: a restarted or failed
+-- backfill resumes after it. Instances lock the row for each chunk, so several instances share
+-- the work instead of repeating it.
+CREATE TABLE IF NOT EXISTS backfill_progress (
+    name VARCHAR(100) PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    last_key UUID,
+    rows_done BIGINT NOT NULL DEFAULT 0,
+    chunks_done BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL DEFAULT now(),
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    finished_at TIMESTAMP,
+    last_error VARCHAR(2000)
+);
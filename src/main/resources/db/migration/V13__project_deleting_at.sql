@@ -0,0 +1,7 @@
+-- Set when a large project is handed to service/ProjectDeletionJob. Listings, ownership checks and
+-- the archival job skip such projects from then on, and the job's sweep finds the deletions a
+-- restart or a failure interrupted through the partial index.
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS deleting_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS projects_deleting_at_idx
+    ON projects (deleting_at) WHERE deleting_at IS NOT NULL;
@@ -0,0 +1,6 @@
+-- Let the database remove a project's tasks when the project row is deleted, so project deletion
+-- is a single set-based statement instead of one DELETE per task issued by Hibernate.
+ALTER TABLE tasks DROP CONSTRAINT IF EXISTS tasks_project_id_fkey;
+ALTER TABLE tasks
+    ADD CONSTRAINT tasks_project_id_fkey
+        FOREIGN KEY (project_id) REFERENCES projects (id) ON DELETE CASCADE;
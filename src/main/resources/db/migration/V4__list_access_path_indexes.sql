@@ -0,0 +1,28 @@
+-- One (parent, sort key, id) index per allowlisted sort of the paged listings. The parent column
+-- narrows the scan to one owner or project, the sort key lets PostgreSQL return rows already
+-- ordered (forwards or backwards, so ASC and DESC are both served), and the trailing id matches
+-- the keyset tie-breaker. The leading parent column also serves the foreign key lookups and the
+-- COUNT queries, which can run as index-only scans.
+--
+-- CONCURRENTLY keeps the tables writable while the indexes build; Flyway runs this script outside
+-- a transaction because every statement in it is non-transactional.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS projects_owner_created_at_idx
+    ON projects (owner_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS projects_owner_name_idx
+    ON projects (owner_id, name, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS projects_owner_id_idx
+    ON projects (owner_id, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_created_at_idx
+    ON tasks (project_id, created_at, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_title_idx
+    ON tasks (project_id, title, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_status_idx
+    ON tasks (project_id, status, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_priority_idx
+    ON tasks (project_id, priority, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_due_date_idx
+    ON tasks (project_id, due_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_project_id_idx
+    ON tasks (project_id, id);
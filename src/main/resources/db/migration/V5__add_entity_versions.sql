@@ -0,0 +1,4 @@
+-- Optimistic-locking versions, exposed to clients as ETags. Existing rows start at 0; with a
+-- constant default PostgreSQL adds the column without rewriting the table.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,3 @@
+-- Trigram matching for the titleContains filter of the task listing. Kept apart from the index
+-- itself: Flyway cannot mix this transactional statement with CREATE INDEX CONCURRENTLY.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
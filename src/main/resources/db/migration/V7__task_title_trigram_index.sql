@@ -0,0 +1,8 @@
+-- Serves the task listing's titleContains filter, which compiles to lower(title) LIKE '%...%'.
+-- A B-tree cannot answer an infix pattern; a trigram GIN index on the same expression can, so
+-- the search no longer reads every task of the project. The status, priority, due date and
+-- created_at filters are served by the (project_id, column, id) indexes of V4.
+--
+-- Built CONCURRENTLY, so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_title_trgm_idx
+    ON tasks USING gin (lower(title) gin_trgm_ops);
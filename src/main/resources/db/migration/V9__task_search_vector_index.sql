@@ -0,0 +1,4 @@
+-- Serves GET /api/tasks/search (search_vector @@ websearch_to_tsquery(...)). Built CONCURRENTLY,
+-- so Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS tasks_search_vector_idx
+    ON tasks USING gin (search_vector);
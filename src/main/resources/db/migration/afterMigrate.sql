@@ -0,0 +1,14 @@
+-- Runs after every Flyway migrate, i.e. on every start-up: when tasks is range-partitioned (see
+-- R__partition_tasks.sql), make sure the monthly partitions of the next three months exist so new
+-- rows don't pile up in tasks_default.
+DO
+$$
+BEGIN
+    IF EXISTS (SELECT 1
+                 FROM pg_partitioned_table
+                WHERE partrelid = to_regclass('tasks') AND partstrat = 'r') THEN
+        PERFORM create_task_month_partitions(
+            'tasks', current_date, (date_trunc('month', now()) + interval '3 months')::date);
+    END IF;
+END
+$$;
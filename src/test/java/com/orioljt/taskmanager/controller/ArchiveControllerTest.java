@@ -0,0 +1,87 @@
+package com.orioljt.taskmanager.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
+import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.ArchiveService;
+import com.orioljt.taskmanager.service.ProjectUnarchive;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ArchiveController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class ArchiveControllerTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired ArchiveService service;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    ArchiveService archiveService() {
+      return Mockito.mock(ArchiveService.class);
+    }
+
+    @Bean
+    JwtUserProvisioningFilter jwtUserProvisioningFilter() {
+      return Mockito.mock(JwtUserProvisioningFilter.class);
+    }
+
+    @Bean
+    KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter() {
+      return Mockito.mock(KeycloakJwtGrantedAuthoritiesConverter.class);
+    }
+  }
+
+  @Test
+  void unarchiveProject_returnsProjectWithNewETag() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(service.unarchiveProject(id))
+        .thenReturn(
+            new ProjectUnarchive(
+                new ProjectResponse(id, "Back", UUID.randomUUID(), Instant.now(), 3), false));
+
+    mvc.perform(post("/api/projects/{id}:unarchive", id))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"3\""))
+        .andExpect(jsonPath("$.archivedAt").value(org.hamcrest.Matchers.nullValue()));
+  }
+
+  @Test
+  void unarchiveProject_restoringInBackground_returnsAccepted() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(service.unarchiveProject(id))
+        .thenReturn(
+            new ProjectUnarchive(
+                new ProjectResponse(id, "Big", UUID.randomUUID(), Instant.now(), 4), true));
+
+    mvc.perform(post("/api/projects/{id}:unarchive", id))
+        .andExpect(status().isAccepted())
+        .andExpect(header().string("ETag", "\"4\""))
+        .andExpect(jsonPath("$.name").value("Big"));
+  }
+
+  @Test
+  void unarchiveTask_notArchived_returnsNotFound() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    when(service.unarchiveTask(projectId, id))
+        .thenThrow(new NotFoundException("Archived task not found"));
+
+    mvc.perform(post("/api/projects/{projectId}/tasks/{id}:unarchive", projectId, id))
+        .andExpect(status().isNotFound());
+  }
+}
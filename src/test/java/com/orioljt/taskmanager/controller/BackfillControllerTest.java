@@ -0,0 +1,83 @@
+package com.orioljt.taskmanager.controller;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.orioljt.taskmanager.dto.BackfillProgressResponse;
+import com.orioljt.taskmanager.entity.BackfillStatus;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
+import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.BackfillRunner;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(BackfillController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class BackfillControllerTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired BackfillRunner runner;
+  @Autowired JwtUserProvisioningFilter jwtUserProvisioningFilter;
+  @Autowired KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    BackfillRunner backfillRunner() {
+      return Mockito.mock(BackfillRunner.class);
+    }
+
+    @Bean
+    JwtUserProvisioningFilter jwtUserProvisioningFilter() {
+      return Mockito.mock(JwtUserProvisioningFilter.class);
+    }
+
+    @Bean
+    KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter() {
+      return Mockito.mock(KeycloakJwtGrantedAuthoritiesConverter.class);
+    }
+  }
+
+  @Test
+  void list_returnsTheProgressOfEveryBackfill() throws Exception {
+    UUID lastKey = UUID.randomUUID();
+    when(runner.progress())
+        .thenReturn(
+            List.of(
+                new BackfillProgressResponse(
+                    "tasks-priority",
+                    BackfillStatus.RUNNING,
+                    lastKey,
+                    2000,
+                    2,
+                    Instant.now(),
+                    Instant.now(),
+                    null,
+                    null)));
+
+    mvc.perform(get("/api/admin/backfills"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name").value("tasks-priority"))
+        .andExpect(jsonPath("$[0].status").value("RUNNING"))
+        .andExpect(jsonPath("$[0].lastKey").value(lastKey.toString()))
+        .andExpect(jsonPath("$[0].rowsDone").value(2000));
+  }
+
+  @Test
+  void get_unknownBackfill_returnsNotFound() throws Exception {
+    when(runner.progress("missing")).thenThrow(new NotFoundException("Backfill not found"));
+
+    mvc.perform(get("/api/admin/backfills/{name}", "missing")).andExpect(status().isNotFound());
+  }
+}
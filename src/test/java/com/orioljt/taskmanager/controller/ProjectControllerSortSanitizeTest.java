@@ -55,13 +55,13 @@ class ProjectControllerSortSanitizeTest {
 
   @Test
   void list_withUnknownSort_defaultsToCreatedAtDesc_inLinkHeader() throws Exception {
-    when(service.page(any(Pageable.class)))
+    when(service.page(any(Pageable.class), any()))
         .thenAnswer(
             inv -> {
               Pageable p = inv.getArgument(0);
               ProjectResponse resp =
                   new ProjectResponse(
-                      UUID.randomUUID(), "P1", UUID.randomUUID(), Instant.now());
+                      UUID.randomUUID(), "P1", UUID.randomUUID(), Instant.now(), 0);
               Page<ProjectResponse> page = new PageImpl<>(List.of(resp), p, 1);
               return page;
             });
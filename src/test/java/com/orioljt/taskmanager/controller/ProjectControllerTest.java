@@ -1,6 +1,7 @@
 package com.orioljt.taskmanager.controller;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -8,8 +9,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.orioljt.taskmanager.dto.ProjectRequest;
 import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskCounts;
 import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
 import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.ProjectDeletion;
 import com.orioljt.taskmanager.service.ProjectService;
 import java.time.Instant;
 import java.util.List;
@@ -56,7 +59,7 @@ class ProjectControllerTest {
   void create_shouldReturnCreated() throws Exception {
     UUID id = UUID.randomUUID();
     UUID owner = UUID.randomUUID();
-    ProjectResponse resp = new ProjectResponse(id, "ProjectOne", owner, Instant.now());
+    ProjectResponse resp = new ProjectResponse(id, "ProjectOne", owner, Instant.now(), 0);
     when(service.create(any())).thenReturn(resp);
 
     mvc.perform(
@@ -72,12 +75,13 @@ class ProjectControllerTest {
   @Test
   void list_shouldReturnOk() throws Exception {
     ProjectResponse resp =
-        new ProjectResponse(UUID.randomUUID(), "ProjectOne", UUID.randomUUID(), Instant.now());
+        new ProjectResponse(UUID.randomUUID(), "ProjectOne", UUID.randomUUID(), Instant.now(), 0);
     org.springframework.data.domain.Page<com.orioljt.taskmanager.dto.ProjectResponse> page =
         new org.springframework.data.domain.PageImpl<>(
             List.of(resp), org.springframework.data.domain.PageRequest.of(0, 20), 1);
     when(service.page(
-            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
+            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class),
+            org.mockito.ArgumentMatchers.isNull()))
         .thenReturn(page);
 
     mvc.perform(get("/api/projects"))
@@ -91,27 +95,70 @@ class ProjectControllerTest {
         .andExpect(jsonPath("$[0].name").value("ProjectOne"));
   }
 
+  @Test
+  void list_includeArchived_countsAllProjectsAndKeepsTheFlagInLinks() throws Exception {
+    ProjectResponse archived =
+        new ProjectResponse(
+            UUID.randomUUID(), "Old", UUID.randomUUID(), Instant.now(), 1, Instant.now());
+    when(service.pageIncludingArchived(
+            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
+        .thenReturn(
+            new org.springframework.data.domain.PageImpl<>(
+                List.of(archived), org.springframework.data.domain.PageRequest.of(0, 20), 1));
+
+    mvc.perform(get("/api/projects").param("includeArchived", "true"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Total-Count", "1"))
+        .andExpect(
+            header()
+                .string(
+                    "Link",
+                    org.hamcrest.Matchers.containsString(
+                        "/api/projects?includeArchived=true&page=0")))
+        .andExpect(jsonPath("$[0].archivedAt").exists());
+  }
+
   @Test
   void get_shouldReturnOk() throws Exception {
     UUID id = UUID.randomUUID();
-    ProjectResponse resp = new ProjectResponse(id, "P1", UUID.randomUUID(), Instant.now());
+    ProjectResponse resp = new ProjectResponse(id, "P1", UUID.randomUUID(), Instant.now(), 0);
     when(service.get(id)).thenReturn(resp);
     mvc.perform(get("/api/projects/{id}", id))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"0\""))
         .andExpect(jsonPath("$.id").value(id.toString()));
   }
 
+  @Test
+  void stats_shouldReturnTheTaskCounts() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(service.stats(id)).thenReturn(new TaskCounts(5, 2, 1, 2, 1, 0, 3));
+    mvc.perform(get("/api/projects/{id}/stats", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.total").value(5))
+        .andExpect(jsonPath("$.inProgress").value(1))
+        .andExpect(jsonPath("$.priority3").value(3));
+  }
+
   @Test
   void delete_shouldReturnNoContent() throws Exception {
     UUID id = UUID.randomUUID();
+    when(service.delete(id)).thenReturn(ProjectDeletion.DELETED);
     mvc.perform(delete("/api/projects/{id}", id)).andExpect(status().isNoContent());
   }
 
+  @Test
+  void delete_shouldReturnAcceptedWhenScheduled() throws Exception {
+    UUID id = UUID.randomUUID();
+    when(service.delete(id)).thenReturn(ProjectDeletion.SCHEDULED);
+    mvc.perform(delete("/api/projects/{id}", id)).andExpect(status().isAccepted());
+  }
+
   @Test
   void updateName_shouldReturnOk() throws Exception {
     UUID id = UUID.randomUUID();
-    ProjectResponse resp = new ProjectResponse(id, "NewName", UUID.randomUUID(), Instant.now());
-    when(service.updateName(any(), any())).thenReturn(resp);
+    ProjectResponse resp = new ProjectResponse(id, "NewName", UUID.randomUUID(), Instant.now(), 0);
+    when(service.updateName(any(), any(), isNull())).thenReturn(resp);
     mvc.perform(
             patch("/api/projects/{id}", id)
                 .contentType(MediaType.APPLICATION_JSON)
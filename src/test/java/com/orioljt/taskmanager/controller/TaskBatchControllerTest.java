@@ -0,0 +1,198 @@
+package com.orioljt.taskmanager.controller;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orioljt.taskmanager.dto.BatchUpdateResponse;
+import com.orioljt.taskmanager.dto.TaskBatchUpdateRequest;
+import com.orioljt.taskmanager.dto.TaskImportReport;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.GlobalExceptionHandler;
+import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
+import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.TaskFileFormat;
+import com.orioljt.taskmanager.service.TaskImportService;
+import com.orioljt.taskmanager.service.TaskService;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TaskBatchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@Import(GlobalExceptionHandler.class)
+class TaskBatchControllerTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired ObjectMapper om;
+  @Autowired TaskService service;
+  @Autowired TaskImportService importService;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    TaskService taskService() {
+      return Mockito.mock(TaskService.class);
+    }
+
+    @Bean
+    TaskImportService taskImportService() {
+      return Mockito.mock(TaskImportService.class);
+    }
+
+    @Bean
+    JwtUserProvisioningFilter jwtUserProvisioningFilter() {
+      return Mockito.mock(JwtUserProvisioningFilter.class);
+    }
+
+    @Bean
+    KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter() {
+      return Mockito.mock(KeycloakJwtGrantedAuthoritiesConverter.class);
+    }
+  }
+
+  @Test
+  void createAll_returnsCreatedTasks() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    List<TaskRequest> requests =
+        List.of(
+            new TaskRequest("First task", null, null, 1, null),
+            new TaskRequest("Second task", null, TaskStatus.DONE, null, null));
+    when(service.createAll(eq(projectId), anyList()))
+        .thenReturn(
+            List.of(
+                response("First task", projectId, TaskStatus.TODO),
+                response("Second task", projectId, TaskStatus.DONE)));
+
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batch", projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(requests)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(2))
+        .andExpect(jsonPath("$[1].status").value("DONE"));
+  }
+
+  @Test
+  void createAll_withOneInvalidItem_returns400AndCreatesNothing() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    List<TaskRequest> requests =
+        List.of(
+            new TaskRequest("Valid title", null, null, null, null),
+            new TaskRequest("aa", null, null, null, null));
+
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batch", projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(requests)))
+        .andExpect(status().isBadRequest());
+    verify(service, never()).createAll(Mockito.any(), anyList());
+  }
+
+  @Test
+  void createAll_overTheLimit_returns400() throws Exception {
+    List<TaskRequest> requests =
+        Collections.nCopies(
+            TaskBatchController.MAX_BATCH_SIZE + 1,
+            new TaskRequest("Valid title", null, null, null, null));
+
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batch", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(requests)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void createAll_empty_returns400() throws Exception {
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batch", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void batchUpdate_returnsAffectedRows() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    TaskBatchUpdateRequest request =
+        new TaskBatchUpdateRequest(null, LocalDate.now(), TaskStatus.DONE, null);
+    when(service.batchUpdate(eq(projectId), any())).thenReturn(new BatchUpdateResponse(7));
+
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batchUpdate", projectId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(om.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updated").value(7));
+  }
+
+  @Test
+  void batchUpdate_withoutFilterOrChange_returns400() throws Exception {
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:batchUpdate", UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.fieldErrors.filtered").isArray())
+        .andExpect(jsonPath("$.fieldErrors.changing").isArray());
+    verify(service, never()).batchUpdate(any(), any());
+  }
+
+  @Test
+  void importTasks_passesBodyAndFormatAndReturnsReport() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    TaskImportReport report =
+        new TaskImportReport(
+            1, 1, List.of(new TaskImportReport.RowError(2, "title: must not be blank")), false);
+    when(importService.importTasks(eq(projectId), eq(TaskFileFormat.CSV), any()))
+        .thenReturn(report);
+
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:import", projectId)
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("title\nFirst\n\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.imported").value(1))
+        .andExpect(jsonPath("$.failed").value(1))
+        .andExpect(jsonPath("$.errors[0].row").value(2))
+        .andExpect(jsonPath("$.errorsTruncated").value(false));
+  }
+
+  @Test
+  void importTasks_withUnknownFormat_returns400() throws Exception {
+    mvc.perform(
+            post("/api/projects/{pid}/tasks:import", UUID.randomUUID())
+                .param("format", "xml")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<tasks/>"))
+        .andExpect(status().isBadRequest());
+    verify(importService, never()).importTasks(any(), any(), any());
+  }
+
+  private static TaskResponse response(String title, UUID projectId, TaskStatus status) {
+    return new TaskResponse(
+        UUID.randomUUID(), title, null, status, null, null, projectId, Instant.now(), 0);
+  }
+}
@@ -2,20 +2,33 @@ package com.orioljt.taskmanager.controller;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
 import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
 import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.TaskExportService;
+import com.orioljt.taskmanager.service.TaskFileFormat;
 import com.orioljt.taskmanager.service.TaskService;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -24,8 +37,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @WebMvcTest(TaskController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -34,6 +49,7 @@ class TaskControllerTest {
   @Autowired MockMvc mvc;
   @Autowired ObjectMapper om;
   @Autowired TaskService service;
+  @Autowired TaskExportService exportService;
   @Autowired JwtUserProvisioningFilter jwtUserProvisioningFilter;
   @Autowired KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter;
 
@@ -44,6 +60,11 @@ class TaskControllerTest {
       return Mockito.mock(TaskService.class);
     }
 
+    @Bean
+    TaskExportService taskExportService() {
+      return Mockito.mock(TaskExportService.class);
+    }
+
     @Bean
     JwtUserProvisioningFilter jwtUserProvisioningFilter() {
       return Mockito.mock(JwtUserProvisioningFilter.class);
@@ -67,7 +88,8 @@ class TaskControllerTest {
             1,
             LocalDate.now(),
             projectId,
-            Instant.now());
+            Instant.now(),
+            0);
     when(service.create(eq(projectId), any())).thenReturn(resp);
     mvc.perform(
             post("/api/projects/{pid}/tasks", projectId)
@@ -84,13 +106,15 @@ class TaskControllerTest {
     UUID projectId = UUID.randomUUID();
     TaskResponse resp =
         new TaskResponse(
-            UUID.randomUUID(), "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now());
+            UUID.randomUUID(), "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now(), 0);
     org.springframework.data.domain.Page<com.orioljt.taskmanager.dto.TaskResponse> page =
         new org.springframework.data.domain.PageImpl<>(
             List.of(resp), org.springframework.data.domain.PageRequest.of(0, 20), 1);
     when(service.page(
             eq(projectId),
-            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class)))
+            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class),
+            isNull(),
+            eq(TaskFilter.NONE)))
         .thenReturn(page);
     mvc.perform(get("/api/projects/{pid}/tasks", projectId))
         .andExpect(status().isOk())
@@ -104,15 +128,176 @@ class TaskControllerTest {
         .andExpect(jsonPath("$[0].projectId").value(projectId.toString()));
   }
 
+  @Test
+  void list_withoutCount_omitsTotalAndLastLink() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    TaskResponse resp =
+        new TaskResponse(
+            UUID.randomUUID(), "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now(), 0);
+    when(service.page(
+            eq(projectId),
+            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class),
+            eq(CountMode.NONE),
+            eq(TaskFilter.NONE)))
+        .thenAnswer(
+            inv ->
+                new org.springframework.data.domain.SliceImpl<>(
+                    List.of(resp), inv.getArgument(1), true));
+    mvc.perform(get("/api/projects/{pid}/tasks", projectId).param("count", "NONE"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("X-Total-Count"))
+        .andExpect(header().string("Link", org.hamcrest.Matchers.containsString("rel=\"next\"")))
+        .andExpect(
+            header()
+                .string(
+                    "Link",
+                    org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("rel=\"last\""))))
+        .andExpect(jsonPath("$[0].title").value("T1"));
+  }
+
+  @Test
+  void list_withCursor_shouldReturnKeysetPageAndNextLink() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID lastId = UUID.randomUUID();
+    TaskResponse resp =
+        new TaskResponse(lastId, "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now(), 0);
+    Cursor next = Cursor.after(Sort.Order.desc("createdAt"), resp.createdAt(), lastId);
+    when(service.scroll(
+            eq(projectId),
+            eq(Sort.Order.desc("createdAt")),
+            isNull(),
+            eq(1),
+            eq(TaskFilter.NONE)))
+        .thenReturn(new KeysetPage<>(List.of(resp), next));
+
+    mvc.perform(get("/api/projects/{pid}/tasks", projectId).param("cursor", "").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(header().doesNotExist("X-Total-Count"))
+        .andExpect(
+            header()
+                .string(
+                    "Link",
+                    org.hamcrest.Matchers.containsString(
+                        "size=1&cursor=" + next.encode() + ">; rel=\"next\"")))
+        .andExpect(jsonPath("$[0].id").value(lastId.toString()));
+  }
+
+  @Test
+  void list_withFilters_passesThemOnAndKeepsThemInLinks() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    TaskFilter expected =
+        new TaskFilter(
+            java.util.Set.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS),
+            2,
+            null,
+            null,
+            LocalDate.of(2025, 3, 1),
+            null,
+            "report");
+    when(service.page(
+            eq(projectId),
+            org.mockito.ArgumentMatchers.any(org.springframework.data.domain.Pageable.class),
+            isNull(),
+            eq(expected)))
+        .thenAnswer(
+            inv ->
+                new org.springframework.data.domain.PageImpl<>(
+                    List.<TaskResponse>of(), inv.getArgument(1), 45));
+
+    mvc.perform(
+            get("/api/projects/{pid}/tasks", projectId)
+                .param("status", "TODO", "IN_PROGRESS", "TODO")
+                .param("priorityMin", "2")
+                .param("dueBefore", "2025-03-01")
+                .param("titleContains", " report "))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Total-Count", "45"))
+        .andExpect(
+            header()
+                .string(
+                    "Link",
+                    org.hamcrest.Matchers.containsString(
+                        "status=TODO&status=IN_PROGRESS&priorityMin=2&dueBefore=2025-03-01"
+                            + "&titleContains=report&page=1")));
+  }
+
+  @Test
+  void list_withContradictoryRange_shouldReturnBadRequest() throws Exception {
+    mvc.perform(
+            get("/api/projects/{pid}/tasks", UUID.randomUUID())
+                .param("priorityMin", "3")
+                .param("priorityMax", "1"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void list_withTooManyFilterValues_shouldReturnBadRequest() throws Exception {
+    String[] statuses = new String[TaskFilter.MAX_TERMS + 1];
+    java.util.Arrays.fill(statuses, "TODO");
+    mvc.perform(get("/api/projects/{pid}/tasks", UUID.randomUUID()).param("status", statuses))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("Too many filter values, at most 10"));
+    verify(service, never())
+        .page(
+            any(),
+            any(org.springframework.data.domain.Pageable.class),
+            any(),
+            any(TaskFilter.class));
+  }
+
+  @Test
+  void list_withMalformedCursor_shouldReturnBadRequest() throws Exception {
+    mvc.perform(get("/api/projects/{pid}/tasks", UUID.randomUUID()).param("cursor", "%%%"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void list_includeArchived_readsBothTiersAndKeepsTheFlagInLinks() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    when(service.pageIncludingArchived(
+            eq(projectId),
+            any(org.springframework.data.domain.Pageable.class),
+            isNull(),
+            eq(TaskFilter.NONE)))
+        .thenAnswer(
+            inv ->
+                new org.springframework.data.domain.PageImpl<>(
+                    List.<TaskResponse>of(), inv.getArgument(1), 45));
+
+    mvc.perform(get("/api/projects/{pid}/tasks", projectId).param("includeArchived", "true"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("X-Total-Count", "45"))
+        .andExpect(
+            header()
+                .string(
+                    "Link", org.hamcrest.Matchers.containsString("includeArchived=true&page=1")));
+    verify(service, never())
+        .page(
+            any(),
+            any(org.springframework.data.domain.Pageable.class),
+            any(),
+            any(TaskFilter.class));
+  }
+
+  @Test
+  void list_includeArchivedWithCursor_shouldReturnBadRequest() throws Exception {
+    mvc.perform(
+            get("/api/projects/{pid}/tasks", UUID.randomUUID())
+                .param("includeArchived", "true")
+                .param("cursor", ""))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void get_shouldReturnTask() throws Exception {
     UUID projectId = UUID.randomUUID();
     UUID id = UUID.randomUUID();
     TaskResponse resp =
-        new TaskResponse(id, "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now());
+        new TaskResponse(id, "T1", null, TaskStatus.TODO, 1, null, projectId, Instant.now(), 0);
     when(service.get(projectId, id)).thenReturn(resp);
     mvc.perform(get("/api/projects/{pid}/tasks/{id}", projectId, id))
         .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"0\""))
         .andExpect(jsonPath("$.id").value(id.toString()));
   }
 
@@ -122,19 +307,126 @@ class TaskControllerTest {
     UUID id = UUID.randomUUID();
     TaskResponse resp =
         new TaskResponse(
-            id, "New", "D", TaskStatus.DONE, 2, LocalDate.now(), projectId, Instant.now());
-    when(service.update(eq(projectId), eq(id), any())).thenReturn(resp);
+            id, "New", "D", TaskStatus.DONE, 2, LocalDate.now(), projectId, Instant.now(), 0);
+    when(service.update(eq(projectId), eq(id), any(), isNull())).thenReturn(resp);
     mvc.perform(
             patch("/api/projects/{pid}/tasks/{id}", projectId, id)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(
                     om.writeValueAsString(
-                        new TaskRequest("New", "D", TaskStatus.DONE, 2, LocalDate.now()))))
+                        new TaskPatchRequest("New", "D", TaskStatus.DONE, 2, LocalDate.now()))))
         .andExpect(status().isOk())
         .andExpect(jsonPath("$.title").value("New"))
         .andExpect(jsonPath("$.status").value("DONE"));
   }
 
+  @Test
+  void update_passesIfMatchVersionAndReturnsNewETag() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    TaskResponse resp =
+        new TaskResponse(id, "T1", null, TaskStatus.DONE, 1, null, projectId, Instant.now(), 8);
+    when(service.update(eq(projectId), eq(id), any(), eq(Set.of(7L)))).thenReturn(resp);
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, id)
+                .header("If-Match", "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"8\""))
+        .andExpect(jsonPath("$.version").value(8));
+    verify(service)
+        .update(
+            projectId,
+            id,
+            new TaskPatchRequest(null, null, TaskStatus.DONE, null, null),
+            Set.of(7L));
+  }
+
+  @Test
+  void update_withStatusOnlyBody_isValidWithoutTitle() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    TaskResponse resp =
+        new TaskResponse(id, "T1", null, TaskStatus.DONE, 1, null, projectId, Instant.now(), 1);
+    when(service.update(eq(projectId), eq(id), any(), isNull())).thenReturn(resp);
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.status").value("DONE"));
+  }
+
+  @Test
+  void update_withBlankTitle_returnsBadRequest() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, UUID.randomUUID())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"    \"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.fieldErrors.title").isArray());
+    verify(service, never()).update(eq(projectId), any(), any(), any());
+  }
+
+  @Test
+  void update_withStaleIfMatch_returnsPreconditionFailed() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    when(service.update(eq(projectId), eq(id), any(), eq(Set.of(7L))))
+        .thenThrow(new PreconditionFailedException("Task was modified, current version is 9"));
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, id)
+                .header("If-Match", "\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void update_withWeakIfMatch_returnsPreconditionFailed() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    when(service.update(eq(projectId), eq(id), any(), eq(Set.of())))
+        .thenThrow(new PreconditionFailedException("Task was modified, current version is 7"));
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, id)
+                .header("If-Match", "W/\"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void update_withIfMatchList_passesEveryListedVersion() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    UUID id = UUID.randomUUID();
+    TaskResponse resp =
+        new TaskResponse(id, "T1", null, TaskStatus.DONE, 1, null, projectId, Instant.now(), 8);
+    when(service.update(eq(projectId), eq(id), any(), eq(Set.of(5L, 7L)))).thenReturn(resp);
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, id)
+                .header("If-Match", "\"5\", W/\"6\", \"7\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isOk())
+        .andExpect(header().string("ETag", "\"8\""));
+  }
+
+  @Test
+  void update_withMalformedIfMatch_returnsBadRequest() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    mvc.perform(
+            patch("/api/projects/{pid}/tasks/{id}", projectId, UUID.randomUUID())
+                .header("If-Match", "7")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\":\"DONE\"}"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message").value("If-Match must be * or a list of entity tags"));
+    verify(service, never()).update(eq(projectId), any(), any(), any());
+  }
+
   @Test
   void delete_shouldReturnNoContent() throws Exception {
     UUID projectId = UUID.randomUUID();
@@ -142,4 +434,32 @@ class TaskControllerTest {
     mvc.perform(delete("/api/projects/{pid}/tasks/{id}", projectId, id))
         .andExpect(status().isNoContent());
   }
+
+  @Test
+  void export_streamsBodyWithFormatContentType() throws Exception {
+    UUID projectId = UUID.randomUUID();
+    when(exportService.export(projectId, TaskFileFormat.CSV))
+        .thenReturn(out -> out.write("id,title\r\n".getBytes(StandardCharsets.UTF_8)));
+
+    MvcResult result =
+        mvc.perform(get("/api/projects/{pid}/tasks/export", projectId).param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    mvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("text/csv;charset=UTF-8"))
+        .andExpect(
+            header()
+                .string(
+                    "Content-Disposition", "attachment; filename=\"tasks-" + projectId + ".csv\""))
+        .andExpect(content().string("id,title\r\n"));
+  }
+
+  @Test
+  void export_withUnknownFormat_returns400() throws Exception {
+    mvc.perform(
+            get("/api/projects/{pid}/tasks/export", UUID.randomUUID()).param("format", "xlsx"))
+        .andExpect(status().isBadRequest());
+    verify(exportService, never()).export(any(), any());
+  }
 }
@@ -9,6 +9,7 @@ import com.orioljt.taskmanager.entity.TaskStatus;
 import com.orioljt.taskmanager.exception.GlobalExceptionHandler;
 import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
 import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.TaskExportService;
 import com.orioljt.taskmanager.service.TaskService;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -38,6 +39,11 @@ class TaskControllerValidationTest {
       return Mockito.mock(TaskService.class);
     }
 
+    @Bean
+    TaskExportService taskExportService() {
+      return Mockito.mock(TaskExportService.class);
+    }
+
     @Bean
     JwtUserProvisioningFilter jwtUserProvisioningFilter() {
       return Mockito.mock(JwtUserProvisioningFilter.class);
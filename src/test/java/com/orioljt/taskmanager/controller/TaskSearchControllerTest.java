@@ -0,0 +1,97 @@
+package com.orioljt.taskmanager.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.security.JwtUserProvisioningFilter;
+import com.orioljt.taskmanager.security.KeycloakJwtGrantedAuthoritiesConverter;
+import com.orioljt.taskmanager.service.TaskSearchService;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(TaskSearchController.class)
+@AutoConfigureMockMvc(addFilters = false)
+class TaskSearchControllerTest {
+
+  @Autowired MockMvc mvc;
+  @Autowired TaskSearchService service;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    TaskSearchService taskSearchService() {
+      return Mockito.mock(TaskSearchService.class);
+    }
+
+    @Bean
+    JwtUserProvisioningFilter jwtUserProvisioningFilter() {
+      return Mockito.mock(JwtUserProvisioningFilter.class);
+    }
+
+    @Bean
+    KeycloakJwtGrantedAuthoritiesConverter keycloakJwtGrantedAuthoritiesConverter() {
+      return Mockito.mock(KeycloakJwtGrantedAuthoritiesConverter.class);
+    }
+  }
+
+  @Test
+  void search_returnsHitsAndNextLinkKeepingTheQuery() throws Exception {
+    UUID id = UUID.randomUUID();
+    TaskResponse hit =
+        new TaskResponse(
+            id, "Quarterly report", TaskStatus.TODO, 1, null, UUID.randomUUID(), Instant.now(), 0);
+    Cursor next = Cursor.after(Sort.Order.desc("score"), 0.5f, id);
+    when(service.search(eq("report"), isNull(), eq(1)))
+        .thenReturn(new KeysetPage<>(List.of(hit), next));
+
+    mvc.perform(get("/api/tasks/search").param("q", "report").param("size", "1"))
+        .andExpect(status().isOk())
+        .andExpect(
+            header()
+                .string(
+                    "Link",
+                    containsString(
+                        "/api/tasks/search?q=report&size=1&cursor="
+                            + next.encode()
+                            + ">; rel=\"next\"")))
+        .andExpect(jsonPath("$[0].id").value(id.toString()));
+  }
+
+  @Test
+  void search_withoutQuery_returnsBadRequest() throws Exception {
+    mvc.perform(get("/api/tasks/search")).andExpect(status().isBadRequest());
+    verify(service, never()).search(anyString(), any(), anyInt());
+  }
+
+  @Test
+  void search_withListingCursor_returnsBadRequest() throws Exception {
+    String listCursor =
+        Cursor.after(Sort.Order.desc("createdAt"), Instant.now(), UUID.randomUUID()).encode();
+
+    mvc.perform(get("/api/tasks/search").param("q", "report").param("cursor", listCursor))
+        .andExpect(status().isBadRequest());
+  }
+}
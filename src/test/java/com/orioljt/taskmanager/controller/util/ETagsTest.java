@@ -0,0 +1,39 @@
+package com.orioljt.taskmanager.controller.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+class ETagsTest {
+
+  @Test
+  void expectedVersions_isNullWhenAbsentOrWildcard() {
+    assertThat(ETags.expectedVersions(null)).isNull();
+    assertThat(ETags.expectedVersions(" ")).isNull();
+    assertThat(ETags.expectedVersions("*")).isNull();
+  }
+
+  @Test
+  void expectedVersions_acceptsAnyStrongTagOfAList() {
+    assertThat(ETags.expectedVersions("\"3\"")).containsExactly(3L);
+    assertThat(ETags.expectedVersions("\"3\", \"5\",\"8\"")).containsExactly(3L, 5L, 8L);
+  }
+
+  @Test
+  void expectedVersions_skipsTagsThatCanNeverMatchStrongly() {
+    assertThat(ETags.expectedVersions("W/\"3\"")).isEmpty();
+    assertThat(ETags.expectedVersions("\"abc\", W/\"4\", \"5\"")).containsExactly(5L);
+    assertThat(ETags.expectedVersions("\"99999999999999999999\"")).isEmpty();
+  }
+
+  @Test
+  void expectedVersions_rejectsHeadersThatAreNotEntityTags() {
+    for (String header : new String[] {"3", "\"3", "\"3\" \"4\"", "w/\"3\"", "\"a b\""}) {
+      assertThatThrownBy(() -> ETags.expectedVersions(header))
+          .as(header)
+          .isInstanceOf(BadRequestException.class);
+    }
+  }
+}
@@ -0,0 +1,180 @@
+package com.orioljt.taskmanager.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Two in-memory H2 databases stand in for the primary and the replicas. */
+class ReplicaRoutingDataSourceTest {
+
+  private static final Duration RETRY_AFTER = Duration.ofSeconds(30);
+  private static final Duration WINDOW = Duration.ofSeconds(5);
+
+  private final MutableClock clock = new MutableClock();
+  private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(WINDOW, clock);
+  private final DataSource primary = database("primary");
+
+  @AfterEach
+  void clearAuthentication() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void readOnlyTransactionsUseTheReplica_everythingElseThePrimary() {
+    Routing routing = routing(List.of(database("replica")));
+
+    assertThat(routing.read()).isEqualTo("replica");
+    assertThat(routing.write()).isEqualTo("primary");
+    assertThat(routing.jdbc.queryForObject("SELECT name FROM marker", String.class))
+        .isEqualTo("primary");
+  }
+
+  @Test
+  void replicasAreUsedRoundRobin() {
+    Routing routing = routing(List.of(database("replica-a"), database("replica-b")));
+
+    assertThat(List.of(routing.read(), routing.read(), routing.read(), routing.read()))
+        .containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+  }
+
+  @Test
+  void unavailableReplicaIsSkippedUntilRetryAfter() throws SQLException {
+    DataSource down = mock(DataSource.class);
+    when(down.getConnection()).thenThrow(new SQLException("connection refused"));
+    Routing routing = routing(List.of(down));
+
+    assertThat(routing.read()).isEqualTo("primary");
+    assertThat(routing.read()).isEqualTo("primary");
+    assertThat(routing.replicas.availableReplicas()).isZero();
+    verify(down, times(1)).getConnection();
+
+    clock.advance(RETRY_AFTER);
+    assertThat(routing.read()).isEqualTo("primary");
+    verify(down, times(2)).getConnection();
+  }
+
+  @Test
+  void failingReplicaFallsBackToAHealthyOne() throws SQLException {
+    DataSource down = mock(DataSource.class);
+    when(down.getConnection()).thenThrow(new SQLException("connection refused"));
+    Routing routing = routing(List.of(down, database("replica")));
+
+    assertThat(routing.read()).isEqualTo("replica");
+    assertThat(routing.read()).isEqualTo("replica");
+    assertThat(routing.replicas.availableReplicas()).isEqualTo(1);
+  }
+
+  @Test
+  void ownWritesPinReadsToThePrimaryForTheWindow() {
+    Routing routing = routing(List.of(database("replica")));
+    authenticate("alice");
+    assertThat(routing.read()).isEqualTo("replica");
+
+    routing.write();
+    assertThat(routing.read()).isEqualTo("primary");
+
+    authenticate("bob");
+    assertThat(routing.read()).isEqualTo("replica");
+
+    authenticate("alice");
+    clock.advance(WINDOW);
+    assertThat(routing.read()).isEqualTo("replica");
+  }
+
+  @Test
+  void readOnlyTransactionsDoNotPin() {
+    Routing routing = routing(List.of(database("replica")));
+    authenticate("alice");
+
+    routing.read();
+
+    assertThat(routing.read()).isEqualTo("replica");
+  }
+
+  private Routing routing(List<DataSource> replicas) {
+    ReplicaRoutingDataSource readOnly =
+        new ReplicaRoutingDataSource(primary, replicas, tracker, RETRY_AFTER, clock);
+    DataSource dataSource = ReplicaRoutingDataSource.routing(primary, readOnly);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    transactionManager.addListener(tracker);
+    return new Routing(readOnly, new JdbcTemplate(dataSource), transactionManager);
+  }
+
+  private static DataSource database(String name) {
+    DriverManagerDataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    jdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+    jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+    return dataSource;
+  }
+
+  private static void authenticate(String name) {
+    SecurityContextHolder.getContext()
+        .setAuthentication(new TestingAuthenticationToken(name, null, "ROLE_USER"));
+  }
+
+  private record Routing(
+      ReplicaRoutingDataSource replicas,
+      JdbcTemplate jdbc,
+      DataSourceTransactionManager transactionManager) {
+
+    String read() {
+      TransactionTemplate tx = new TransactionTemplate(transactionManager);
+      tx.setReadOnly(true);
+      return tx.execute(s -> jdbc.queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    String write() {
+      return new TransactionTemplate(transactionManager)
+          .execute(
+              s -> {
+                jdbc.update("UPDATE marker SET name = name");
+                return jdbc.queryForObject("SELECT name FROM marker", String.class);
+              });
+    }
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
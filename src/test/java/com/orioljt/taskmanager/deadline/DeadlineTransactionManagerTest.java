@@ -0,0 +1,48 @@
+package com.orioljt.taskmanager.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+class DeadlineTransactionManagerTest {
+
+  private final DeadlineTransactionManager manager = new DeadlineTransactionManager();
+
+  @AfterEach
+  void clear() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void withoutADeadline_keepsTheDeclaredTimeout() {
+    DefaultTransactionDefinition declared = new DefaultTransactionDefinition();
+    assertThat(manager.determineTimeout(declared)).isEqualTo(TransactionDefinition.TIMEOUT_DEFAULT);
+
+    declared.setTimeout(5);
+    assertThat(manager.determineTimeout(declared)).isEqualTo(5);
+  }
+
+  @Test
+  void withADeadline_usesTheTimeLeftRoundedUpToSeconds() {
+    RequestDeadline.set(new RequestDeadline(Duration.ofMillis(1_500)));
+    DefaultTransactionDefinition declared = new DefaultTransactionDefinition();
+    assertThat(manager.determineTimeout(declared)).isEqualTo(2);
+
+    declared.setTimeout(1);
+    assertThat(manager.determineTimeout(declared)).isEqualTo(1);
+  }
+
+  @Test
+  void pastTheDeadline_noTransactionStarts() {
+    RequestDeadline.set(new RequestDeadline(Duration.ofMillis(-1)));
+
+    assertThatThrownBy(() -> manager.determineTimeout(new DefaultTransactionDefinition()))
+        .isInstanceOf(TransactionTimedOutException.class);
+  }
+}
@@ -0,0 +1,120 @@
+package com.orioljt.taskmanager.deadline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+class RequestDeadlineInterceptorTest {
+
+  @Deadline
+  static class Endpoints {
+    public void byDefault() {}
+
+    @Deadline("${app.deadline.bulk:PT30S}")
+    public void bulk() {}
+
+    @Deadline("-")
+    public void unbounded() {}
+  }
+
+  static class Unannotated {
+    public void plain() {}
+  }
+
+  private final RequestDeadlineInterceptor interceptor =
+      new RequestDeadlineInterceptor(
+          new MockEnvironment().withProperty("app.deadline.default", "PT10S"));
+  private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/x");
+  private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+  @AfterEach
+  void clear() {
+    RequestDeadline.clear();
+  }
+
+  @Test
+  void preHandle_appliesTheEndpointDefault() throws Exception {
+    interceptor.preHandle(request, response, handler(new Endpoints(), "byDefault"));
+
+    assertThat(RequestDeadline.current().remainingMillis()).isBetween(9_000L, 10_000L);
+  }
+
+  @Test
+  void preHandle_prefersTheMethodsDeadlineOverTheControllers() throws Exception {
+    interceptor.preHandle(request, response, handler(new Endpoints(), "bulk"));
+
+    assertThat(RequestDeadline.current().remainingMillis()).isBetween(29_000L, 30_000L);
+  }
+
+  @Test
+  void preHandle_leavesUnannotatedAndUnboundedEndpointsAlone() throws Exception {
+    interceptor.preHandle(request, response, handler(new Unannotated(), "plain"));
+    assertThat(RequestDeadline.current()).isNull();
+
+    interceptor.preHandle(request, response, handler(new Endpoints(), "unbounded"));
+    assertThat(RequestDeadline.current()).isNull();
+  }
+
+  @Test
+  void header_canLowerTheDeadlineButNotRaiseIt() throws Exception {
+    request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "500ms");
+    interceptor.preHandle(request, response, handler(new Endpoints(), "byDefault"));
+    assertThat(RequestDeadline.current().remainingMillis()).isLessThanOrEqualTo(500);
+
+    MockHttpServletRequest greedy = new MockHttpServletRequest("GET", "/api/x");
+    greedy.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "1m");
+    interceptor.preHandle(greedy, response, handler(new Endpoints(), "byDefault"));
+    assertThat(RequestDeadline.current().remainingMillis()).isLessThanOrEqualTo(10_000);
+  }
+
+  @Test
+  void header_mustBeAPositiveDuration() {
+    request.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "soon");
+    assertThatThrownBy(
+            () -> interceptor.preHandle(request, response, handler(new Endpoints(), "byDefault")))
+        .isInstanceOf(BadRequestException.class);
+
+    MockHttpServletRequest zero = new MockHttpServletRequest("GET", "/api/x");
+    zero.addHeader(RequestDeadlineInterceptor.TIMEOUT_HEADER, "0");
+    assertThatThrownBy(
+            () -> interceptor.preHandle(zero, response, handler(new Endpoints(), "byDefault")))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void afterCompletion_countsRequestsThatTimedOutAndClearsTheDeadline() throws Exception {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    interceptor.bindTo(registry);
+    HandlerMethod handler = handler(new Endpoints(), "byDefault");
+    request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/x");
+
+    interceptor.preHandle(request, response, handler);
+    interceptor.afterCompletion(request, response, handler, null);
+    interceptor.preHandle(request, response, handler);
+    response.setStatus(504);
+    interceptor.afterCompletion(request, response, handler, null);
+
+    assertThat(RequestDeadline.current()).isNull();
+    assertThat(
+            registry
+                .get(RequestDeadlineInterceptor.EXCEEDED_METRIC)
+                .tag("method", "GET")
+                .tag("uri", "/api/x")
+                .counter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  private static HandlerMethod handler(Object bean, String method) throws NoSuchMethodException {
+    return new HandlerMethod(bean, method);
+  }
+}
@@ -0,0 +1,86 @@
+package com.orioljt.taskmanager.entity.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Compares batched insert throughput into a UUID primary key for random v4 and time-ordered v7
+ * ids. Uses PostgreSQL when {@code TEST_POSTGRES_URL} (plus {@code TEST_POSTGRES_USER} and {@code
+ * TEST_POSTGRES_PASSWORD}) is set, where it also reports the primary-key index size, and an
+ * in-memory H2 database otherwise. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+class UuidInsertBenchmark {
+
+  private static final int ROWS = 500_000;
+  private static final int BATCH = 1_000;
+
+  private SingleConnectionDataSource dataSource;
+  private JdbcTemplate jdbc;
+  private boolean postgres;
+
+  @BeforeEach
+  void connect() {
+    String url = System.getenv("TEST_POSTGRES_URL");
+    postgres = url != null && !url.isBlank();
+    dataSource =
+        postgres
+            ? new SingleConnectionDataSource(
+                url,
+                System.getenv("TEST_POSTGRES_USER"),
+                System.getenv("TEST_POSTGRES_PASSWORD"),
+                true)
+            : new SingleConnectionDataSource("jdbc:h2:mem:uuid_bench", "sa", "", true);
+    jdbc = new JdbcTemplate(dataSource);
+  }
+
+  @AfterEach
+  void disconnect() {
+    jdbc.execute("DROP TABLE IF EXISTS uuid_bench");
+    dataSource.destroy();
+  }
+
+  @Test
+  void insertThroughput_randomV4VersusTimeOrderedV7() {
+    run("v4", UUID::randomUUID, ROWS / 10);
+    run("v7", UuidV7::randomUuid, ROWS / 10);
+
+    String v4 = run("v4", UUID::randomUUID, ROWS);
+    String v7 = run("v7", UuidV7::randomUuid, ROWS);
+    System.out.printf("UUID primary-key inserts (%s):%n  %s%n  %s%n", database(), v4, v7);
+  }
+
+  /** Inserts {@code rows} rows into a fresh table and returns a one-line summary. */
+  private String run(String label, Supplier<UUID> ids, int rows) {
+    jdbc.execute("DROP TABLE IF EXISTS uuid_bench");
+    jdbc.execute("CREATE TABLE uuid_bench (id UUID PRIMARY KEY, payload VARCHAR(100) NOT NULL)");
+    long start = System.nanoTime();
+    for (int done = 0; done < rows; done += BATCH) {
+      List<Object[]> batch = new ArrayList<>(BATCH);
+      for (int i = 0; i < BATCH; i++) {
+        batch.add(new Object[] {ids.get(), "row " + (done + i)});
+      }
+      jdbc.batchUpdate("INSERT INTO uuid_bench (id, payload) VALUES (?, ?)", batch);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    String summary = String.format("%s: %,.0f rows/s", label, rows / seconds);
+    if (postgres) {
+      Long indexBytes =
+          jdbc.queryForObject("SELECT pg_relation_size('uuid_bench_pkey')", Long.class);
+      summary += String.format(", pkey %,d KiB", indexBytes / 1024);
+    }
+    return summary;
+  }
+
+  private String database() {
+    return postgres ? "PostgreSQL" : "H2";
+  }
+}
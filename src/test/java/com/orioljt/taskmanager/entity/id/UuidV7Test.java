@@ -0,0 +1,48 @@
+package com.orioljt.taskmanager.entity.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidV7Test {
+
+  @Test
+  void randomUuid_hasVersion7AndRfcVariant() {
+    UUID id = UuidV7.randomUuid();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+  }
+
+  @Test
+  void randomUuid_embedsCurrentTimestamp() {
+    long before = System.currentTimeMillis();
+    UUID id = UuidV7.randomUuid();
+    long after = System.currentTimeMillis();
+
+    assertThat(UuidV7.timestamp(id)).isBetween(before, after + 1);
+  }
+
+  @Test
+  void generate_isStrictlyIncreasingWithinAndAcrossMilliseconds() {
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      // 10,000 ids over 3 ms overflows the 4,096-per-ms counter, then the clock steps back
+      ids.add(UuidV7.generate(1_700_000_000_000L + i / 4_000));
+    }
+    ids.add(UuidV7.generate(1_600_000_000_000L));
+
+    for (int i = 1; i < ids.size(); i++) {
+      // Unsigned comparison of the high bits is the byte order PostgreSQL sorts uuid by
+      assertThat(
+              Long.compareUnsigned(
+                  ids.get(i).getMostSignificantBits(), ids.get(i - 1).getMostSignificantBits()))
+          .isPositive();
+    }
+    assertThat(new HashSet<>(ids)).hasSize(ids.size());
+  }
+}
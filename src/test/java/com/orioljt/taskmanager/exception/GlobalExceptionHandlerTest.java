@@ -16,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.core.MethodParameter;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -80,4 +82,20 @@ class GlobalExceptionHandlerTest {
   ErrorResponse body = (ErrorResponse) java.util.Objects.requireNonNull(resp.getBody());
   assertThat(body.status()).isEqualTo(500);
   }
+
+  @Test
+  void handleDeadlineExceeded_returns504() {
+    ResponseEntity<Object> resp =
+        handler.handleDeadlineExceeded(new TransactionTimedOutException("deadline"));
+    ErrorResponse body = (ErrorResponse) java.util.Objects.requireNonNull(resp.getBody());
+    assertThat(body.status()).isEqualTo(504);
+  }
+
+  @Test
+  void handleUnavailable_returns503() {
+    ResponseEntity<Object> resp =
+        handler.handleUnavailable(new CannotCreateTransactionException("pool exhausted"));
+    ErrorResponse body = (ErrorResponse) java.util.Objects.requireNonNull(resp.getBody());
+    assertThat(body.status()).isEqualTo(503);
+  }
 }
@@ -3,6 +3,7 @@ package com.orioljt.taskmanager.mapper;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.orioljt.taskmanager.dto.ProjectRequest;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.dto.UpdateUserRequest;
@@ -25,7 +26,7 @@ class MapperTests {
     Project p = mapper.toNewEntity(new ProjectRequest("MyProj"), owner);
     assertThat(p.getName()).isEqualTo("MyProj");
     assertThat(p.getOwner()).isSameAs(owner);
-    assertThat(owner.getProjects()).contains(p);
+    assertThat(owner.getProjects()).isEmpty();
   }
 
   @Test
@@ -44,7 +45,7 @@ class MapperTests {
     TaskRequest req = new TaskRequest("Title", "Desc", null, 3, LocalDate.now());
     Task t = mapper.toNewEntity(req, project);
     assertThat(t.getProject()).isSameAs(project);
-    assertThat(project.getTasks()).contains(t);
+    assertThat(project.getTasks()).isEmpty();
     assertThat(t.getStatus()).isEqualTo(TaskStatus.TODO);
   }
 
@@ -54,7 +55,7 @@ class MapperTests {
     Task t = new Task();
     t.setTitle("A");
     t.setStatus(TaskStatus.TODO);
-    mapper.updateEntity(t, new TaskRequest("B", null, TaskStatus.DONE, null, null));
+    mapper.updateEntity(t, new TaskPatchRequest("B", null, TaskStatus.DONE, null, null));
     assertThat(t.getTitle()).isEqualTo("B");
     assertThat(t.getStatus()).isEqualTo(TaskStatus.DONE);
   }
@@ -0,0 +1,58 @@
+package com.orioljt.taskmanager.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.orioljt.taskmanager.exception.BadRequestException;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class CursorTest {
+
+  private static final Set<String> ALLOWED = Set.of("createdAt", "priority", "title");
+
+  @Test
+  void encodeDecode_roundTripsValueAndOrder() {
+    UUID id = UUID.randomUUID();
+    Instant createdAt = Instant.parse("2025-08-20T10:15:30.123456Z");
+    Cursor cursor = Cursor.after(Sort.Order.desc("createdAt"), createdAt, id);
+
+    Cursor decoded = Cursor.decode(cursor.encode(), ALLOWED);
+
+    assertThat(decoded).isEqualTo(cursor);
+    assertThat(decoded.value()).isEqualTo(createdAt.toString());
+    assertThat(decoded.order()).isEqualTo(Sort.Order.desc("createdAt"));
+  }
+
+  @Test
+  void encodeDecode_keepsNullValuesDistinctFromText() {
+    UUID id = UUID.randomUUID();
+    Cursor nullPriority = Cursor.after(Sort.Order.asc("priority"), null, id);
+    Cursor dashTitle = Cursor.after(Sort.Order.asc("title"), "-", id);
+
+    assertThat(Cursor.decode(nullPriority.encode(), ALLOWED).value()).isNull();
+    assertThat(Cursor.decode(dashTitle.encode(), ALLOWED).value()).isEqualTo("-");
+  }
+
+  @Test
+  void encode_isUrlSafe() {
+    Cursor cursor = Cursor.after(Sort.Order.asc("title"), "a/b+c?&=", UUID.randomUUID());
+    assertThat(cursor.encode()).matches("[A-Za-z0-9_-]+");
+  }
+
+  @Test
+  void decode_rejectsGarbage() {
+    assertThatThrownBy(() -> Cursor.decode("not a cursor!", ALLOWED))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void decode_rejectsPropertiesOutsideTheAllowlist() {
+    String token = Cursor.after(Sort.Order.asc("password"), "x", UUID.randomUUID()).encode();
+    assertThatThrownBy(() -> Cursor.decode(token, ALLOWED))
+        .isInstanceOf(BadRequestException.class);
+  }
+}
@@ -0,0 +1,113 @@
+package com.orioljt.taskmanager.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class TotalCounterTest {
+
+  private final MutableClock clock = new MutableClock();
+  private final TotalCounter counter =
+      new TotalCounter(
+          mock(JdbcTemplate.class),
+          mock(DatabasePlatform.class),
+          CountMode.EXACT,
+          Duration.ofSeconds(30),
+          100,
+          clock);
+  private final TotalCounter.Scope scope = TotalCounter.tasksOf(UUID.randomUUID());
+  private final AtomicLong countQueries = new AtomicLong();
+
+  @Test
+  void resolve_fallsBackToConfiguredMode() {
+    assertThat(counter.resolve(null)).isEqualTo(CountMode.EXACT);
+    assertThat(counter.resolve(CountMode.NONE)).isEqualTo(CountMode.NONE);
+  }
+
+  @Test
+  void none_returnsTheSliceUntouched() {
+    Slice<String> slice = slice(0, true);
+
+    assertThat(counter.withTotal(slice, CountMode.NONE, scope, this::count)).isSameAs(slice);
+    assertThat(countQueries).hasValue(0);
+  }
+
+  @Test
+  void cached_reusesTotalUntilInvalidatedOrExpired() {
+    counter.withTotal(slice(0, true), CountMode.CACHED, scope, this::count);
+    counter.withTotal(slice(0, true), CountMode.CACHED, scope, this::count);
+    assertThat(countQueries).hasValue(1);
+
+    counter.invalidate(scope);
+    counter.withTotal(slice(0, true), CountMode.CACHED, scope, this::count);
+    assertThat(countQueries).hasValue(2);
+
+    clock.advance(Duration.ofSeconds(31));
+    counter.withTotal(slice(0, true), CountMode.CACHED, scope, this::count);
+    assertThat(countQueries).hasValue(3);
+  }
+
+  @Test
+  void estimated_fallsBackToExactCountWhenNotOnPostgres() {
+    Page<String> page =
+        (Page<String>) counter.withTotal(slice(0, true), CountMode.ESTIMATED, scope, this::count);
+
+    assertThat(page.getTotalElements()).isEqualTo(50);
+    assertThat(countQueries).hasValue(1);
+  }
+
+  @Test
+  void staleTotal_isRaisedToWhatTheSliceHasSeen() {
+    Page<String> page =
+        (Page<String>) counter.withTotal(slice(3, true), CountMode.CACHED, scope, () -> 5);
+
+    assertThat(page.getTotalElements()).isEqualTo(13);
+    assertThat(page.hasNext()).isTrue();
+  }
+
+  private long count() {
+    countQueries.incrementAndGet();
+    return 50;
+  }
+
+  private static Slice<String> slice(int page, boolean hasNext) {
+    return new SliceImpl<>(List.of("a", "b", "c"), PageRequest.of(page, 3), hasNext);
+  }
+
+  private static final class MutableClock extends Clock {
+    private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(java.time.ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.pagination.KeysetSpecifications;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Walks every keyset page for each sortable task field, including nullable ones and duplicate
+ * values, and checks the result matches a single ordered query.
+ */
+@DataJpaTest
+@Import(DatabasePlatform.class)
+// Uses the test URL, whose H2 settings order NULLs like PostgreSQL
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class KeysetPaginationTest {
+
+  private static final int TASKS = 23;
+  private static final int PAGE_SIZE = 4;
+  private static final Set<String> SORTABLE =
+      Set.of("createdAt", "title", "status", "priority", "dueDate", "id");
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskRepository taskRepository;
+
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    User owner = persistUser(em, "keyset-" + UUID.randomUUID() + "@example.com");
+    project = persistProject(em, owner, "Keyset project");
+    Project other = persistProject(em, owner, "Other project");
+    for (int i = 0; i < TASKS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + (i % 5));
+      task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+      task.setPriority(i % 4 == 0 ? null : i % 3 + 1);
+      task.setDueDate(i % 3 == 0 ? null : LocalDate.now().plusDays(i % 2));
+      task.setProject(project);
+      em.persist(task);
+    }
+    Task foreign = new Task();
+    foreign.setTitle("Foreign task");
+    foreign.setProject(other);
+    em.persist(foreign);
+    flushAndClear(em);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+    "createdAt, DESC",
+    "createdAt, ASC",
+    "title, ASC",
+    "status, DESC",
+    "priority, ASC",
+    "priority, DESC",
+    "dueDate, ASC",
+    "dueDate, DESC",
+    "id, ASC"
+  })
+  void walkingAllPages_visitsEveryTaskOnceInSortOrder(String property, Sort.Direction direction) {
+    Sort.Order order = new Sort.Order(direction, property);
+    Sort sort = KeysetSpecifications.sort(order);
+    List<UUID> expected =
+        taskRepository.findAll(TaskSpecifications.inProject(project.getId()), sort).stream()
+            .map(Task::getId)
+            .toList();
+
+    List<UUID> walked = new ArrayList<>();
+    String token = null;
+    do {
+      Specification<Task> spec = TaskSpecifications.inProject(project.getId());
+      if (token != null) {
+        spec = spec.and(KeysetSpecifications.after(Cursor.decode(token, SORTABLE)));
+      }
+      List<Task> rows =
+          taskRepository.findBy(spec, q -> q.sortBy(sort).limit(PAGE_SIZE + 1).all());
+      KeysetPage<UUID> page = KeysetPage.of(rows, PAGE_SIZE, order, Task::getId, Task::getId);
+      walked.addAll(page.content());
+      token = page.hasNext() ? page.next().encode() : null;
+    } while (token != null);
+
+    assertThat(expected).hasSize(TASKS);
+    assertThat(walked).containsExactlyElementsOf(expected);
+  }
+}
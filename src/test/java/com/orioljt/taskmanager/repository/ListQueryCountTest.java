@@ -0,0 +1,114 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Asserts that reading a page of task or project responses issues a constant number of SQL
+ * statements and hydrates no entity, neither the rows nor their parent project or owner.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DatabasePlatform.class)
+class ListQueryCountTest {
+
+  private static final int ROWS = 150;
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskRepository taskRepository;
+  @Autowired ProjectRepository projectRepository;
+
+  private Statistics stats;
+  private User owner;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    owner = persistUser(em, "counts@example.com");
+    for (int i = 0; i < ROWS; i++) {
+      Project p = persistProject(em, owner, "Project " + i);
+      if (i == 0) project = p;
+    }
+    for (int i = 0; i < ROWS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setProject(project);
+      em.persist(task);
+    }
+    em.flush();
+  }
+
+  @Test
+  void taskPage_usesConstantStatementsAndLoadsNoEntities() {
+    long small = statementsFor(() -> taskPage(10));
+    long loadsBeforeLargePage = stats.getEntityLoadCount();
+    long large = statementsFor(() -> taskPage(100));
+
+    assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    assertThat(stats.getEntityLoadCount()).isZero();
+    assertThat(loadsBeforeLargePage).isZero();
+  }
+
+  @Test
+  void projectPage_usesConstantStatementsAndLoadsNoEntities() {
+    long small = statementsFor(() -> projectPage(10));
+    long large = statementsFor(() -> projectPage(100));
+
+    assertThat(large).isEqualTo(small).isLessThanOrEqualTo(2);
+    assertThat(stats.getEntityLoadCount()).isZero();
+  }
+
+  @Test
+  void taskExportStream_usesOneStatementAndLoadsNoEntities() {
+    em.clear();
+    stats.clear();
+
+    long rows;
+    try (var stream = taskRepository.streamByProjectId(project.getId())) {
+      rows = stream.count();
+    }
+
+    assertThat(rows).isEqualTo(ROWS);
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(stats.getEntityLoadCount()).isZero();
+  }
+
+  private List<?> taskPage(int size) {
+    return taskRepository
+        .findSummariesByProjectId(project.getId(), PageRequest.of(0, size, Sort.by("createdAt")))
+        .getContent();
+  }
+
+  private List<?> projectPage(int size) {
+    return projectRepository
+        .findResponsesByOwnerId(owner.getId(), PageRequest.of(0, size, Sort.by("createdAt")))
+        .getContent();
+  }
+
+  private long statementsFor(Supplier<List<?>> query) {
+    em.clear();
+    stats.clear();
+    assertThat(query.get()).isNotEmpty();
+    return stats.getPrepareStatementCount();
+  }
+}
@@ -0,0 +1,128 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Compares reading a page of responses through managed entities plus a mapper with reading it
+ * through the constructor projections the services use, in time and bytes allocated per page. Run
+ * with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import(DatabasePlatform.class)
+class ListReadPathBenchmark {
+
+  private static final int ROWS = 5_000;
+  private static final int PAGE_SIZE = 100;
+  private static final int WARMUP = 300;
+  private static final int MEASURED = 2_000;
+
+  private static final com.sun.management.ThreadMXBean THREADS =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskRepository taskRepository;
+  @Autowired ProjectRepository projectRepository;
+
+  private final TaskMapper taskMapper = new TaskMapper();
+  private final ProjectMapper projectMapper = new ProjectMapper();
+
+  @Test
+  void taskAndProjectPages_entityVersusProjection() {
+    User owner = persistUser(em, "read-benchmark@example.com");
+    UUID projectId = null;
+    for (int i = 0; i < ROWS; i++) {
+      Project project = persistProject(em, owner, "Project " + i);
+      if (projectId == null) projectId = project.getId();
+    }
+    Project project = em.find(Project.class, projectId);
+    for (int i = 0; i < ROWS; i++) {
+      Task task = new Task();
+      task.setTitle("Task " + i);
+      task.setDescription("Description of task " + i);
+      task.setProject(project);
+      em.persist(task);
+    }
+    flushAndClear(em);
+
+    UUID tasksOf = projectId;
+    UUID ownerId = owner.getId();
+    Pageable pageable = PageRequest.of(3, PAGE_SIZE, Sort.by("createdAt"));
+
+    report(
+        "task page",
+        () ->
+            taskRepository
+                .findBy(
+                    TaskSpecifications.inProject(tasksOf),
+                    q -> q.sortBy(pageable.getSort()).page(pageable))
+                .map(taskMapper::toSummary)
+                .getContent(),
+        () -> taskRepository.findSummariesByProjectId(tasksOf, pageable).getContent());
+    report(
+        "project page",
+        () ->
+            projectRepository
+                .findBy(
+                    ProjectSpecifications.ownedBy(ownerId),
+                    q -> q.sortBy(pageable.getSort()).page(pageable))
+                .map(projectMapper::toResponse)
+                .getContent(),
+        () -> projectRepository.findResponsesByOwnerId(ownerId, pageable).getContent());
+  }
+
+  private void report(String name, Supplier<List<?>> viaEntities, Supplier<List<?>> viaProjection) {
+    run(viaEntities, WARMUP);
+    run(viaProjection, WARMUP);
+    long[] entities = run(viaEntities, MEASURED);
+    long[] projection = run(viaProjection, MEASURED);
+
+    System.out.printf(
+        "%s (%d rows): entities %.1f us, %,d B/page; projection %.1f us, %,d B/page"
+            + " (%.2fx time, %.2fx bytes)%n",
+        name,
+        PAGE_SIZE,
+        entities[0] / 1_000.0,
+        entities[1],
+        projection[0] / 1_000.0,
+        projection[1],
+        (double) entities[0] / projection[0],
+        (double) entities[1] / projection[1]);
+  }
+
+  /** Reads {@code iterations} pages, each in a fresh persistence context; returns {ns, B}/page. */
+  private long[] run(Supplier<List<?>> page, int iterations) {
+    long threadId = Thread.currentThread().threadId();
+    long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      page.get();
+      em.clear();
+    }
+    long nanos = System.nanoTime() - start;
+    long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+    return new long[] {nanos / iterations, bytes / iterations};
+  }
+}
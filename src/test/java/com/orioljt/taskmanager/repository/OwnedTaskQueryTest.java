@@ -0,0 +1,115 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.entity.TaskStatus.DONE;
+import static com.orioljt.taskmanager.entity.TaskStatus.TODO;
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Checks that owner-scoped task reads and writes take a single statement, hydrate only the task,
+ * and match nothing for another owner or another project.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DatabasePlatform.class)
+class OwnedTaskQueryTest {
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskRepository taskRepository;
+
+  private Statistics stats;
+  private User owner;
+  private User stranger;
+  private Project project;
+  private Project otherProject;
+  private Task task;
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    owner = persistUser(em, "owner@example.com");
+    stranger = persistUser(em, "stranger@example.com");
+    project = persistProject(em, owner, "Owned project");
+    otherProject = persistProject(em, owner, "Other project");
+    task = new Task();
+    task.setTitle("Owned task");
+    task.setPriority(2);
+    task.setProject(project);
+    em.persist(task);
+    flushAndClear(em);
+    stats.clear();
+  }
+
+  @Test
+  void findOwned_loadsOnlyTheTaskInOneStatement() {
+    Task found = taskRepository.findOwned(task.getId(), project.getId(), owner.getId()).get();
+
+    assertThat(found.getProject().getId()).isEqualTo(project.getId());
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(stats.getEntityLoadCount()).isEqualTo(1);
+  }
+
+  @Test
+  void findOwned_matchesNothingForAnotherOwnerOrProject() {
+    assertThat(taskRepository.findOwned(task.getId(), project.getId(), stranger.getId())).isEmpty();
+    assertThat(taskRepository.findOwned(task.getId(), otherProject.getId(), owner.getId()))
+        .isEmpty();
+  }
+
+  @Test
+  void deleteOwned_removesOnlyForTheOwnerInOneStatement() {
+    assertThat(taskRepository.deleteOwned(task.getId(), project.getId(), stranger.getId()))
+        .isEmpty();
+    assertThat(taskRepository.deleteOwned(task.getId(), otherProject.getId(), owner.getId()))
+        .isEmpty();
+    stats.clear();
+
+    assertThat(taskRepository.deleteOwned(task.getId(), project.getId(), owner.getId()))
+        .contains(new TaskCounts(TODO, 2));
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(taskRepository.existsById(task.getId())).isFalse();
+  }
+
+  @Test
+  void updateStatusIfVersion_returnsTheCountChangeFromTheUpdateAlone() {
+    assertThat(
+            taskRepository.updateStatusIfVersion(task.getId(), project.getId(), DONE, List.of(0L)))
+        .contains(new TaskCounts(0, -1, 0, 1, 0, 0, 0));
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+
+    em.clear();
+    Task updated = em.find(Task.class, task.getId());
+    assertThat(updated.getStatus()).isEqualTo(DONE);
+    assertThat(updated.getVersion()).isEqualTo(1);
+  }
+
+  @Test
+  void updateStatusIfVersion_matchesNothingForAnotherVersionOrProject() {
+    assertThat(
+            taskRepository.updateStatusIfVersion(task.getId(), project.getId(), DONE, List.of(1L)))
+        .isEmpty();
+    assertThat(
+            taskRepository.updateStatusIfVersion(
+                task.getId(), otherProject.getId(), DONE, List.of(0L)))
+        .isEmpty();
+    assertThat(em.find(Task.class, task.getId()).getVersion()).isZero();
+  }
+}
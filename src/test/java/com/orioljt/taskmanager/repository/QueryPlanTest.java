@@ -0,0 +1,318 @@
+package com.orioljt.taskmanager.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Runs {@code EXPLAIN} for every listing access path of {@link TaskRepository} and {@link
+ * ProjectRepository} against a generated PostgreSQL dataset and fails when a plan contains a
+ * sequential scan or a sort node, i.e. when an allowlisted sort is not served by an index, and
+ * checks that title filters and full-text search use their GIN indexes.
+ *
+ * <p>The statements mirror the SQL Hibernate emits for the repository methods noted next to them.
+ * The suite needs a real PostgreSQL and only runs when {@code TEST_POSTGRES_URL} is set (plus
+ * {@code TEST_POSTGRES_USER} and {@code TEST_POSTGRES_PASSWORD}); it migrates a throwaway schema
+ * with Flyway and drops it afterwards. {@code TEST_TASKS_PARTITIONING} ({@code none}, {@code hash}
+ * or {@code range}) picks the layout of the tasks table.
+ */
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+  private static final int OWNERS = 100;
+  private static final int PROJECTS_PER_OWNER = 200;
+  private static final int TASK_PROJECTS = 50;
+  private static final int TASKS_PER_PROJECT = 2_000;
+
+  private static final List<String> TASK_SORTS =
+      List.of("created_at", "title", "status", "priority", "due_date", "id");
+  private static final List<String> PROJECT_SORTS = List.of("created_at", "name", "id");
+
+  private final String schema = "plan_check_" + UUID.randomUUID().toString().replace("-", "");
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private SingleConnectionDataSource dataSource;
+  private JdbcTemplate jdbc;
+  private UUID ownerId;
+  private UUID projectId;
+
+  @BeforeAll
+  void migrateAndSeed() {
+    dataSource =
+        new SingleConnectionDataSource(
+            System.getenv("TEST_POSTGRES_URL"),
+            System.getenv("TEST_POSTGRES_USER"),
+            System.getenv("TEST_POSTGRES_PASSWORD"),
+            true);
+    jdbc = new JdbcTemplate(dataSource);
+    Flyway.configure()
+        .dataSource(dataSource)
+        .schemas(schema)
+        .defaultSchema(schema)
+        .createSchemas(true)
+        .placeholders(
+            Map.of(
+                "tasks_partitioning",
+                Objects.requireNonNullElse(System.getenv("TEST_TASKS_PARTITIONING"), "none"),
+                "tasks_hash_partitions",
+                "16"))
+        .load()
+        .migrate();
+    jdbc.execute("SET search_path TO " + schema);
+
+    jdbc.update(
+        "INSERT INTO users (id, email, password)"
+            + " SELECT gen_random_uuid(), 'owner' || g || '@example.com', 'x'"
+            + " FROM generate_series(1, ?) g",
+        OWNERS);
+    jdbc.update(
+        "INSERT INTO projects (id, name, owner_id, created_at)"
+            + " SELECT gen_random_uuid(), 'Project ' || g, u.id, now() - g * interval '1 minute'"
+            + " FROM users u CROSS JOIN generate_series(1, ?) g",
+        PROJECTS_PER_OWNER);
+    jdbc.update(
+        "INSERT INTO tasks (id, title, status, priority, due_date, project_id, created_at)"
+            + " SELECT gen_random_uuid(), 'Task ' || (g % 97),"
+            + " (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[g % 3 + 1],"
+            + " CASE WHEN g % 4 = 0 THEN NULL ELSE g % 3 + 1 END,"
+            + " CASE WHEN g % 5 = 0 THEN NULL ELSE current_date + g % 30 END,"
+            + " p.id, now() - g * interval '1 second'"
+            + " FROM (SELECT id FROM projects ORDER BY id LIMIT ?) p"
+            + " CROSS JOIN generate_series(1, ?) g",
+        TASK_PROJECTS,
+        TASKS_PER_PROJECT);
+    // Archived copies of the DONE tasks, so listings with includeArchived plan over real rows
+    jdbc.update(
+        "INSERT INTO tasks_archive (id, title, status, priority, due_date, project_id, created_at)"
+            + " SELECT id, title, status, priority, due_date, project_id, created_at FROM tasks"
+            + " WHERE status = 'DONE'");
+    // Stats rows as the task writes would have left them (V11 ran before there were projects)
+    jdbc.update(
+        "INSERT INTO project_stats (project_id, task_count)"
+            + " SELECT p.id, COUNT(t.id) FROM projects p LEFT JOIN tasks t ON t.project_id = p.id"
+            + " GROUP BY p.id");
+    jdbc.execute("VACUUM ANALYZE users, projects, tasks, tasks_archive, project_stats");
+
+    ownerId = jdbc.queryForObject("SELECT owner_id FROM projects LIMIT 1", UUID.class);
+    projectId = jdbc.queryForObject("SELECT project_id FROM tasks LIMIT 1", UUID.class);
+  }
+
+  @AfterAll
+  void dropSchema() {
+    if (jdbc != null) {
+      jdbc.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+    }
+    if (dataSource != null) {
+      dataSource.destroy();
+    }
+  }
+
+  Stream<Arguments> accessPaths() {
+    List<Arguments> paths = new ArrayList<>();
+    for (String column : TASK_SORTS) {
+      for (String dir : List.of("asc", "desc")) {
+        // TaskRepository.findSummariesByProjectId(projectId, pageable), first and a later page
+        paths.add(
+            tasks(
+                "page by " + column + " " + dir + " (first)",
+                "select t.* from tasks t where t.project_id = ? order by t."
+                    + column
+                    + " "
+                    + dir
+                    + " fetch first ? rows only",
+                20));
+        paths.add(
+            tasks(
+                "page by " + column + " " + dir + " (offset)",
+                "select t.* from tasks t where t.project_id = ? order by t."
+                    + column
+                    + " "
+                    + dir
+                    + " offset ? rows fetch first ? rows only",
+                100,
+                20));
+        // TaskService.scroll: KeysetSpecifications.sort adds id in the same direction
+        paths.add(
+            tasks(
+                "keyset by " + column + " " + dir,
+                "select t.* from tasks t where t.project_id = ? order by t."
+                    + column
+                    + " "
+                    + dir
+                    + ", t.id "
+                    + dir
+                    + " fetch first ? rows only",
+                21));
+      }
+    }
+    // TaskService.scroll continuing from a cursor on createdAt
+    paths.add(
+        tasks(
+            "keyset after cursor by created_at desc",
+            "select t.* from tasks t where t.project_id = ? and t.created_at <= now()"
+                + " and (t.created_at < now() or t.id < ?) order by t.created_at desc, t.id desc"
+                + " fetch first ? rows only",
+            new UUID(Long.MAX_VALUE, Long.MAX_VALUE),
+            21));
+    // TaskRepository.findSummaries with range filters on the sort column
+    paths.add(
+        tasks(
+            "filtered by priority range, page by priority",
+            "select t.* from tasks t where t.project_id = ? and t.priority >= ?"
+                + " and t.priority <= ? order by t.priority asc fetch first ? rows only",
+            2,
+            3,
+            21));
+    paths.add(
+        tasks(
+            "filtered by due date range, page by due_date",
+            "select t.* from tasks t where t.project_id = ? and t.due_date > current_date"
+                + " and t.due_date < current_date + 7 order by t.due_date desc"
+                + " fetch first ? rows only",
+            21));
+    // TaskRepository.findSummariesByProjectId(projectId)
+    paths.add(
+        tasks(
+            "unpaged list",
+            "select t.* from tasks t where t.project_id = ? order by t.created_at desc"));
+    // Count query behind X-Total-Count and TaskRepository.countByProjectId
+    paths.add(tasks("count", "select count(t.id) from tasks t where t.project_id = ?"));
+    // TaskRepository.findSummariesIncludingArchived, reading the TaskRecord subselect
+    paths.add(
+        tasks(
+            "page including archived",
+            "select r.* from (select id, title, status, priority, due_date, project_id,"
+                + " created_at, version from tasks union all select id, title, status, priority,"
+                + " due_date, project_id, created_at, version from tasks_archive) r"
+                + " where r.project_id = ? order by r.created_at desc fetch first ? rows only",
+            20));
+
+    for (String column : PROJECT_SORTS) {
+      for (String dir : List.of("asc", "desc")) {
+        // ProjectRepository.findResponsesByOwnerId(ownerId, pageable)
+        paths.add(
+            projects(
+                "page by " + column + " " + dir,
+                "select p.*, s.* from projects p left join project_stats s"
+                    + " on s.project_id = p.id where p.owner_id = ? and p.deleting_at is null"
+                    + " and p.archived_at is null"
+                    + " order by p."
+                    + column
+                    + " "
+                    + dir
+                    + " offset ? rows fetch first ? rows only",
+                40,
+                20));
+        // ProjectService.scroll
+        paths.add(
+            projects(
+                "keyset by " + column + " " + dir,
+                "select p.* from projects p where p.owner_id = ? and p.deleting_at is null"
+                    + " and p.archived_at is null"
+                    + " order by p."
+                    + column
+                    + " "
+                    + dir
+                    + ", p.id "
+                    + dir
+                    + " fetch first ? rows only",
+                21));
+      }
+    }
+    paths.add(
+        projects(
+            "count",
+            "select count(p.id) from projects p where p.owner_id = ? and p.deleting_at is null"
+                + " and p.archived_at is null"));
+    return paths.stream();
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("accessPaths")
+  void planUsesIndexOrder(String name, String sql, Object[] args) throws Exception {
+    Object[] bound = args.clone();
+    bound[0] = name.startsWith("projects") ? ownerId : projectId;
+    String plan = jdbc.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, bound);
+
+    List<String> nodeTypes = new ArrayList<>();
+    collectNodeTypes(objectMapper.readTree(plan).get(0).get("Plan"), nodeTypes);
+
+    assertThat(nodeTypes)
+        .as("plan for %s:%n%s", name, plan)
+        .doesNotContain("Seq Scan", "Sort", "Incremental Sort");
+  }
+
+  @Test
+  void titleContainsUsesTrigramIndex() throws Exception {
+    // TaskSpecifications.matching(filter) with titleContains
+    String plan =
+        jdbc.queryForObject(
+            "EXPLAIN (FORMAT JSON) select t.* from tasks t where lower(t.title) like ? escape '\\'",
+            String.class,
+            "%task 42%");
+
+    List<String> nodeTypes = new ArrayList<>();
+    collectNodeTypes(objectMapper.readTree(plan).get(0).get("Plan"), nodeTypes);
+
+    // Indexes created through a partitioned parent are named after the partition and expression
+    assertThat(plan).as("plan:%n%s", plan).containsAnyOf("tasks_title_trgm_idx", "_lower_idx");
+    assertThat(nodeTypes).as("plan:%n%s", plan).doesNotContain("Seq Scan");
+  }
+
+  @Test
+  void searchUsesFullTextIndex() throws Exception {
+    // TaskSearchRepository on PostgreSQL
+    String plan =
+        jdbc.queryForObject(
+            "EXPLAIN (FORMAT JSON) select t.id from tasks t join projects p on p.id = t.project_id,"
+                + " websearch_to_tsquery('english', ?) query"
+                + " where p.owner_id = ? and p.deleting_at is null and t.search_vector @@ query",
+            String.class,
+            "task 42",
+            ownerId);
+
+    assertThat(plan).as("plan:%n%s", plan).containsPattern("tasks_\\w*search_vector_idx");
+  }
+
+  private static void collectNodeTypes(JsonNode node, List<String> into) {
+    into.add(node.get("Node Type").asText());
+    JsonNode children = node.get("Plans");
+    if (children != null) {
+      children.forEach(child -> collectNodeTypes(child, into));
+    }
+  }
+
+  /** First argument is a placeholder for the project id, bound once the data exists. */
+  private static Arguments tasks(String name, String sql, Object... rest) {
+    return Arguments.of("tasks " + name, sql, prepend(rest));
+  }
+
+  /** First argument is a placeholder for the owner id, bound once the data exists. */
+  private static Arguments projects(String name, String sql, Object... rest) {
+    return Arguments.of("projects " + name, sql, prepend(rest));
+  }
+
+  private static Object[] prepend(Object[] rest) {
+    Object[] args = new Object[rest.length + 1];
+    System.arraycopy(rest, 0, args, 1, rest.length);
+    return args;
+  }
+}
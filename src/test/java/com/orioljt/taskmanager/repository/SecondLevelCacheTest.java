@@ -0,0 +1,113 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.support.TestData.project;
+import static com.orioljt.taskmanager.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.config.SecondLevelCacheConfig;
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reads and writes run in separate committed transactions, as in the application, so the
+ * second-level cache is actually populated, hit, and invalidated.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({DatabasePlatform.class, SecondLevelCacheConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+  @Autowired EntityManagerFactory emf;
+  @Autowired UserRepository userRepository;
+  @Autowired ProjectRepository projectRepository;
+  @Autowired PlatformTransactionManager transactionManager;
+
+  private TransactionTemplate tx;
+  private Statistics stats;
+  private User owner;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    tx = new TransactionTemplate(transactionManager);
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    owner = userRepository.save(user("cached@example.com"));
+    project = projectRepository.save(project(owner, "Cached project"));
+    emf.getCache().evictAll();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    projectRepository.deleteAllInBatch();
+    userRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void findById_secondReadIsServedFromCache() {
+    userRepository.findById(owner.getId()).orElseThrow();
+    projectRepository.findById(project.getId()).orElseThrow();
+    stats.clear();
+
+    userRepository.findById(owner.getId()).orElseThrow();
+    projectRepository.findById(project.getId()).orElseThrow();
+
+    assertThat(stats.getPrepareStatementCount()).isZero();
+    assertThat(stats.getSecondLevelCacheHitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void findByEmail_isCachedAndInvalidatedByAnEmailChange() {
+    userRepository.findByEmail("cached@example.com").orElseThrow();
+    stats.clear();
+    assertThat(userRepository.findByEmail("cached@example.com")).isPresent();
+    assertThat(stats.getQueryCacheHitCount()).isEqualTo(1);
+    assertThat(stats.getPrepareStatementCount()).isZero();
+
+    tx.executeWithoutResult(
+        s -> userRepository.findById(owner.getId()).orElseThrow().setEmail("moved@example.com"));
+
+    assertThat(userRepository.findByEmail("cached@example.com")).isEmpty();
+    assertThat(userRepository.findByEmail("moved@example.com")).isPresent();
+    assertThat(userRepository.findById(owner.getId()).orElseThrow().getEmail())
+        .isEqualTo("moved@example.com");
+  }
+
+  @Test
+  void updatedProject_isReadBackWithNewValueFromCache() {
+    projectRepository.findById(project.getId()).orElseThrow();
+
+    tx.executeWithoutResult(
+        s -> projectRepository.findById(project.getId()).orElseThrow().setName("Renamed"));
+    stats.clear();
+
+    assertThat(projectRepository.findById(project.getId()).orElseThrow().getName())
+        .isEqualTo("Renamed");
+    assertThat(stats.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void bulkDeletedProject_isNoLongerServedFromCache() {
+    UUID id = project.getId();
+    projectRepository.findById(id).orElseThrow();
+
+    int deleted = tx.execute(s -> projectRepository.deleteByIdAndOwnerId(id, owner.getId()));
+
+    assertThat(deleted).isEqualTo(1);
+    assertThat(projectRepository.findById(id)).isEmpty();
+  }
+}
@@ -0,0 +1,121 @@
+package com.orioljt.taskmanager.repository;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Checks that bulk task updates are one statement, stay within the given project and report how
+ * the counts changed.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(DatabasePlatform.class)
+class TaskBulkUpdateTest {
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskRepository taskRepository;
+
+  private Statistics stats;
+  private Project project;
+  private Project otherProject;
+  private final LocalDate today = LocalDate.now();
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    User owner = persistUser(em, "bulk@example.com");
+    project = persistProject(em, owner, "Sprint");
+    otherProject = persistProject(em, owner, "Backlog");
+  }
+
+  @Test
+  void bulkUpdate_byIds_changesOnlyThoseTasksInOneStatement() {
+    Task a = persistTask(project, today.plusDays(1));
+    Task b = persistTask(project, today.plusDays(2));
+    Task untouched = persistTask(project, today.plusDays(3));
+    Task foreign = persistTask(otherProject, today.plusDays(1));
+    flushAndClear(em);
+    stats.clear();
+
+    TaskBulkUpdates.Result result =
+        taskRepository.bulkUpdate(
+            project.getId(),
+            List.of(a.getId(), b.getId(), foreign.getId()),
+            null,
+            TaskStatus.DONE,
+            null);
+
+    assertThat(result.updated()).isEqualTo(2);
+    assertThat(result.change()).isEqualTo(new TaskCounts(0, -2, 0, 2, 0, 0, 0));
+    assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statusOf(a)).isEqualTo(TaskStatus.DONE);
+    assertThat(statusOf(b)).isEqualTo(TaskStatus.DONE);
+    assertThat(statusOf(untouched)).isEqualTo(TaskStatus.TODO);
+    assertThat(statusOf(foreign)).isEqualTo(TaskStatus.TODO);
+  }
+
+  @Test
+  void bulkUpdate_byDueDate_setsPriorityOnOverdueTasks() {
+    Task overdue = persistTask(project, today.plusDays(1));
+    Task later = persistTask(project, today.plusDays(10));
+    Task undated = persistTask(project, null);
+    flushAndClear(em);
+
+    TaskBulkUpdates.Result result =
+        taskRepository.bulkUpdate(project.getId(), null, today.plusDays(5), null, 1);
+
+    assertThat(result.updated()).isEqualTo(1);
+    assertThat(result.change()).isEqualTo(new TaskCounts(0, 0, 0, 0, 1, 0, 0));
+    assertThat(em.find(Task.class, overdue.getId()).getPriority()).isEqualTo(1);
+    assertThat(em.find(Task.class, later.getId()).getPriority()).isNull();
+    assertThat(em.find(Task.class, undated.getId()).getPriority()).isNull();
+  }
+
+  @Test
+  void bulkUpdate_withEmptyIds_filtersByDueDateOnly() {
+    Task overdue = persistTask(project, today.plusDays(1));
+    Task later = persistTask(project, today.plusDays(10));
+    flushAndClear(em);
+
+    TaskBulkUpdates.Result result =
+        taskRepository.bulkUpdate(
+            project.getId(), List.of(), today.plusDays(5), TaskStatus.DONE, null);
+
+    assertThat(result.updated()).isEqualTo(1);
+    assertThat(statusOf(overdue)).isEqualTo(TaskStatus.DONE);
+    assertThat(statusOf(later)).isEqualTo(TaskStatus.TODO);
+  }
+
+  private TaskStatus statusOf(Task task) {
+    return em.find(Task.class, task.getId()).getStatus();
+  }
+
+  private Task persistTask(Project parent, LocalDate dueDate) {
+    Task task = new Task();
+    task.setTitle("Task " + UUID.randomUUID());
+    task.setDueDate(dueDate);
+    task.setProject(parent);
+    return em.persist(task);
+  }
+}
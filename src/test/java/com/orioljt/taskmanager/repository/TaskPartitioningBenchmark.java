@@ -0,0 +1,151 @@
+package com.orioljt.taskmanager.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+/**
+ * Compares list, count and insert latency of the tasks table unpartitioned, hash-partitioned on
+ * {@code project_id} and range-partitioned on {@code created_at} (see {@code
+ * R__partition_tasks.sql}). Each layout is migrated into its own throwaway schema and filled with
+ * {@code -Dbenchmark.tasks.rows} rows (10M by default, spread over two years and 2,000 projects).
+ *
+ * <p>Needs PostgreSQL: runs when {@code TEST_POSTGRES_URL} (plus {@code TEST_POSTGRES_USER} and
+ * {@code TEST_POSTGRES_PASSWORD}) is set. Run with {@code ./gradlew benchmark}; seeding 10M rows
+ * takes several minutes per layout.
+ */
+@Tag("benchmark")
+@EnabledIfEnvironmentVariable(named = "TEST_POSTGRES_URL", matches = ".+")
+class TaskPartitioningBenchmark {
+
+  private static final long ROWS = Long.getLong("benchmark.tasks.rows", 10_000_000L);
+  private static final int PROJECTS = 2_000;
+  private static final int LIST_SAMPLES = 500;
+  private static final int INSERT_BATCHES = 50;
+  private static final int INSERT_BATCH_SIZE = 100;
+
+  private static final String PAGE_SQL =
+      "select t.id, t.title, t.status, t.priority, t.due_date, t.project_id, t.created_at,"
+          + " t.version from tasks t where t.project_id = ? order by t.created_at desc"
+          + " fetch first 20 rows only";
+  private static final String COUNT_SQL = "select count(t.id) from tasks t where t.project_id = ?";
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {"none", "hash", "range"})
+  void listCountAndInsertLatency(String partitioning) {
+    String schema = "partition_bench_" + UUID.randomUUID().toString().replace("-", "");
+    SingleConnectionDataSource dataSource =
+        new SingleConnectionDataSource(
+            System.getenv("TEST_POSTGRES_URL"),
+            System.getenv("TEST_POSTGRES_USER"),
+            System.getenv("TEST_POSTGRES_PASSWORD"),
+            true);
+    JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+    try {
+      Flyway.configure()
+          .dataSource(dataSource)
+          .schemas(schema)
+          .defaultSchema(schema)
+          .createSchemas(true)
+          .placeholders(
+              Map.of("tasks_partitioning", partitioning, "tasks_hash_partitions", "16"))
+          .load()
+          .migrate();
+      jdbc.execute("SET search_path TO " + schema);
+      if (partitioning.equals("range")) {
+        // Migrating an empty table only creates partitions from the current month on
+        jdbc.execute(
+            "SELECT create_task_month_partitions('tasks', current_date - 740, current_date)");
+      }
+      seed(jdbc);
+      List<UUID> projects = jdbc.queryForList("SELECT id FROM projects", UUID.class);
+
+      for (int i = 0; i < LIST_SAMPLES / 5; i++) {
+        jdbc.queryForList(PAGE_SQL, pick(projects));
+      }
+      long[] page = sample(() -> jdbc.queryForList(PAGE_SQL, pick(projects)));
+      long[] count = sample(() -> jdbc.queryForObject(COUNT_SQL, Long.class, pick(projects)));
+      long[] insert = new long[INSERT_BATCHES];
+      for (int i = 0; i < INSERT_BATCHES; i++) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int j = 0; j < INSERT_BATCH_SIZE; j++) {
+          batch.add(new Object[] {UUID.randomUUID(), "New task " + j, pick(projects)});
+        }
+        long start = System.nanoTime();
+        jdbc.batchUpdate(
+            "INSERT INTO tasks (id, title, status, project_id, created_at)"
+                + " VALUES (?, ?, 'TODO', ?, now())",
+            batch);
+        insert[i] = (System.nanoTime() - start) / INSERT_BATCH_SIZE;
+      }
+
+      System.out.printf(
+          "tasks %s (%,d rows): page p50 %.2f ms p99 %.2f ms; count p50 %.2f ms p99 %.2f ms;"
+              + " insert p50 %.1f us/row p99 %.1f us/row%n",
+          partitioning,
+          ROWS,
+          percentile(page, 50) / 1e6,
+          percentile(page, 99) / 1e6,
+          percentile(count, 50) / 1e6,
+          percentile(count, 99) / 1e6,
+          percentile(insert, 50) / 1e3,
+          percentile(insert, 99) / 1e3);
+    } finally {
+      jdbc.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+      dataSource.destroy();
+    }
+  }
+
+  private static void seed(JdbcTemplate jdbc) {
+    jdbc.update(
+        "INSERT INTO users (id, email, password)"
+            + " SELECT gen_random_uuid(), 'owner' || g || '@example.com', 'x'"
+            + " FROM generate_series(1, 20) g");
+    jdbc.update(
+        "INSERT INTO projects (id, name, owner_id, created_at)"
+            + " SELECT gen_random_uuid(), 'Project ' || g, u.id, now()"
+            + " FROM users u CROSS JOIN generate_series(1, ?) g",
+        PROJECTS / 20);
+    // Two years of history, so the range layout spans about 25 monthly partitions
+    jdbc.update(
+        "INSERT INTO tasks (id, title, status, priority, due_date, project_id, created_at)"
+            + " SELECT gen_random_uuid(), 'Task ' || g,"
+            + " (ARRAY['TODO', 'IN_PROGRESS', 'DONE'])[(g % 3 + 1)::int], g % 3 + 1,"
+            + " current_date + (g % 60)::int, p.ids[(g % array_length(p.ids, 1) + 1)::int],"
+            + " now() - (g % 730) * interval '1 day' - (g % 86400) * interval '1 second'"
+            + " FROM (SELECT array_agg(id) AS ids FROM projects) p"
+            + " CROSS JOIN generate_series(1, ?) g",
+        ROWS);
+    jdbc.execute("VACUUM ANALYZE users, projects, tasks");
+  }
+
+  private static UUID pick(List<UUID> projects) {
+    return projects.get(ThreadLocalRandom.current().nextInt(projects.size()));
+  }
+
+  private static long[] sample(Runnable query) {
+    long[] nanos = new long[LIST_SAMPLES];
+    for (int i = 0; i < LIST_SAMPLES; i++) {
+      long start = System.nanoTime();
+      query.run();
+      nanos[i] = System.nanoTime() - start;
+    }
+    return nanos;
+  }
+
+  private static double percentile(long[] values, int percentile) {
+    long[] sorted = values.clone();
+    Arrays.sort(sorted);
+    return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+  }
+}
@@ -34,7 +34,7 @@ class CurrentUserProviderTest {
   Jwt jwt = Jwt.withTokenValue("t").subject(uid.toString()).header("alg", "none").claim("email", "a@b.com").build();
   java.util.Collection<org.springframework.security.core.GrantedAuthority> auths = java.util.List.of(() -> "ROLE_USER");
   JwtAuthenticationToken auth = new JwtAuthenticationToken(jwt, auths);
-    when(userRepository.existsById(uid)).thenReturn(true);
+    when(userRepository.findById(uid)).thenReturn(Optional.of(new User()));
     SecurityContextHolder.getContext().setAuthentication(auth);
     assertThat(provider.getCurrentUserId()).isEqualTo(uid);
   }
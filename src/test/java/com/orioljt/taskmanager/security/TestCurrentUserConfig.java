@@ -0,0 +1,18 @@
+package com.orioljt.taskmanager.security;
+
+import org.mockito.Mockito;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Replaces {@link CurrentUserProvider} with a mock for slice tests that call services outside a
+ * request; import it and stub {@code getCurrentUserId()}.
+ */
+@TestConfiguration
+public class TestCurrentUserConfig {
+
+  @Bean
+  public CurrentUserProvider currentUserProvider() {
+    return Mockito.mock(CurrentUserProvider.class);
+  }
+}
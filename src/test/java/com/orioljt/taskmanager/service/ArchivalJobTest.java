@@ -0,0 +1,242 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.ArchivedTask;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/** Moves between the hot and archive tables, and what the listings see of them. */
+@DataJpaTest(
+    properties = {"app.archival.batch-size=2", "app.archival.async-restore-threshold=4"})
+@Import({
+  DatabasePlatform.class,
+  ArchivalJob.class,
+  ArchiveService.class,
+  ArchiveRestoreJob.class,
+  TaskService.class,
+  TaskMapper.class,
+  ProjectMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class,
+  ArchivalJobTest.Executor.class
+})
+class ArchivalJobTest {
+
+  private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by("title"));
+
+  @Autowired TestEntityManager em;
+  @Autowired ArchivalJob job;
+  @Autowired ArchiveService archiveService;
+  @Autowired ArchiveRestoreJob restoreJob;
+  @Autowired TaskService taskService;
+  @Autowired TaskArchiveRepository archiveRepository;
+  @Autowired ProjectRepository projectRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private User owner;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    owner = persistUser(em, "archivist@example.com");
+    project = persistProject(em, owner, "Busy");
+    for (int i = 1; i <= 3; i++) {
+      task(project, "Done " + i, TaskStatus.DONE);
+    }
+    task(project, "Open", TaskStatus.TODO);
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void archiveDoneTasks_movesOnlyOldDoneTasksInChunks() {
+    long moved = job.archiveDoneTasks(Instant.now().plusSeconds(60));
+    flushAndClear(em);
+
+    assertThat(moved).isEqualTo(3);
+    assertThat(titles(taskService.page(project.getId(), PAGE, CountMode.EXACT, TaskFilter.NONE)))
+        .containsExactly("Open");
+    assertThat(archiveRepository.findAll())
+        .extracting(ArchivedTask::getTitle)
+        .containsExactlyInAnyOrder("Done 1", "Done 2", "Done 3");
+    assertThat(archiveRepository.findAll())
+        .allSatisfy(t -> assertThat(t.getArchivedAt()).isNotNull());
+
+    assertThat(job.archiveDoneTasks(Instant.now().minus(Duration.ofDays(1)))).isZero();
+  }
+
+  @Test
+  void includeArchived_listsBothTiersWithFiltersAndTotal() {
+    job.archiveDoneTasks(Instant.now().plusSeconds(60));
+    flushAndClear(em);
+
+    Slice<TaskResponse> all =
+        taskService.pageIncludingArchived(
+            project.getId(), PAGE, CountMode.EXACT, TaskFilter.NONE);
+    assertThat(titles(all)).containsExactly("Done 1", "Done 2", "Done 3", "Open");
+    assertThat(((Page<TaskResponse>) all).getTotalElements()).isEqualTo(4);
+
+    TaskFilter done = TaskFilter.of(List.of(TaskStatus.DONE), null, null, null, null, null, "2");
+    assertThat(
+            titles(
+                taskService.pageIncludingArchived(project.getId(), PAGE, CountMode.NONE, done)))
+        .containsExactly("Done 2");
+  }
+
+  @Test
+  void archiveInactiveProjects_archivesProjectAndAllItsTasks() {
+    Project stale = persistProject(em, owner, "Stale");
+    task(stale, "Old open", TaskStatus.TODO);
+    em.flush();
+    Instant longAgo = Instant.now().minus(Duration.ofDays(400));
+    em.getEntityManager()
+        .createQuery("update Project p set p.createdAt = :at where p.id = :id")
+        .setParameter("at", longAgo)
+        .setParameter("id", stale.getId())
+        .executeUpdate();
+    em.getEntityManager()
+        .createQuery("update Task t set t.createdAt = :at where t.project.id = :id")
+        .setParameter("at", longAgo)
+        .setParameter("id", stale.getId())
+        .executeUpdate();
+    em.clear();
+
+    int archived = job.archiveInactiveProjects(Instant.now().minus(Duration.ofDays(365)));
+    flushAndClear(em);
+
+    assertThat(archived).isEqualTo(1);
+    assertThat(projectRepository.findResponsesByOwnerId(owner.getId()))
+        .extracting(ProjectResponse::name)
+        .containsExactly("Busy");
+    assertThat(
+            projectRepository
+                .findAllResponsesByOwnerId(owner.getId(), PageRequest.of(0, 20, Sort.by("name")))
+                .getContent())
+        .extracting(ProjectResponse::name)
+        .containsExactly("Busy", "Stale");
+    assertThat(projectRepository.findById(stale.getId()).orElseThrow().getArchivedAt()).isNotNull();
+    assertThat(taskService.list(stale.getId())).isEmpty();
+    assertThat(archiveRepository.findAll())
+        .extracting(ArchivedTask::getTitle)
+        .containsExactly("Old open");
+  }
+
+  @Test
+  void unarchiveProject_restoresTasksWithTheirVersionsAndListsItAgain() {
+    job.archiveProject(project.getId());
+    flushAndClear(em);
+    assertThat(projectRepository.findResponsesByOwnerId(owner.getId())).isEmpty();
+
+    ProjectUnarchive restored = archiveService.unarchiveProject(project.getId());
+    flushAndClear(em);
+
+    assertThat(restored.restoring()).isFalse();
+    assertThat(restored.project().archivedAt()).isNull();
+    assertThat(projectRepository.findResponsesByOwnerId(owner.getId())).hasSize(1);
+    assertThat(taskService.list(project.getId()))
+        .extracting(TaskResponse::title)
+        .containsExactlyInAnyOrder("Done 1", "Done 2", "Done 3", "Open");
+    assertThat(taskService.list(project.getId()))
+        .allSatisfy(t -> assertThat(t.version()).isZero());
+    assertThat(archiveRepository.count()).isZero();
+  }
+
+  @Test
+  void unarchiveProject_overThreshold_listsItAtOnceAndRestoresTasksInChunksLater() {
+    task(project, "Fifth", TaskStatus.TODO);
+    flushAndClear(em);
+    job.archiveProject(project.getId());
+    flushAndClear(em);
+
+    ProjectUnarchive restored = archiveService.unarchiveProject(project.getId());
+    flushAndClear(em);
+
+    assertThat(restored.restoring()).isTrue();
+    assertThat(projectRepository.findResponsesByOwnerId(owner.getId())).hasSize(1);
+    assertThat(archiveRepository.count()).isEqualTo(5);
+
+    assertThat(restoreJob.restoreAll(project.getId())).isEqualTo(5);
+    flushAndClear(em);
+
+    assertThat(taskService.list(project.getId())).hasSize(5);
+    assertThat(archiveRepository.count()).isZero();
+  }
+
+  @Test
+  void unarchiveTask_movesOneTaskBack() {
+    job.archiveDoneTasks(Instant.now().plusSeconds(60));
+    flushAndClear(em);
+    UUID archivedId = archiveRepository.findAll().get(0).getId();
+
+    TaskResponse restored = archiveService.unarchiveTask(project.getId(), archivedId);
+    flushAndClear(em);
+
+    assertThat(restored.id()).isEqualTo(archivedId);
+    assertThat(taskService.get(project.getId(), archivedId).status()).isEqualTo(TaskStatus.DONE);
+    assertThat(archiveRepository.count()).isEqualTo(2);
+    assertThatThrownBy(() -> archiveService.unarchiveTask(project.getId(), archivedId))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  @TestConfiguration
+  static class Executor {
+    /** Runs scheduled restores in place; tests drive {@link ArchiveRestoreJob} directly. */
+    @Bean
+    TaskExecutor applicationTaskExecutor() {
+      return new SyncTaskExecutor();
+    }
+  }
+
+  private void task(Project of, String title, TaskStatus status) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setStatus(status);
+    task.setProject(of);
+    em.persist(task);
+  }
+
+  private static List<String> titles(Slice<TaskResponse> slice) {
+    return slice.getContent().stream().map(TaskResponse::title).toList();
+  }
+}
@@ -0,0 +1,185 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.project;
+import static com.orioljt.taskmanager.support.TestData.user;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.BackfillProgressResponse;
+import com.orioljt.taskmanager.entity.BackfillProgress;
+import com.orioljt.taskmanager.entity.BackfillStatus;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.repository.BackfillProgressRepository;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Chunks commit one by one, as in the application, so progress, resumption and failures are seen
+ * exactly as another instance or a restart would see them.
+ */
+@DataJpaTest(properties = {"app.backfill.chunk-size=2", "app.backfill.pause=PT0S"})
+@Import({DatabasePlatform.class, BackfillRunner.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BackfillRunnerTest {
+
+  @Autowired BackfillRunner runner;
+  @Autowired UppercaseProjectNames backfill;
+  @Autowired BackfillProgressRepository progressRepository;
+  @Autowired ProjectRepository projectRepository;
+  @Autowired UserRepository userRepository;
+  @Autowired JdbcTemplate jdbcTemplate;
+
+  private List<UUID> projectIds;
+
+  @TestConfiguration
+  static class Backfills {
+    @Bean
+    UppercaseProjectNames uppercaseProjectNames(JdbcTemplate jdbcTemplate) {
+      return new UppercaseProjectNames(jdbcTemplate);
+    }
+
+    @Bean
+    TaskExecutor applicationTaskExecutor() {
+      return new SyncTaskExecutor();
+    }
+  }
+
+  /** Upper-cases project names; fails on the chunk numbered {@code failOnChunk}, if set. */
+  static class UppercaseProjectNames implements Backfill {
+
+    private final JdbcTemplate jdbcTemplate;
+    final List<UUID> chunkEnds = new ArrayList<>();
+    int failOnChunk;
+
+    UppercaseProjectNames(JdbcTemplate jdbcTemplate) {
+      this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public String name() {
+      return "uppercase-project-names";
+    }
+
+    @Override
+    public String table() {
+      return "projects";
+    }
+
+    @Override
+    public int apply(UUID after, UUID upTo) {
+      chunkEnds.add(upTo);
+      if (chunkEnds.size() == failOnChunk) {
+        throw new IllegalStateException("chunk " + failOnChunk + " broke");
+      }
+      return jdbcTemplate.update(
+          "UPDATE projects SET name = UPPER(name) WHERE id > ? AND id <= ? AND name <> UPPER(name)",
+          after,
+          upTo);
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    User owner = userRepository.save(user("backfill@example.com"));
+    projectIds = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      projectIds.add(projectRepository.save(project(owner, "Project " + i)).getId());
+    }
+    projectIds.sort(null);
+    backfill.chunkEnds.clear();
+    backfill.failOnChunk = 0;
+  }
+
+  @AfterEach
+  void cleanUp() {
+    progressRepository.deleteAllInBatch();
+    projectRepository.deleteAllInBatch();
+    userRepository.deleteAllInBatch();
+  }
+
+  @Test
+  void run_walksTheTableInKeyOrderedChunksUntilDone() {
+    runner.run(backfill);
+
+    assertThat(backfill.chunkEnds)
+        .containsExactly(projectIds.get(1), projectIds.get(3), projectIds.get(4));
+    assertThat(names()).allMatch(name -> name.equals(name.toUpperCase()));
+    BackfillProgressResponse progress = runner.progress(backfill.name());
+    assertThat(progress.status()).isEqualTo(BackfillStatus.DONE);
+    assertThat(progress.rowsDone()).isEqualTo(5);
+    assertThat(progress.chunksDone()).isEqualTo(3);
+    assertThat(progress.lastKey()).isEqualTo(projectIds.get(4));
+    assertThat(progress.finishedAt()).isNotNull();
+  }
+
+  @Test
+  void run_resumesAfterTheLastCommittedKey() {
+    BackfillProgress earlier = new BackfillProgress(backfill.name());
+    earlier.advance(projectIds.get(2), 3);
+    progressRepository.save(earlier);
+
+    runner.run(backfill);
+
+    assertThat(backfill.chunkEnds).containsExactly(projectIds.get(4));
+    assertThat(names())
+        .containsExactlyInAnyOrder(
+            "Project 1", "Project 2", "Project 3", "PROJECT 4", "PROJECT 5");
+    assertThat(runner.progress(backfill.name()).rowsDone()).isEqualTo(5);
+  }
+
+  @Test
+  void run_recordsAFailureAndResumesFromItOnTheNextRun() {
+    backfill.failOnChunk = 2;
+
+    runner.run(backfill);
+
+    BackfillProgressResponse failed = runner.progress(backfill.name());
+    assertThat(failed.status()).isEqualTo(BackfillStatus.FAILED);
+    assertThat(failed.lastError()).contains("chunk 2 broke");
+    assertThat(failed.lastKey()).isEqualTo(projectIds.get(1));
+    assertThat(failed.rowsDone()).isEqualTo(2);
+
+    backfill.chunkEnds.clear();
+    runner.run(backfill);
+
+    assertThat(backfill.chunkEnds).containsExactly(projectIds.get(3), projectIds.get(4));
+    BackfillProgressResponse done = runner.progress(backfill.name());
+    assertThat(done.status()).isEqualTo(BackfillStatus.DONE);
+    assertThat(done.rowsDone()).isEqualTo(5);
+    assertThat(done.lastError()).isNull();
+  }
+
+  @Test
+  void start_skipsBackfillsAlreadyDone() {
+    runner.run(backfill);
+    backfill.chunkEnds.clear();
+
+    runner.start();
+
+    assertThat(backfill.chunkEnds).isEmpty();
+    assertThat(runner.progress())
+        .extracting(BackfillProgressResponse::name)
+        .containsExactly(backfill.name());
+  }
+
+  private List<String> names() {
+    return jdbcTemplate.queryForList("SELECT name FROM projects", String.class);
+  }
+}
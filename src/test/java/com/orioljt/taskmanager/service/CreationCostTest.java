@@ -0,0 +1,147 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.ProjectRequest;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Verifies that creating a task or a project costs the same number of loads and statements
+ * regardless of how many children the parent already has.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  ProjectService.class,
+  TaskMapper.class,
+  ProjectMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class CreationCostTest {
+
+  private static final int EXISTING_CHILDREN = 2_000;
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskService taskService;
+  @Autowired ProjectService projectService;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private Statistics stats;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    ProjectDeletionJob projectDeletionJob() {
+      return Mockito.mock(ProjectDeletionJob.class);
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void createTask_costIsIndependentOfProjectSize() {
+    User owner = persistUser(em, "task-cost@example.com");
+    Project empty = persistProject(em, owner, "Empty project");
+    Project large = persistProject(em, owner, "Large project");
+    for (int i = 0; i < EXISTING_CHILDREN; i++) {
+      Task task = new Task();
+      task.setTitle("Existing " + i);
+      task.setProject(large);
+      em.persist(task);
+    }
+    em.flush();
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+
+    long[] emptyCost = measure(() -> taskService.create(empty.getId(), newTask()));
+    long[] largeCost = measure(() -> taskService.create(large.getId(), newTask()));
+
+    assertThat(largeCost).isEqualTo(emptyCost);
+    assertThat(largeCost[2]).as("collections loaded").isZero();
+  }
+
+  @Test
+  void createProject_costIsIndependentOfOwnerProjectCount() {
+    User fresh = persistUser(em, "fresh-owner@example.com");
+    User busy = persistUser(em, "busy-owner@example.com");
+    for (int i = 0; i < EXISTING_CHILDREN; i++) {
+      persistProject(em, busy, "Existing " + i);
+    }
+    em.flush();
+
+    when(currentUserProvider.getCurrentUserId()).thenReturn(fresh.getId());
+    long[] freshCost = measure(() -> projectService.create(new ProjectRequest("New project")));
+    when(currentUserProvider.getCurrentUserId()).thenReturn(busy.getId());
+    long[] busyCost = measure(() -> projectService.create(new ProjectRequest("New project")));
+
+    assertThat(busyCost).isEqualTo(freshCost);
+    assertThat(busyCost[2]).as("collections loaded").isZero();
+  }
+
+  @Test
+  void createAll_insertsInJdbcBatches() {
+    User owner = persistUser(em, "batch-owner@example.com");
+    Project project = persistProject(em, owner, "Batch project");
+    em.flush();
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+    List<TaskRequest> requests = Collections.nCopies(200, newTask());
+
+    em.clear();
+    stats.clear();
+    taskService.createAll(project.getId(), requests);
+    em.flush();
+
+    assertThat(stats.getEntityInsertCount()).isEqualTo(200);
+    // One ownership lookup, one statement per batch of hibernate.jdbc.batch_size (50) and one
+    // project_stats update for the whole batch
+    assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2 + 200 / 50);
+  }
+
+  /** Returns {entities loaded, statements prepared, collections loaded} for the given action. */
+  private long[] measure(Runnable action) {
+    em.clear();
+    stats.clear();
+    action.run();
+    em.flush();
+    return new long[] {
+      stats.getEntityLoadCount(), stats.getPrepareStatementCount(), stats.getCollectionLoadCount()
+    };
+  }
+
+  private static TaskRequest newTask() {
+    return new TaskRequest("New task", null, null, null, null);
+  }
+}
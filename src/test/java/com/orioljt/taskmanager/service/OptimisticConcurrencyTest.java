@@ -0,0 +1,110 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+/** Version checks of task updates against a real database. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  TaskMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class OptimisticConcurrencyTest {
+
+  private static final TaskPatchRequest DONE =
+      new TaskPatchRequest(null, null, TaskStatus.DONE, null, null);
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskService taskService;
+  @Autowired TaskRepository taskRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private Statistics stats;
+  private Project project;
+  private Task task;
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    User owner = persistUser(em, "versions@example.com");
+    project = persistProject(em, owner, "Project");
+    task = new Task();
+    task.setTitle("Title");
+    task.setProject(project);
+    em.persist(task);
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void statusChange_isACompareAndSetOnTheVersion() {
+    stats.clear();
+    TaskResponse first = taskService.update(project.getId(), task.getId(), DONE, Set.of(0L));
+
+    assertThat(first.status()).isEqualTo(TaskStatus.DONE);
+    assertThat(first.version()).isEqualTo(1);
+    assertThat(stats.getEntityLoadCount()).as("entities loaded").isZero();
+
+    assertThatThrownBy(
+            () -> taskService.update(project.getId(), task.getId(), DONE, Set.of(0L)))
+        .isInstanceOf(PreconditionFailedException.class)
+        .hasMessageContaining("current version is 1");
+  }
+
+  @Test
+  void patchWithCurrentVersion_incrementsIt() {
+    TaskPatchRequest rename = new TaskPatchRequest("Renamed", null, null, null, null);
+
+    TaskResponse res = taskService.update(project.getId(), task.getId(), rename, Set.of(0L));
+
+    assertThat(res.title()).isEqualTo("Renamed");
+    assertThat(res.version()).isEqualTo(1);
+    em.clear();
+    assertThatThrownBy(
+            () -> taskService.update(project.getId(), task.getId(), rename, Set.of(0L)))
+        .isInstanceOf(PreconditionFailedException.class);
+  }
+
+  @Test
+  void bulkUpdate_bumpsTheVersion() {
+    taskRepository.bulkUpdate(project.getId(), List.of(task.getId()), null, TaskStatus.DONE, null);
+    em.clear();
+
+    assertThat(taskRepository.findById(task.getId()).orElseThrow().getVersion()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,162 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Checks what the bytecode-enhanced {@link Task} writes and reads: no UPDATE for a PATCH that
+ * changes nothing, only the changed columns otherwise, and no description for list pages.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  TaskMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class PartialUpdateTest {
+
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskService taskService;
+  @Autowired TaskRepository taskRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private Statistics stats;
+  private Project project;
+  private Task task;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    HibernatePropertiesCustomizer recordStatements() {
+      return props ->
+          props.put(
+              "hibernate.session_factory.statement_inspector",
+              (StatementInspector)
+                  sql -> {
+                    STATEMENTS.add(sql);
+                    return sql;
+                  });
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    User owner = persistUser(em, "partial-update@example.com");
+    project = persistProject(em, owner, "Project");
+    task = new Task();
+    task.setTitle("Title");
+    task.setDescription("A long description");
+    task.setProject(project);
+    em.persist(task);
+    em.flush();
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void patchWithUnchangedValues_writesNothing() {
+    TaskPatchRequest same =
+        new TaskPatchRequest("Title", "A long description", TaskStatus.TODO, null, null);
+
+    measure(() -> taskService.update(project.getId(), task.getId(), same, null));
+
+    assertThat(stats.getEntityUpdateCount()).isZero();
+    assertThat(STATEMENTS).noneMatch(sql -> sql.startsWith("update"));
+  }
+
+  @Test
+  void patch_updatesOnlyChangedColumns() {
+    TaskPatchRequest status = new TaskPatchRequest(null, null, TaskStatus.DONE, null, null);
+
+    TaskResponse res =
+        measure(() -> taskService.update(project.getId(), task.getId(), status, null));
+
+    assertThat(res.status()).isEqualTo(TaskStatus.DONE);
+    assertThat(res.description()).isEqualTo("A long description");
+    assertThat(stats.getEntityUpdateCount()).isEqualTo(1);
+    // The project_stats update that moves the task between status counts is a separate statement
+    assertThat(STATEMENTS)
+        .filteredOn(sql -> sql.startsWith("update tasks"))
+        .singleElement()
+        .satisfies(
+            sql -> assertThat(sql).contains("status").doesNotContain("title", "description"));
+  }
+
+  @Test
+  void loadingATask_leavesDescriptionUnloaded() {
+    em.clear();
+
+    Task loaded =
+        taskRepository
+            .findOwned(task.getId(), project.getId(), currentUserProvider.getCurrentUserId())
+            .orElseThrow();
+
+    assertThat(Hibernate.isPropertyInitialized(loaded, "description")).isFalse();
+    assertThat(loaded.getDescription()).isEqualTo("A long description");
+  }
+
+  @Test
+  void listPage_neverSelectsDescription() {
+    List<TaskResponse> page =
+        measure(
+            () ->
+                taskService
+                    .page(project.getId(), PageRequest.of(0, 20), CountMode.EXACT)
+                    .getContent());
+
+    assertThat(page).singleElement().extracting(TaskResponse::description).isNull();
+    assertThat(STATEMENTS)
+        .filteredOn(sql -> sql.contains("from tasks"))
+        .noneMatch(sql -> sql.contains("description"));
+  }
+
+  private <T> T measure(Supplier<T> action) {
+    em.clear();
+    stats.clear();
+    STATEMENTS.clear();
+    T result = action.get();
+    em.flush();
+    return result;
+  }
+}
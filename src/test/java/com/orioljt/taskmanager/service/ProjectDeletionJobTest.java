@@ -0,0 +1,87 @@
+package com.orioljt.taskmanager.service;
+
+import static org.mockito.Mockito.*;
+
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectDeletionJobTest {
+
+  @Mock private ProjectRepository projectRepository;
+  @Mock private TaskRepository taskRepository;
+  @Mock private TaskArchiveRepository archiveRepository;
+  @Mock private TransactionTemplate transactionTemplate;
+  @Mock private TotalCounter totalCounter;
+  @Mock private ProjectOwnershipCache ownershipCache;
+
+  private ProjectDeletionJob job;
+
+  @BeforeEach
+  void setUp() {
+    when(transactionTemplate.execute(any()))
+        .thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    job =
+        new ProjectDeletionJob(
+            projectRepository,
+            taskRepository,
+            archiveRepository,
+            transactionTemplate,
+            new SyncTaskExecutor(),
+            totalCounter,
+            ownershipCache,
+            2);
+  }
+
+  @Test
+  void schedule_deletesTasksThenArchivedTasksInChunksThenProject() {
+    UUID projectId = UUID.randomUUID();
+    when(taskRepository.deleteChunkByProjectId(projectId, 2)).thenReturn(2, 2, 1);
+    when(archiveRepository.deleteChunkByProjectId(projectId, 2)).thenReturn(2, 0);
+
+    job.schedule(projectId);
+
+    var inOrder = inOrder(taskRepository, archiveRepository, projectRepository);
+    inOrder.verify(taskRepository, times(3)).deleteChunkByProjectId(projectId, 2);
+    inOrder.verify(archiveRepository, times(2)).deleteChunkByProjectId(projectId, 2);
+    inOrder.verify(projectRepository).deleteDeletingById(projectId);
+    verify(ownershipCache).evict(projectId);
+    verify(totalCounter).invalidate(TotalCounter.tasksOf(projectId));
+  }
+
+  @Test
+  void schedule_swallowsFailuresSoTheWorkerSurvives() {
+    UUID projectId = UUID.randomUUID();
+    when(taskRepository.deleteChunkByProjectId(projectId, 2))
+        .thenThrow(new IllegalStateException("boom"));
+
+    job.schedule(projectId);
+
+    verify(projectRepository, never()).deleteDeletingById(any());
+  }
+
+  @Test
+  void sweep_resumesEveryUnfinishedDeletion() {
+    UUID first = UUID.randomUUID();
+    UUID second = UUID.randomUUID();
+    when(projectRepository.findDeletingIds()).thenReturn(List.of(first, second));
+    when(taskRepository.deleteChunkByProjectId(any(), eq(2))).thenReturn(0);
+
+    job.sweep();
+
+    verify(projectRepository).deleteDeletingById(first);
+    verify(projectRepository).deleteDeletingById(second);
+  }
+}
@@ -0,0 +1,118 @@
+package com.orioljt.taskmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectOwnershipCacheTest {
+
+  @Mock private ProjectRepository projectRepository;
+
+  private ProjectOwnershipCache cache;
+
+  @BeforeEach
+  void setUp() {
+    cache = new ProjectOwnershipCache(projectRepository, 20, Duration.ofMinutes(1));
+  }
+
+  @Test
+  void isOwnedBy_queriesOnceThenAnswersFromMemory() {
+    UUID projectId = UUID.randomUUID();
+    UUID ownerId = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(projectId)).thenReturn(Optional.of(ownerId));
+
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isTrue();
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isTrue();
+    assertThat(cache.isOwnedBy(projectId, UUID.randomUUID())).isFalse();
+
+    verify(projectRepository, times(1)).findOwnerIdById(projectId);
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.hitCount()).isEqualTo(2);
+  }
+
+  @Test
+  void isOwnedBy_doesNotCacheUnknownProjects() {
+    UUID projectId = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(projectId)).thenReturn(Optional.empty());
+
+    assertThat(cache.isOwnedBy(projectId, UUID.randomUUID())).isFalse();
+    assertThat(cache.isOwnedBy(projectId, UUID.randomUUID())).isFalse();
+
+    verify(projectRepository, times(2)).findOwnerIdById(projectId);
+  }
+
+  @Test
+  void putAndEvict_keepEntriesInStepWithWrites() {
+    UUID projectId = UUID.randomUUID();
+    UUID ownerId = UUID.randomUUID();
+
+    cache.put(projectId, ownerId);
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isTrue();
+    verifyNoInteractions(projectRepository);
+
+    cache.evict(projectId);
+    when(projectRepository.findOwnerIdById(projectId)).thenReturn(Optional.empty());
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isFalse();
+  }
+
+  @Test
+  void ownerOf_doesNotStoreALookupThatRacedWithAnEviction() {
+    UUID projectId = UUID.randomUUID();
+    UUID ownerId = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(projectId))
+        .thenAnswer(
+            inv -> {
+              // The delete commits while the lookup is between its query and storing the result
+              cache.evict(projectId);
+              return Optional.of(ownerId);
+            })
+        .thenReturn(Optional.empty());
+
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isTrue();
+    assertThat(cache.isOwnedBy(projectId, ownerId)).isFalse();
+
+    verify(projectRepository, times(2)).findOwnerIdById(projectId);
+  }
+
+  @Test
+  void put_staysWithinTheConfiguredSize() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+
+    for (int i = 0; i < 100; i++) {
+      cache.put(UUID.randomUUID(), UUID.randomUUID());
+    }
+    cache.cleanUp();
+
+    assertThat(registry.get("cache.size").tag("cache", "projectOwnership").gauge().value())
+        .isLessThanOrEqualTo(20);
+  }
+
+  @Test
+  void bindTo_exportsHitAndMissCounters() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    cache.bindTo(registry);
+    UUID projectId = UUID.randomUUID();
+    UUID ownerId = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(projectId)).thenReturn(Optional.of(ownerId));
+
+    cache.ownerOf(projectId);
+    cache.ownerOf(projectId);
+
+    assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(1);
+    assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+        .isEqualTo(1);
+  }
+}
@@ -4,16 +4,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
 import com.orioljt.taskmanager.dto.ProjectRequest;
 import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskCounts;
 import com.orioljt.taskmanager.entity.Project;
 import com.orioljt.taskmanager.entity.User;
 import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.TotalCounter;
 import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskArchiveRepository;
+import com.orioljt.taskmanager.repository.TaskRepository;
 import com.orioljt.taskmanager.repository.UserRepository;
 import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +30,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class ProjectServiceTest {
@@ -28,20 +41,38 @@ class ProjectServiceTest {
   @Mock private ProjectRepository projectRepository;
   @Mock private UserRepository userRepository;
   @Mock private CurrentUserProvider currentUserProvider;
+  @Mock private TaskRepository taskRepository;
+  @Mock private TaskArchiveRepository archiveRepository;
+  @Mock private ProjectDeletionJob projectDeletionJob;
+  @Mock private ProjectStatsService projectStats;
 
   private ProjectService service;
+  private ProjectOwnershipCache ownershipCache;
 
   private UUID userId;
   private User owner;
 
   @BeforeEach
   void setUp() {
+    ownershipCache = new ProjectOwnershipCache(projectRepository, 100, Duration.ofMinutes(1));
     service =
         new ProjectService(
             projectRepository,
             userRepository,
             currentUserProvider,
-            new com.orioljt.taskmanager.mapper.ProjectMapper());
+            new com.orioljt.taskmanager.mapper.ProjectMapper(),
+            taskRepository,
+            archiveRepository,
+            projectDeletionJob,
+            new TotalCounter(
+                mock(JdbcTemplate.class),
+                mock(DatabasePlatform.class),
+                CountMode.EXACT,
+                Duration.ofMinutes(5),
+                100),
+            ownershipCache,
+            projectStats,
+            100);
     userId = UUID.randomUUID();
     owner = new User();
     owner.setId(userId);
@@ -70,15 +101,16 @@ class ProjectServiceTest {
     assertThat(saved.getOwner().getId()).isEqualTo(userId);
     assertThat(res.name()).isEqualTo("My Project");
     assertThat(res.ownerId()).isEqualTo(userId);
+    assertThat(ownershipCache.isOwnedBy(res.id(), userId)).isTrue();
+    verify(projectRepository, never()).findOwnerIdById(any());
+    verify(projectStats).track(saved);
+    assertThat(res.taskCounts()).isEqualTo(TaskCounts.NONE);
   }
 
   @Test
   void list_shouldReturnOwnerProjects() {
-    Project p = new Project();
-    p.setId(UUID.randomUUID());
-    p.setName("P1");
-    p.setOwner(owner);
-    when(projectRepository.findAllByOwnerId(userId)).thenReturn(List.of(p));
+    ProjectResponse p = new ProjectResponse(UUID.randomUUID(), "P1", userId, null, 0);
+    when(projectRepository.findResponsesByOwnerId(userId)).thenReturn(List.of(p));
 
     List<ProjectResponse> list = service.list();
     assertThat(list).hasSize(1);
@@ -89,11 +121,8 @@ class ProjectServiceTest {
   void page_shouldReturnMappedPage() {
     org.springframework.data.domain.Pageable pageable =
         org.springframework.data.domain.PageRequest.of(0, 5);
-    Project p = new Project();
-    p.setId(UUID.randomUUID());
-    p.setName("P1");
-    p.setOwner(owner);
-    when(projectRepository.findAllByOwnerId(userId, pageable))
+    ProjectResponse p = new ProjectResponse(UUID.randomUUID(), "P1", userId, null, 0);
+    when(projectRepository.findResponsesByOwnerId(userId, pageable))
         .thenReturn(new org.springframework.data.domain.PageImpl<>(java.util.List.of(p), pageable, 1));
 
     org.springframework.data.domain.Page<ProjectResponse> page = service.page(pageable);
@@ -101,6 +130,21 @@ class ProjectServiceTest {
     org.assertj.core.api.Assertions.assertThat(page.getContent().getFirst().name()).isEqualTo("P1");
   }
 
+  @Test
+  void page_estimatedCount_fallsBackToExactCountOutsidePostgres() {
+    PageRequest pageable = PageRequest.of(0, 5);
+    ProjectResponse p = new ProjectResponse(UUID.randomUUID(), "P1", userId, null, 0);
+    when(projectRepository.findResponseSliceByOwnerId(userId, pageable))
+        .thenReturn(new SliceImpl<>(List.of(p), pageable, false));
+    when(projectRepository.countByOwnerId(userId)).thenReturn(1L);
+
+    var page = service.page(pageable, CountMode.ESTIMATED);
+
+    assertThat(page).isInstanceOf(Page.class);
+    assertThat(((Page<ProjectResponse>) page).getTotalElements()).isEqualTo(1);
+    verify(projectRepository, never()).findResponsesByOwnerId(any(), any());
+  }
+
   @Test
   void create_shouldThrowWhenOwnerMissing() {
     when(userRepository.findById(userId)).thenReturn(java.util.Optional.empty());
@@ -112,11 +156,8 @@ class ProjectServiceTest {
   @Test
   void get_shouldReturnOwnedProject() {
     UUID pid = UUID.randomUUID();
-    Project p = new Project();
-    p.setId(pid);
-    p.setName("P1");
-    p.setOwner(owner);
-    when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.of(p));
+    ProjectResponse p = new ProjectResponse(pid, "P1", userId, null, 0);
+    when(projectRepository.findResponseByIdAndOwnerId(pid, userId)).thenReturn(Optional.of(p));
 
     ProjectResponse res = service.get(pid);
     assertThat(res.id()).isEqualTo(pid);
@@ -126,7 +167,7 @@ class ProjectServiceTest {
   @Test
   void get_shouldThrowIfNotOwned() {
     UUID pid = UUID.randomUUID();
-    when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.empty());
+    when(projectRepository.findResponseByIdAndOwnerId(pid, userId)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> service.get(pid)).isInstanceOf(NotFoundException.class);
   }
 
@@ -138,38 +179,93 @@ class ProjectServiceTest {
     p.setName("Old");
     p.setOwner(owner);
     when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.of(p));
-    when(projectRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(projectRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
     ProjectRequest req = new ProjectRequest("New");
-    ProjectResponse res = service.updateName(pid, req);
+    ProjectResponse res = service.updateName(pid, req, null);
     assertThat(res.name()).isEqualTo("New");
   }
 
+  @Test
+  void updateName_withStaleVersion_returnsPreconditionFailed() {
+    UUID pid = UUID.randomUUID();
+    Project p = new Project();
+    p.setId(pid);
+    p.setName("Old");
+    p.setOwner(owner);
+    p.setVersion(2);
+    when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.of(p));
+
+    assertThatThrownBy(() -> service.updateName(pid, new ProjectRequest("New"), Set.of(1L)))
+        .isInstanceOf(PreconditionFailedException.class);
+    assertThat(p.getName()).isEqualTo("Old");
+  }
+
   @Test
   void updateName_shouldThrowIfNotOwned() {
     UUID pid = UUID.randomUUID();
     when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.empty());
-    assertThatThrownBy(() -> service.updateName(pid, new ProjectRequest("X")))
+    assertThatThrownBy(() -> service.updateName(pid, new ProjectRequest("X"), null))
         .isInstanceOf(NotFoundException.class);
   }
 
   @Test
   void delete_shouldRemoveOwnedProject() {
     UUID pid = UUID.randomUUID();
-    Project p = new Project();
-    p.setId(pid);
-    p.setOwner(owner);
-    when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.of(p));
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.of(userId));
+    when(taskRepository.countByProjectIdUpTo(pid, 101)).thenReturn(100L);
+
+    assertThat(service.delete(pid)).isEqualTo(ProjectDeletion.DELETED);
+    verify(projectRepository).deleteByIdAndOwnerId(pid, userId);
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.empty());
+    assertThat(ownershipCache.isOwnedBy(pid, userId)).isFalse();
+    verifyNoInteractions(projectDeletionJob);
+  }
+
+  @Test
+  void delete_shouldScheduleLargeProject() {
+    UUID pid = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.of(userId));
+    when(taskRepository.countByProjectIdUpTo(pid, 101)).thenReturn(101L);
+
+    when(projectRepository.markDeleting(eq(pid), eq(userId), any())).thenReturn(1);
 
-    service.delete(pid);
-    verify(userRepository).save(owner);
-    assertThat(p.getOwner()).isNull();
+    assertThat(service.delete(pid)).isEqualTo(ProjectDeletion.SCHEDULED);
+    verify(projectDeletionJob).schedule(pid);
+    verify(projectRepository, never()).deleteByIdAndOwnerId(any(), any());
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.empty());
+    assertThat(ownershipCache.isOwnedBy(pid, userId)).isFalse();
+  }
+
+  @Test
+  void delete_shouldScheduleProjectWhoseTasksAreMostlyArchived() {
+    UUID pid = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.of(userId));
+    when(taskRepository.countByProjectIdUpTo(pid, 101)).thenReturn(1L);
+    when(archiveRepository.countByProjectIdUpTo(pid, 100)).thenReturn(100L);
+    when(projectRepository.markDeleting(eq(pid), eq(userId), any())).thenReturn(1);
+
+    assertThat(service.delete(pid)).isEqualTo(ProjectDeletion.SCHEDULED);
+    verify(projectDeletionJob).schedule(pid);
+    verify(projectRepository, never()).deleteByIdAndOwnerId(any(), any());
+  }
+
+  @Test
+  void delete_repeatedWhileDeleting_isAcceptedWithoutSchedulingAgain() {
+    UUID pid = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.empty());
+    when(projectRepository.existsByIdAndOwnerIdAndDeletingAtIsNotNull(pid, userId))
+        .thenReturn(true);
+
+    assertThat(service.delete(pid)).isEqualTo(ProjectDeletion.SCHEDULED);
+    verifyNoInteractions(projectDeletionJob);
+    verify(projectRepository, never()).markDeleting(any(), any(), any());
   }
 
   @Test
   void delete_shouldThrowIfNotOwned() {
     UUID pid = UUID.randomUUID();
-    when(projectRepository.findByIdAndOwnerId(pid, userId)).thenReturn(Optional.empty());
+    when(projectRepository.findOwnerIdById(pid)).thenReturn(Optional.of(UUID.randomUUID()));
     assertThatThrownBy(() -> service.delete(pid)).isInstanceOf(NotFoundException.class);
   }
 }
@@ -0,0 +1,154 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.ProjectResponse;
+import com.orioljt.taskmanager.dto.TaskBatchUpdateRequest;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.ProjectStats;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.ProjectStatsRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+/** Task writes keep {@code project_stats} exact, and reconciliation repairs what they can't. */
+@DataJpaTest(properties = "app.stats.reconcile-batch-size=1")
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  TaskMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  ProjectStatsReconciliationJob.class,
+  TestCurrentUserConfig.class
+})
+class ProjectStatsTest {
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskService taskService;
+  @Autowired ProjectStatsService statsService;
+  @Autowired ProjectStatsReconciliationJob job;
+  @Autowired ProjectStatsRepository statsRepository;
+  @Autowired ProjectRepository projectRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private User owner;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    owner = persistUser(em, "stats@example.com");
+    project = persistProject(em, owner, "Counted");
+    em.persist(new ProjectStats(project, TaskCounts.NONE));
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void taskWrites_keepTheCountsExact() {
+    TaskResponse first =
+        taskService.create(project.getId(), new TaskRequest("First", null, null, 1, null));
+    taskService.createAll(
+        project.getId(),
+        List.of(
+            new TaskRequest("Second", null, TaskStatus.IN_PROGRESS, 2, null),
+            new TaskRequest("Third", null, TaskStatus.DONE, null, null)));
+    taskService.update(
+        project.getId(),
+        first.id(),
+        new TaskPatchRequest(null, null, TaskStatus.DONE, null, null),
+        Set.of(first.version()));
+    TaskResponse fourth =
+        taskService.create(project.getId(), new TaskRequest("Fourth", null, null, 3, null));
+    taskService.update(
+        project.getId(),
+        fourth.id(),
+        new TaskPatchRequest(null, null, TaskStatus.IN_PROGRESS, 1, null),
+        null);
+    taskService.delete(project.getId(), fourth.id());
+    flushAndClear(em);
+
+    assertThat(statsService.counts(project.getId()))
+        .isEqualTo(new TaskCounts(3, 0, 1, 2, 1, 1, 0));
+    assertThat(statsService.reconcile(List.of(project.getId()))).isZero();
+  }
+
+  @Test
+  void batchUpdate_addsWhatTheUpdateReplaced() {
+    taskService.createAll(
+        project.getId(),
+        List.of(
+            new TaskRequest("One", null, null, null, null),
+            new TaskRequest("Two", null, TaskStatus.IN_PROGRESS, 1, null),
+            new TaskRequest("Three", null, TaskStatus.DONE, 3, null)));
+    em.flush();
+
+    taskService.batchUpdate(
+        project.getId(), new TaskBatchUpdateRequest(null, null, TaskStatus.DONE, 2));
+    flushAndClear(em);
+
+    assertThat(statsService.counts(project.getId()))
+        .isEqualTo(new TaskCounts(3, 0, 0, 3, 0, 3, 0));
+    assertThat(statsService.reconcile(List.of(project.getId()))).isZero();
+  }
+
+  @Test
+  void reconciliation_correctsDriftAndCreatesMissingRows() {
+    taskService.create(project.getId(), new TaskRequest("Counted", null, null, null, null));
+    statsRepository.add(project.getId(), new TaskCounts(5, 5, 0, 0, 0, 0, 0));
+    Project uncounted = persistProject(em, owner, "Uncounted");
+    em.flush();
+    em.getEntityManager()
+        .createNativeQuery(
+            "INSERT INTO tasks (id, title, status, project_id, version)"
+                + " VALUES (RANDOM_UUID(), 'Raw', 'DONE', ?, 0)")
+        .setParameter(1, uncounted.getId())
+        .executeUpdate();
+    em.clear();
+
+    assertThat(job.reconcileAll()).isEqualTo(2);
+    flushAndClear(em);
+
+    assertThat(statsService.counts(project.getId()))
+        .isEqualTo(new TaskCounts(1, 1, 0, 0, 0, 0, 0));
+    assertThat(statsRepository.findById(uncounted.getId()))
+        .map(ProjectStats::getCounts)
+        .contains(new TaskCounts(1, 0, 0, 1, 0, 0, 0));
+    assertThat(job.reconcileAll()).isZero();
+  }
+
+  @Test
+  void projectResponses_carryTheStoredCounts() {
+    taskService.create(project.getId(), new TaskRequest("Listed", null, null, 1, null));
+    persistProject(em, owner, "Without stats");
+    flushAndClear(em);
+
+    assertThat(projectRepository.findResponsesByOwnerId(owner.getId()))
+        .extracting(ProjectResponse::name, ProjectResponse::taskCounts)
+        .containsExactlyInAnyOrder(
+            tuple("Counted", new TaskCounts(1, 1, 0, 0, 1, 0, 0)), tuple("Without stats", null));
+  }
+}
@@ -0,0 +1,110 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.project;
+import static com.orioljt.taskmanager.support.TestData.user;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.UserRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Compares creating tasks one request at a time with {@link TaskService#createAll}. Every service
+ * call commits its own transaction, as it would behind the HTTP endpoints. Run with {@code
+ * ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  ProjectService.class,
+  TaskMapper.class,
+  ProjectMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class TaskBatchCreationBenchmark {
+
+  private static final int TASKS = 5_000;
+  private static final int BATCH = 1_000;
+
+  @Autowired TaskService taskService;
+  @Autowired UserRepository userRepository;
+  @Autowired ProjectRepository projectRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    ProjectDeletionJob projectDeletionJob() {
+      return Mockito.mock(ProjectDeletionJob.class);
+    }
+  }
+
+  @Test
+  void createTasks_loopVersusBatch() {
+    User owner = userRepository.save(user("batch-benchmark-" + UUID.randomUUID() + "@example.com"));
+    Project looped = projectRepository.save(project(owner, "Looped project"));
+    Project batched = projectRepository.save(project(owner, "Batched project"));
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+    TaskRequest request = new TaskRequest("Benchmark task", null, null, null, null);
+
+    loop(looped.getId(), request, TASKS / 10);
+    batch(batched.getId(), request, TASKS / 10);
+
+    double loopMillis = loop(looped.getId(), request, TASKS);
+    double batchMillis = batch(batched.getId(), request, TASKS);
+    System.out.printf(
+        "%d tasks: one per call %.0f ms (%.0f tasks/s), batches of %d %.0f ms (%.0f tasks/s),"
+            + " speed-up %.1fx%n",
+        TASKS,
+        loopMillis,
+        TASKS / loopMillis * 1_000,
+        BATCH,
+        batchMillis,
+        TASKS / batchMillis * 1_000,
+        loopMillis / batchMillis);
+  }
+
+  private double loop(UUID projectId, TaskRequest request, int tasks) {
+    long start = System.nanoTime();
+    for (int i = 0; i < tasks; i++) {
+      taskService.create(projectId, request);
+    }
+    return (System.nanoTime() - start) / 1e6;
+  }
+
+  private double batch(UUID projectId, TaskRequest request, int tasks) {
+    List<TaskRequest> chunk = Collections.nCopies(Math.min(BATCH, tasks), request);
+    long start = System.nanoTime();
+    for (int done = 0; done < tasks; done += chunk.size()) {
+      taskService.createAll(projectId, chunk);
+    }
+    return (System.nanoTime() - start) / 1e6;
+  }
+}
@@ -0,0 +1,101 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskRequest;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.ProjectMapper;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.util.UUID;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Times {@link TaskService#create} against an empty project and a project with 50,000 tasks. Run
+ * with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  ProjectService.class,
+  TaskMapper.class,
+  ProjectMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class TaskCreationBenchmark {
+
+  private static final int LARGE_PROJECT_TASKS = 50_000;
+  private static final int WARMUP = 200;
+  private static final int MEASURED = 1_000;
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskService taskService;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  @TestConfiguration
+  static class Mocks {
+    @Bean
+    ProjectDeletionJob projectDeletionJob() {
+      return Mockito.mock(ProjectDeletionJob.class);
+    }
+  }
+
+  @Test
+  void createTask_emptyVersusLargeProject() {
+    User owner = persistUser(em, "benchmark@example.com");
+    Project empty = persistProject(em, owner, "Empty project");
+    Project large = persistProject(em, owner, "Large project");
+    for (int i = 0; i < LARGE_PROJECT_TASKS; i++) {
+      Task task = new Task();
+      task.setTitle("Existing " + i);
+      task.setProject(large);
+      em.persist(task);
+      if (i % 1_000 == 0) {
+        flushAndClear(em);
+        large = em.find(Project.class, large.getId());
+      }
+    }
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+
+    run(empty.getId(), WARMUP);
+    run(large.getId(), WARMUP);
+    double emptyMicros = run(empty.getId(), MEASURED);
+    double largeMicros = run(large.getId(), MEASURED);
+
+    System.out.printf(
+        "TaskService.create: empty project %.1f us/op, %d-task project %.1f us/op (ratio %.2f)%n",
+        emptyMicros, LARGE_PROJECT_TASKS, largeMicros, largeMicros / emptyMicros);
+  }
+
+  /** Creates {@code iterations} tasks, each in a fresh persistence context; returns us/op. */
+  private double run(UUID projectId, int iterations) {
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      taskService.create(projectId, new TaskRequest("Benchmark task", null, null, null, null));
+      flushAndClear(em);
+    }
+    return (System.nanoTime() - start) / 1_000.0 / iterations;
+  }
+}
@@ -0,0 +1,132 @@
+package com.orioljt.taskmanager.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+class TaskExportServiceTest {
+
+  @Mock TaskRepository taskRepository;
+  @Mock CurrentUserProvider currentUserProvider;
+  @Mock ProjectOwnershipCache ownershipCache;
+  @Mock PlatformTransactionManager transactionManager;
+
+  private final UUID ownerId = UUID.randomUUID();
+  private final UUID projectId = UUID.randomUUID();
+  private TaskExportService service;
+
+  @BeforeEach
+  void setUp() {
+    ObjectMapper objectMapper =
+        new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    service =
+        new TaskExportService(
+            taskRepository, currentUserProvider, ownershipCache, transactionManager, objectMapper);
+  }
+
+  @Test
+  void export_ndjson_writesOneObjectPerLineInsideReadOnlyTransaction() throws Exception {
+    owned(true);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    when(taskRepository.streamByProjectId(projectId))
+        .thenReturn(Stream.of(task("First", null), task("Second", "Notes")));
+
+    String body = write(service, TaskFileFormat.NDJSON);
+
+    String[] lines = body.split("\n");
+    assertThat(lines).hasSize(2);
+    assertThat(lines[0]).startsWith("{").contains("\"title\":\"First\"");
+    assertThat(lines[1]).contains("\"description\":\"Notes\"", "\"dueDate\":\"2025-09-01\"");
+    verify(transactionManager).getTransaction(any());
+    verify(transactionManager).commit(any());
+  }
+
+  @Test
+  void export_csv_writesHeaderAndQuotesSpecialCharacters() throws Exception {
+    owned(true);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    TaskResponse row = task("Plan, then \"ship\"", "line1\nline2");
+    when(taskRepository.streamByProjectId(projectId)).thenReturn(Stream.of(row));
+
+    String body = write(service, TaskFileFormat.CSV);
+
+    assertThat(body)
+        .isEqualTo(
+            TaskExportService.CSV_HEADER
+                + "\r\n"
+                + row.id()
+                + ",\"Plan, then \"\"ship\"\"\",\"line1\nline2\",TODO,2,2025-09-01,"
+                + projectId
+                + ",2025-08-20T10:15:30Z\r\n");
+  }
+
+  @Test
+  void export_notOwnedProject_throwsBeforeStreaming() {
+    owned(false);
+
+    assertThatThrownBy(() -> service.export(projectId, TaskFileFormat.CSV))
+        .isInstanceOf(NotFoundException.class);
+    verify(taskRepository, never()).streamByProjectId(any());
+  }
+
+  @Test
+  void format_parsesCaseInsensitivelyAndRejectsUnknown() {
+    assertThat(TaskFileFormat.from("ndjson")).isEqualTo(TaskFileFormat.NDJSON);
+    assertThat(TaskFileFormat.from("CSV")).isEqualTo(TaskFileFormat.CSV);
+    assertThatThrownBy(() -> TaskFileFormat.from("xml"))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  private void owned(boolean owned) {
+    when(currentUserProvider.getCurrentUserId()).thenReturn(ownerId);
+    when(ownershipCache.isOwnedBy(projectId, ownerId)).thenReturn(owned);
+  }
+
+  private String write(TaskExportService exporter, TaskFileFormat format) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    exporter.export(projectId, format).writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private TaskResponse task(String title, String description) {
+    return new TaskResponse(
+        UUID.randomUUID(),
+        title,
+        description,
+        TaskStatus.TODO,
+        2,
+        LocalDate.of(2025, 9, 1),
+        projectId,
+        Instant.parse("2025-08-20T10:15:30Z"),
+        0);
+  }
+}
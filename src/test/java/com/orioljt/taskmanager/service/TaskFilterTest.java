@@ -0,0 +1,178 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskFilter;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.mapper.TaskMapper;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+/** Filtered task listings against a real database. */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({
+  DatabasePlatform.class,
+  TaskService.class,
+  TaskMapper.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class TaskFilterTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+  @Autowired TestEntityManager em;
+  @Autowired EntityManagerFactory emf;
+  @Autowired TaskService taskService;
+  @Autowired CurrentUserProvider currentUserProvider;
+  @Autowired ProjectOwnershipCache ownershipCache;
+
+  private Statistics stats;
+  private Project project;
+
+  @BeforeEach
+  void setUp() {
+    stats = emf.unwrap(SessionFactory.class).getStatistics();
+    User owner = persistUser(em, "filters@example.com");
+    project = persistProject(em, owner, "Project");
+    Project other = persistProject(em, owner, "Other");
+
+    persist(project, "Write report", TaskStatus.TODO, 3, TODAY.plusDays(1));
+    persist(project, "Review REPORT draft", TaskStatus.IN_PROGRESS, 2, TODAY.plusDays(10));
+    persist(project, "Report 100% done", TaskStatus.DONE, 1, TODAY.plusDays(2));
+    persist(project, "Plan sprint", TaskStatus.TODO, 1, null);
+    persist(other, "Write report", TaskStatus.TODO, 3, TODAY.plusDays(1));
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+    ownershipCache.isOwnedBy(project.getId(), owner.getId());
+  }
+
+  @Test
+  void criteriaCombineWithAnd_inOneStatementWithoutEntities() {
+    TaskFilter filter =
+        TaskFilter.of(
+            List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS),
+            2,
+            null,
+            null,
+            TODAY.plusDays(30),
+            null,
+            "report");
+    stats.clear();
+
+    Slice<TaskResponse> page =
+        taskService.page(
+            project.getId(), PageRequest.of(0, 10, Sort.by("title")), CountMode.NONE, filter);
+
+    assertThat(page.getContent())
+        .extracting(TaskResponse::title)
+        .containsExactly("Review REPORT draft", "Write report");
+    assertThat(stats.getPrepareStatementCount()).as("statements").isEqualTo(1);
+    assertThat(stats.getEntityLoadCount()).as("entities loaded").isZero();
+  }
+
+  @Test
+  void titleContains_matchesWildcardsLiterally() {
+    TaskFilter filter = TaskFilter.of(null, null, null, null, null, null, "%");
+
+    Slice<TaskResponse> page =
+        taskService.page(project.getId(), PageRequest.of(0, 10), CountMode.NONE, filter);
+
+    assertThat(page.getContent())
+        .extracting(TaskResponse::title)
+        .containsExactly("Report 100% done");
+  }
+
+  @Test
+  void dueDateRange_isExclusiveAndSkipsTasksWithoutDueDate() {
+    TaskFilter filter =
+        TaskFilter.of(null, null, null, TODAY.plusDays(1), TODAY.plusDays(10), null, null);
+
+    Slice<TaskResponse> page =
+        taskService.page(project.getId(), PageRequest.of(0, 10), CountMode.NONE, filter);
+
+    assertThat(page.getContent())
+        .extracting(TaskResponse::title)
+        .containsExactly("Report 100% done");
+  }
+
+  @Test
+  void countedPage_totalsOnlyMatchingRows() {
+    TaskFilter filter = TaskFilter.of(List.of(TaskStatus.TODO), null, null, null, null, null, null);
+
+    Slice<TaskResponse> slice =
+        taskService.page(project.getId(), PageRequest.of(0, 1), CountMode.CACHED, filter);
+
+    assertThat(slice).isInstanceOf(Page.class);
+    assertThat(((Page<?>) slice).getTotalElements()).isEqualTo(2);
+    assertThat(slice.hasNext()).isTrue();
+  }
+
+  @Test
+  void uncountedSlice_looksOneRowAhead() {
+    TaskFilter filter = TaskFilter.of(List.of(TaskStatus.TODO), null, null, null, null, null, null);
+
+    Slice<TaskResponse> first =
+        taskService.page(project.getId(), PageRequest.of(0, 1), CountMode.NONE, filter);
+    Slice<TaskResponse> second =
+        taskService.page(project.getId(), PageRequest.of(1, 1), CountMode.NONE, filter);
+
+    assertThat(first).isNotInstanceOf(Page.class);
+    assertThat(first.getContent()).hasSize(1);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(second.getContent()).hasSize(1);
+    assertThat(second.hasNext()).isFalse();
+  }
+
+  @Test
+  void scroll_appliesTheFilter() {
+    TaskFilter filter = TaskFilter.of(null, null, 1, null, null, null, null);
+
+    KeysetPage<TaskResponse> window =
+        taskService.scroll(project.getId(), Sort.Order.asc("title"), null, 10, filter);
+
+    assertThat(window.content())
+        .extracting(TaskResponse::title)
+        .containsExactly("Plan sprint", "Report 100% done");
+  }
+
+  private void persist(
+      Project owner, String title, TaskStatus status, Integer priority, LocalDate dueDate) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setStatus(status);
+    task.setPriority(priority);
+    task.setDueDate(dueDate);
+    task.setProject(owner);
+    em.persist(task);
+  }
+}
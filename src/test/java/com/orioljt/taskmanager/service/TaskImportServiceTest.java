@@ -0,0 +1,167 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskImportReport;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.TaskStatus;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.pagination.TotalCounter;
+import com.orioljt.taskmanager.repository.TaskBulkLoader;
+import com.orioljt.taskmanager.repository.TaskRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+/** Imports through the JDBC batch fallback on H2; batches of two exercise several flushes. */
+@DataJpaTest(properties = "app.tasks.import-batch-size=2")
+@Import({
+  DatabasePlatform.class,
+  TaskImportService.class,
+  TaskBulkLoader.class,
+  TotalCounter.class,
+  ProjectOwnershipCache.class,
+  ProjectStatsService.class,
+  TestCurrentUserConfig.class
+})
+class TaskImportServiceTest {
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskImportService importService;
+  @Autowired TaskRepository taskRepository;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  private Project project;
+  private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+
+  @TestConfiguration
+  static class Beans {
+    @Bean
+    ObjectMapper objectMapper() {
+      return new ObjectMapper().registerModule(new JavaTimeModule());
+    }
+
+    @Bean
+    LocalValidatorFactoryBean validator() {
+      return new LocalValidatorFactoryBean();
+    }
+  }
+
+  @BeforeEach
+  void setUp() {
+    User owner = persistUser(em, "import@example.com");
+    project = persistProject(em, owner, "Migrated");
+    em.flush();
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void csv_importsValidRowsAndReportsInvalidOnes() throws Exception {
+    String csv =
+        "id,Title,description,status,priority,dueDate\r\n"
+            + ",First,,IN_PROGRESS,1,"
+            + tomorrow
+            + "\r\n"
+            + ",\"Quoted, with \"\"comma\"\"\",\"two\nlines\",done,,\r\n"
+            + ",,missing title,,,\r\n"
+            + ",Bad priority,,,9,\r\n"
+            + ",Bad status,,LATER,,\r\n"
+            + ",Fourth task,,,,\n";
+
+    TaskImportReport report =
+        importService.importTasks(project.getId(), TaskFileFormat.CSV, in(csv));
+
+    assertThat(report.imported()).isEqualTo(3);
+    assertThat(report.failed()).isEqualTo(3);
+    assertThat(report.errorsTruncated()).isFalse();
+    assertThat(report.errors())
+        .extracting(TaskImportReport.RowError::row)
+        .containsExactly(3L, 4L, 5L);
+    assertThat(report.errors().get(0).message()).startsWith("title: ");
+    assertThat(report.errors().get(1).message()).startsWith("priority: ");
+    assertThat(report.errors().get(2).message()).isEqualTo("status: invalid value 'LATER'");
+
+    List<Task> tasks = tasksByTitle();
+    assertThat(tasks)
+        .extracting(Task::getTitle)
+        .containsExactly("First", "Fourth task", "Quoted, with \"comma\"");
+    assertThat(tasks.get(0).getStatus()).isEqualTo(TaskStatus.IN_PROGRESS);
+    assertThat(tasks.get(0).getDueDate()).isEqualTo(tomorrow);
+    assertThat(tasks.get(1).getStatus()).isEqualTo(TaskStatus.TODO);
+    assertThat(tasks.get(2).getDescription()).isEqualTo("two\nlines");
+    assertThat(tasks.get(2).getStatus()).isEqualTo(TaskStatus.DONE);
+  }
+
+  @Test
+  void ndjson_skipsBlankLinesAndReportsUnparseableOnes() throws Exception {
+    String ndjson =
+        "{\"title\":\"Alpha\",\"priority\":2}\n"
+            + "\n"
+            + "{\"title\":\"Beta\"\n"
+            + "{\"title\":\"Gamma\",\"dueDate\":\""
+            + tomorrow
+            + "\"}\n";
+
+    TaskImportReport report =
+        importService.importTasks(project.getId(), TaskFileFormat.NDJSON, in(ndjson));
+
+    assertThat(report.imported()).isEqualTo(2);
+    assertThat(report.failed()).isEqualTo(1);
+    assertThat(report.errors().get(0).row()).isEqualTo(3);
+    assertThat(report.errors().get(0).message()).startsWith("invalid JSON");
+    assertThat(tasksByTitle()).extracting(Task::getTitle).containsExactly("Alpha", "Gamma");
+  }
+
+  @Test
+  void csvWithoutTitleColumn_isRejected() {
+    assertThatThrownBy(
+            () -> importService.importTasks(project.getId(), TaskFileFormat.CSV, in("name\nx\n")))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void foreignProject_isRejectedBeforeReading() {
+    when(currentUserProvider.getCurrentUserId()).thenReturn(UUID.randomUUID());
+
+    assertThatThrownBy(
+            () ->
+                importService.importTasks(
+                    project.getId(), TaskFileFormat.NDJSON, in("{\"title\":\"Nope\"}\n")))
+        .isInstanceOf(NotFoundException.class);
+    assertThat(taskRepository.countByProjectId(project.getId())).isZero();
+  }
+
+  private List<Task> tasksByTitle() {
+    em.clear();
+    return taskRepository.findAllByProjectIdOrderByCreatedAtDesc(project.getId()).stream()
+        .sorted((a, b) -> a.getTitle().compareTo(b.getTitle()))
+        .toList();
+  }
+
+  private static ByteArrayInputStream in(String body) {
+    return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,112 @@
+package com.orioljt.taskmanager.service;
+
+import static com.orioljt.taskmanager.support.TestData.flushAndClear;
+import static com.orioljt.taskmanager.support.TestData.persistProject;
+import static com.orioljt.taskmanager.support.TestData.persistUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskResponse;
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.Task;
+import com.orioljt.taskmanager.entity.User;
+import com.orioljt.taskmanager.exception.BadRequestException;
+import com.orioljt.taskmanager.pagination.Cursor;
+import com.orioljt.taskmanager.pagination.KeysetPage;
+import com.orioljt.taskmanager.repository.TaskSearchRepository;
+import com.orioljt.taskmanager.security.CurrentUserProvider;
+import com.orioljt.taskmanager.security.TestCurrentUserConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+
+/** Search through the substring fallback used on H2. */
+@DataJpaTest
+@Import({
+  DatabasePlatform.class,
+  TaskSearchService.class,
+  TaskSearchRepository.class,
+  TestCurrentUserConfig.class
+})
+class TaskSearchServiceTest {
+
+  @Autowired TestEntityManager em;
+  @Autowired TaskSearchService searchService;
+  @Autowired CurrentUserProvider currentUserProvider;
+
+  @BeforeEach
+  void setUp() {
+    User owner = persistUser(em, "searcher@example.com");
+    Project first = persistProject(em, owner, "First");
+    Project second = persistProject(em, owner, "Second");
+    Project foreign = persistProject(em, persistUser(em, "someone-else@example.com"), "Foreign");
+
+    task(first, "Quarterly report", null);
+    task(second, "Send numbers", "Needed for the REPORT");
+    task(second, "Plan offsite", "Nothing relevant");
+    task(first, "Fix 100% CPU", null);
+    task(foreign, "Quarterly report", null);
+    flushAndClear(em);
+    when(currentUserProvider.getCurrentUserId()).thenReturn(owner.getId());
+  }
+
+  @Test
+  void search_spansOwnedProjectsAndRanksTitleMatchesFirst() {
+    KeysetPage<TaskResponse> page = searchService.search("report", null, 10);
+
+    assertThat(page.content())
+        .extracting(TaskResponse::title)
+        .containsExactly("Quarterly report", "Send numbers");
+    assertThat(page.content()).allSatisfy(t -> assertThat(t.description()).isNull());
+    assertThat(page.hasNext()).isFalse();
+  }
+
+  @Test
+  void search_pagesWithCursorsWithoutRepeatsOrGaps() {
+    List<String> seen = new ArrayList<>();
+    Cursor cursor = null;
+    do {
+      KeysetPage<TaskResponse> page = searchService.search("o", cursor, 1);
+      page.content().forEach(t -> seen.add(t.title()));
+      cursor = page.next();
+    } while (cursor != null);
+
+    assertThat(seen)
+        .containsExactlyInAnyOrder("Quarterly report", "Send numbers", "Plan offsite")
+        .hasSize(3);
+  }
+
+  @Test
+  void search_treatsWildcardsLiterally() {
+    assertThat(searchService.search("%", null, 10).content())
+        .extracting(TaskResponse::title)
+        .containsExactly("Fix 100% CPU");
+  }
+
+  @Test
+  void search_rejectsBlankQueriesAndForeignCursors() {
+    assertThatThrownBy(() -> searchService.search("  ", null, 10))
+        .isInstanceOf(BadRequestException.class);
+    Cursor listCursor = Cursor.after(Sort.Order.desc("score"), "createdAt", UUID.randomUUID());
+    assertThatThrownBy(() -> searchService.search("report", listCursor, 10))
+        .isInstanceOf(BadRequestException.class)
+        .hasMessage("Invalid cursor");
+  }
+
+  private void task(Project project, String title, String description) {
+    Task task = new Task();
+    task.setTitle(title);
+    task.setDescription(description);
+    task.setProject(project);
+    em.persist(task);
+  }
+}
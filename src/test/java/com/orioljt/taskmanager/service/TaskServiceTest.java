@@ -4,27 +4,43 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
+import com.orioljt.taskmanager.datasource.DatabasePlatform;
+import com.orioljt.taskmanager.dto.TaskBatchUpdateRequest;
+import com.orioljt.taskmanager.dto.TaskCounts;
+import com.orioljt.taskmanager.dto.TaskPatchRequest;
 import com.orioljt.taskmanager.dto.TaskRequest;
 import com.orioljt.taskmanager.dto.TaskResponse;
 import com.orioljt.taskmanager.entity.Project;
 import com.orioljt.taskmanager.entity.Task;
 import com.orioljt.taskmanager.entity.TaskStatus;
 import com.orioljt.taskmanager.exception.NotFoundException;
+import com.orioljt.taskmanager.exception.PreconditionFailedException;
+import com.orioljt.taskmanager.pagination.CountMode;
+import com.orioljt.taskmanager.pagination.TotalCounter;
 import com.orioljt.taskmanager.repository.ProjectRepository;
+import com.orioljt.taskmanager.repository.TaskBulkUpdates;
 import com.orioljt.taskmanager.repository.TaskRepository;
 import com.orioljt.taskmanager.security.CurrentUserProvider;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -33,6 +49,7 @@ class TaskServiceTest {
   @Mock private TaskRepository taskRepository;
   @Mock private ProjectRepository projectRepository;
   @Mock private CurrentUserProvider currentUserProvider;
+  @Mock private ProjectStatsService projectStats;
 
   private TaskService service;
   private UUID userId;
@@ -46,14 +63,22 @@ class TaskServiceTest {
             taskRepository,
             projectRepository,
             currentUserProvider,
-            new com.orioljt.taskmanager.mapper.TaskMapper());
+            new com.orioljt.taskmanager.mapper.TaskMapper(),
+            new TotalCounter(
+                mock(JdbcTemplate.class),
+                mock(DatabasePlatform.class),
+                CountMode.EXACT,
+                Duration.ofMinutes(5),
+                100),
+            new ProjectOwnershipCache(projectRepository, 100, Duration.ofMinutes(1)),
+            projectStats);
     userId = UUID.randomUUID();
     projectId = UUID.randomUUID();
     when(currentUserProvider.getCurrentUserId()).thenReturn(userId);
     ownedProject = new Project();
     ownedProject.setId(projectId);
-    when(projectRepository.findByIdAndOwnerId(projectId, userId))
-        .thenReturn(Optional.of(ownedProject));
+    when(projectRepository.findOwnerIdById(projectId)).thenReturn(Optional.of(userId));
+    when(projectRepository.getReferenceById(projectId)).thenReturn(ownedProject);
   }
 
   @Test
@@ -80,7 +105,7 @@ class TaskServiceTest {
   @Test
   void create_shouldThrowIfProjectNotOwned() {
     UUID otherProject = UUID.randomUUID();
-    when(projectRepository.findByIdAndOwnerId(otherProject, userId)).thenReturn(Optional.empty());
+    when(projectRepository.findOwnerIdById(otherProject)).thenReturn(Optional.empty());
     assertThatThrownBy(
             () -> service.create(otherProject, new TaskRequest("T", null, null, null, null)))
         .isInstanceOf(NotFoundException.class);
@@ -88,11 +113,8 @@ class TaskServiceTest {
 
   @Test
   void list_shouldReturnTasksOrdered() {
-    Task t = new Task();
-    t.setId(UUID.randomUUID());
-    t.setTitle("T");
-    t.setProject(ownedProject);
-    when(taskRepository.findAllByProjectIdOrderByCreatedAtDesc(projectId)).thenReturn(List.of(t));
+    TaskResponse t = summary("T");
+    when(taskRepository.findSummariesByProjectId(projectId)).thenReturn(List.of(t));
 
     List<TaskResponse> list = service.list(projectId);
     assertThat(list).hasSize(1);
@@ -101,52 +123,94 @@ class TaskServiceTest {
 
   @Test
   void page_shouldReturnMappedPage() {
-    Task t = new Task();
-    t.setId(UUID.randomUUID());
-    t.setTitle("T");
-    t.setProject(ownedProject);
+    TaskResponse t = summary("T");
     org.springframework.data.domain.Pageable pageable =
         org.springframework.data.domain.PageRequest.of(0, 10);
-    org.springframework.data.domain.Page<Task> page =
+    org.springframework.data.domain.Page<TaskResponse> page =
         new org.springframework.data.domain.PageImpl<>(java.util.List.of(t), pageable, 1);
-    when(taskRepository.findAllByProjectId(projectId, pageable)).thenReturn(page);
+    when(taskRepository.findSummariesByProjectId(projectId, pageable)).thenReturn(page);
 
   org.springframework.data.domain.Page<TaskResponse> res = service.page(projectId, pageable);
   org.assertj.core.api.Assertions.assertThat(res.getTotalElements()).isEqualTo(1);
   org.assertj.core.api.Assertions.assertThat(res.getContent().getFirst().title()).isEqualTo("T");
   }
 
+  @Test
+  void page_withoutCount_skipsCountQuery() {
+    TaskResponse t = summary("T");
+    PageRequest pageable = PageRequest.of(1, 1);
+    when(taskRepository.findSummarySliceByProjectId(projectId, pageable))
+        .thenReturn(new SliceImpl<>(List.of(t), pageable, true));
+
+    Slice<TaskResponse> res = service.page(projectId, pageable, CountMode.NONE);
+
+    assertThat(res).isNotInstanceOf(org.springframework.data.domain.Page.class);
+    assertThat(res.hasNext()).isTrue();
+    verify(taskRepository, never()).countByProjectId(any());
+    verify(taskRepository, never()).findSummariesByProjectId(any(), any());
+  }
+
+  @Test
+  void page_cachedCount_countsOnceUntilATaskIsCreated() {
+    PageRequest pageable = PageRequest.of(0, 10);
+    when(taskRepository.findSummarySliceByProjectId(projectId, pageable))
+        .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+    when(taskRepository.countByProjectId(projectId)).thenReturn(42L);
+    when(taskRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+    var first =
+        (org.springframework.data.domain.Page<TaskResponse>)
+            service.page(projectId, pageable, CountMode.CACHED);
+    service.page(projectId, pageable, CountMode.CACHED);
+    service.create(projectId, new TaskRequest("New", null, null, null, null));
+    service.page(projectId, pageable, CountMode.CACHED);
+
+    assertThat(first.getTotalElements()).isEqualTo(42);
+    verify(taskRepository, times(2)).countByProjectId(projectId);
+  }
+
   @Test
   void get_shouldReturnTaskWhenOwned() {
     UUID taskId = UUID.randomUUID();
-    Task t = new Task();
-    t.setId(taskId);
-    t.setTitle("T");
-    t.setProject(ownedProject);
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.of(t));
+    TaskResponse row =
+        new TaskResponse(taskId, "T", "Desc", TaskStatus.TODO, null, null, projectId, null, 0);
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId)).thenReturn(Optional.of(row));
 
     TaskResponse res = service.get(projectId, taskId);
     assertThat(res.id()).isEqualTo(taskId);
+    verifyNoInteractions(projectRepository);
   }
 
   @Test
   void get_shouldThrowWhenNotFound() {
     UUID taskId = UUID.randomUUID();
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.empty());
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> service.get(projectId, taskId)).isInstanceOf(NotFoundException.class);
   }
 
+  @Test
+  void get_foreignProjectLooksLikeMissingTask() {
+    UUID foreignProject = UUID.randomUUID();
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.findOwnedResponse(taskId, foreignProject, userId))
+        .thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.get(foreignProject, taskId))
+        .isInstanceOf(NotFoundException.class)
+        .hasMessage("Task not found");
+  }
+
   @Test
   void update_shouldApplyNonNullFields() {
     UUID taskId = UUID.randomUUID();
     Task t = new Task();
     t.setId(taskId);
     t.setProject(ownedProject);
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.of(t));
-    when(taskRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+    when(taskRepository.findOwned(taskId, projectId, userId)).thenReturn(Optional.of(t));
+    when(taskRepository.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
 
-    TaskRequest req = new TaskRequest("New", "Desc", TaskStatus.DONE, 1, LocalDate.now());
-    TaskResponse res = service.update(projectId, taskId, req);
+    TaskPatchRequest req = new TaskPatchRequest("New", "Desc", TaskStatus.DONE, 1, LocalDate.now());
+    TaskResponse res = service.update(projectId, taskId, req, null);
     assertThat(res.title()).isEqualTo("New");
     assertThat(res.description()).isEqualTo("Desc");
     assertThat(res.status()).isEqualTo(TaskStatus.DONE);
@@ -156,37 +220,184 @@ class TaskServiceTest {
   @Test
   void update_shouldThrowWhenNotFound() {
     UUID taskId = UUID.randomUUID();
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.empty());
+    when(taskRepository.findOwned(taskId, projectId, userId)).thenReturn(Optional.empty());
     assertThatThrownBy(
-            () -> service.update(projectId, taskId, new TaskRequest(null, null, null, null, null)))
+            () ->
+                service.update(
+                    projectId, taskId, new TaskPatchRequest(null, null, null, null, null), null))
         .isInstanceOf(NotFoundException.class);
   }
 
   @Test
-  void delete_shouldRemoveTaskWhenOwned() {
+  void update_withStaleVersion_failsBeforeWriting() {
     UUID taskId = UUID.randomUUID();
     Task t = new Task();
     t.setId(taskId);
     t.setProject(ownedProject);
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.of(t));
+    t.setVersion(4);
+    when(taskRepository.findOwned(taskId, projectId, userId)).thenReturn(Optional.of(t));
+
+    TaskPatchRequest rename = new TaskPatchRequest("Renamed", null, null, null, null);
+    assertThatThrownBy(() -> service.update(projectId, taskId, rename, Set.of(3L)))
+        .isInstanceOf(PreconditionFailedException.class)
+        .hasMessageContaining("current version is 4");
+    verify(taskRepository, never()).saveAndFlush(any());
+  }
+
+  @Test
+  void update_statusWithVersion_isASingleConditionalUpdate() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.updateStatusIfVersion(taskId, projectId, TaskStatus.DONE, Set.of(3L)))
+        .thenReturn(Optional.of(new TaskCounts(0, -1, 0, 1, 0, 0, 0)));
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId))
+        .thenReturn(Optional.of(response(taskId, TaskStatus.DONE, 4)));
+
+    TaskPatchRequest done = new TaskPatchRequest(null, null, TaskStatus.DONE, null, null);
+    TaskResponse res = service.update(projectId, taskId, done, Set.of(3L));
+
+    assertThat(res.version()).isEqualTo(4);
+    verify(taskRepository, never()).findOwned(any(), any(), any());
+    verify(taskRepository, never()).findById(any());
+  }
+
+  @Test
+  void update_statusWithVersion_movesTheTaskBetweenStatusCounts() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.updateStatusIfVersion(taskId, projectId, TaskStatus.DONE, Set.of(3L)))
+        .thenReturn(Optional.of(new TaskCounts(0, -1, 0, 1, 0, 0, 0)));
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId))
+        .thenReturn(Optional.of(response(taskId, TaskStatus.DONE, 4)));
+
+    service.update(
+        projectId,
+        taskId,
+        new TaskPatchRequest(null, null, TaskStatus.DONE, null, null),
+        Set.of(3L));
+
+    verify(projectStats).add(projectId, new TaskCounts(0, -1, 0, 1, 0, 0, 0));
+  }
+
+  @Test
+  void update_statusWithStaleVersion_returnsPreconditionFailed() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.updateStatusIfVersion(taskId, projectId, TaskStatus.DONE, Set.of(3L)))
+        .thenReturn(Optional.empty());
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId))
+        .thenReturn(Optional.of(response(taskId, TaskStatus.IN_PROGRESS, 5)));
+
+    TaskPatchRequest done = new TaskPatchRequest(null, null, TaskStatus.DONE, null, null);
+    assertThatThrownBy(() -> service.update(projectId, taskId, done, Set.of(3L)))
+        .isInstanceOf(PreconditionFailedException.class)
+        .hasMessageContaining("current version is 5");
+  }
+
+  @Test
+  void update_statusWithVersionOfMissingTask_returnsNotFound() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.updateStatusIfVersion(taskId, projectId, TaskStatus.DONE, Set.of(3L)))
+        .thenReturn(Optional.empty());
+    when(taskRepository.findOwnedResponse(taskId, projectId, userId)).thenReturn(Optional.empty());
+
+    TaskPatchRequest done = new TaskPatchRequest(null, null, TaskStatus.DONE, null, null);
+    assertThatThrownBy(() -> service.update(projectId, taskId, done, Set.of(3L)))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  void delete_shouldRemoveTaskWhenOwned() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.deleteOwned(taskId, projectId, userId))
+        .thenReturn(Optional.of(new TaskCounts(TaskStatus.TODO, null)));
 
     service.delete(projectId, taskId);
-    verify(projectRepository).save(ownedProject);
-    assertThat(t.getProject()).isNull();
+    verify(taskRepository).deleteOwned(taskId, projectId, userId);
+    verify(projectRepository, never()).save(any());
   }
 
   @Test
   void delete_shouldThrowWhenNotFound() {
     UUID taskId = UUID.randomUUID();
-    when(taskRepository.findByIdAndProjectId(taskId, projectId)).thenReturn(Optional.empty());
+    when(taskRepository.deleteOwned(taskId, projectId, userId)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> service.delete(projectId, taskId))
         .isInstanceOf(NotFoundException.class);
+    verifyNoInteractions(projectStats);
+  }
+
+  @Test
+  void delete_subtractsTheDeletedTaskFromTheCounts() {
+    UUID taskId = UUID.randomUUID();
+    when(taskRepository.deleteOwned(taskId, projectId, userId))
+        .thenReturn(Optional.of(new TaskCounts(TaskStatus.IN_PROGRESS, 2)));
+
+    service.delete(projectId, taskId);
+
+    InOrder inOrder = inOrder(taskRepository, projectStats);
+    inOrder.verify(taskRepository).deleteOwned(taskId, projectId, userId);
+    inOrder.verify(projectStats).add(projectId, new TaskCounts(-1, 0, -1, 0, 0, -1, 0));
+  }
+
+  @Test
+  void batchUpdate_shouldRunOneUpdateAndAddWhatItChanged() {
+    LocalDate dueBefore = LocalDate.now();
+    TaskCounts change = new TaskCounts(0, -3, 0, 3, 0, 0, 0);
+    when(taskRepository.bulkUpdate(projectId, null, dueBefore, TaskStatus.DONE, null))
+        .thenReturn(new TaskBulkUpdates.Result(3, change));
+
+    var res =
+        service.batchUpdate(
+            projectId, new TaskBatchUpdateRequest(null, dueBefore, TaskStatus.DONE, null));
+
+    assertThat(res.updated()).isEqualTo(3);
+    verify(taskRepository, never()).save(any());
+    verify(projectStats).add(projectId, change);
+    verify(projectStats, never()).reconcile(any());
+  }
+
+  @Test
+  void batchUpdate_shouldThrowIfProjectNotOwned() {
+    UUID otherProject = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(otherProject)).thenReturn(Optional.empty());
+
+    assertThatThrownBy(
+            () ->
+                service.batchUpdate(
+                    otherProject,
+                    new TaskBatchUpdateRequest(null, LocalDate.now(), TaskStatus.DONE, null)))
+        .isInstanceOf(NotFoundException.class);
+    verify(taskRepository, never()).bulkUpdate(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void requireOwnedProject_looksUpOwnerOncePerProject() {
+    service.list(projectId);
+    service.list(projectId);
+
+    verify(projectRepository, times(1)).findOwnerIdById(projectId);
+  }
+
+  @Test
+  void requireOwnedProject_rejectsProjectOfAnotherUser() {
+    UUID foreignProject = UUID.randomUUID();
+    when(projectRepository.findOwnerIdById(foreignProject))
+        .thenReturn(Optional.of(UUID.randomUUID()));
+
+    assertThatThrownBy(() -> service.list(foreignProject)).isInstanceOf(NotFoundException.class);
   }
 
   @Test
   void requireOwnedProject_shouldThrowIfNotOwned() {
     UUID otherProject = UUID.randomUUID();
-    when(projectRepository.findByIdAndOwnerId(otherProject, userId)).thenReturn(Optional.empty());
+    when(projectRepository.findOwnerIdById(otherProject)).thenReturn(Optional.empty());
     assertThatThrownBy(() -> service.list(otherProject)).isInstanceOf(NotFoundException.class);
   }
+
+  private TaskResponse response(UUID taskId, TaskStatus status, long version) {
+    return new TaskResponse(
+        taskId, "T", "Desc", status, null, null, projectId, Instant.now(), version);
+  }
+
+  private TaskResponse summary(String title) {
+    return new TaskResponse(
+        UUID.randomUUID(), title, TaskStatus.TODO, null, null, projectId, Instant.now(), 0);
+  }
 }
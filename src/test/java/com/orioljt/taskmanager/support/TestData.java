@@ -0,0 +1,43 @@
+package com.orioljt.taskmanager.support;
+
+import com.orioljt.taskmanager.entity.Project;
+import com.orioljt.taskmanager.entity.User;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/** Users and projects that JPA tests start from. */
+public final class TestData {
+
+  public static final String PASSWORD = "Password123";
+
+  private TestData() {}
+
+  /** A new, unsaved user. */
+  public static User user(String email) {
+    User user = new User();
+    user.setEmail(email);
+    user.setPassword(PASSWORD);
+    return user;
+  }
+
+  /** A new, unsaved project of {@code owner}. */
+  public static Project project(User owner, String name) {
+    Project project = new Project();
+    project.setName(name);
+    project.setOwner(owner);
+    return project;
+  }
+
+  public static User persistUser(TestEntityManager em, String email) {
+    return em.persist(user(email));
+  }
+
+  public static Project persistProject(TestEntityManager em, User owner, String name) {
+    return em.persist(project(owner, name));
+  }
+
+  /** Writes what the test persisted and detaches it, so what follows reads from the database. */
+  public static void flushAndClear(TestEntityManager em) {
+    em.flush();
+    em.clear();
+  }
+}